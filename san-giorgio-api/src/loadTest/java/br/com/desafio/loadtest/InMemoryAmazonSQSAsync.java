@@ -0,0 +1,43 @@
+package br.com.desafio.loadtest;
+
+import com.amazonaws.services.sqs.AbstractAmazonSQSAsync;
+import com.amazonaws.services.sqs.model.GetQueueUrlRequest;
+import com.amazonaws.services.sqs.model.GetQueueUrlResult;
+import com.amazonaws.services.sqs.model.ReceiveMessageRequest;
+import com.amazonaws.services.sqs.model.ReceiveMessageResult;
+
+/**
+ * SQS stand-in for the batch poller in load tests. Messages are published through {@link InMemorySqsAsyncClient},
+ * which only counts them, so every receive comes back empty after a short wait, as an empty long poll would.
+ */
+public class InMemoryAmazonSQSAsync extends AbstractAmazonSQSAsync {
+
+    private static final String QUEUE_URL_PREFIX = "http://localhost:4566/000000000000/";
+    private static final long EMPTY_RECEIVE_WAIT_MILLIS = 100;
+
+    @Override
+    public GetQueueUrlResult getQueueUrl(String queueName) {
+        return getQueueUrl(new GetQueueUrlRequest(queueName));
+    }
+
+    @Override
+    public GetQueueUrlResult getQueueUrl(GetQueueUrlRequest request) {
+        return new GetQueueUrlResult().withQueueUrl(QUEUE_URL_PREFIX + request.getQueueName());
+    }
+
+    @Override
+    public ReceiveMessageResult receiveMessage(ReceiveMessageRequest request) {
+        try {
+            Thread.sleep(EMPTY_RECEIVE_WAIT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return new ReceiveMessageResult();
+    }
+
+    @Override
+    public void shutdown() {
+        // nothing to release
+    }
+
+}
@@ -0,0 +1,89 @@
+package br.com.desafio.loadtest;
+
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.CreateQueueRequest;
+import software.amazon.awssdk.services.sqs.model.CreateQueueResponse;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesResponse;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlResponse;
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
+import software.amazon.awssdk.services.sqs.model.SetQueueAttributesRequest;
+import software.amazon.awssdk.services.sqs.model.SetQueueAttributesResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stand-in for the SDK v2 client used by the outbox relay; it only counts what is published, so publishing
+ * costs no network round trip and memory stays flat however many messages are sent.
+ */
+public class InMemorySqsAsyncClient implements SqsAsyncClient {
+
+    private static final String QUEUE_URL_PREFIX = "http://localhost:4566/000000000000/";
+
+    private final LongAdder messages = new LongAdder();
+    private final LongAdder apiCalls = new LongAdder();
+
+    public long messageCount() {
+        return messages.sum();
+    }
+
+    public long apiCallCount() {
+        return apiCalls.sum();
+    }
+
+    @Override
+    public CompletableFuture<CreateQueueResponse> createQueue(CreateQueueRequest request) {
+        apiCalls.increment();
+        return CompletableFuture.completedFuture(CreateQueueResponse.builder().queueUrl(QUEUE_URL_PREFIX + request.queueName()).build());
+    }
+
+    @Override
+    public CompletableFuture<GetQueueUrlResponse> getQueueUrl(GetQueueUrlRequest request) {
+        apiCalls.increment();
+        return CompletableFuture.completedFuture(GetQueueUrlResponse.builder().queueUrl(QUEUE_URL_PREFIX + request.queueName()).build());
+    }
+
+    @Override
+    public CompletableFuture<GetQueueAttributesResponse> getQueueAttributes(GetQueueAttributesRequest request) {
+        apiCalls.increment();
+        String queueName = request.queueUrl().substring(QUEUE_URL_PREFIX.length());
+        return CompletableFuture.completedFuture(GetQueueAttributesResponse.builder()
+                .attributes(Map.of(QueueAttributeName.QUEUE_ARN, "arn:aws:sqs:us-east-1:000000000000:" + queueName))
+                .build());
+    }
+
+    @Override
+    public CompletableFuture<SetQueueAttributesResponse> setQueueAttributes(SetQueueAttributesRequest request) {
+        apiCalls.increment();
+        return CompletableFuture.completedFuture(SetQueueAttributesResponse.builder().build());
+    }
+
+    @Override
+    public CompletableFuture<SendMessageBatchResponse> sendMessageBatch(SendMessageBatchRequest request) {
+        apiCalls.increment();
+        messages.add(request.entries().size());
+
+        List<SendMessageBatchResultEntry> successful = new ArrayList<>(request.entries().size());
+        request.entries().forEach(entry -> successful.add(SendMessageBatchResultEntry.builder().id(entry.id()).build()));
+        return CompletableFuture.completedFuture(SendMessageBatchResponse.builder().successful(successful).build());
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+        // nothing to release
+    }
+
+}
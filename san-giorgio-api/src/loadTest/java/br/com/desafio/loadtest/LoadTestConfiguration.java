@@ -0,0 +1,36 @@
+package br.com.desafio.loadtest;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Configuration
+@Profile("loadtest")
+public class LoadTestConfiguration {
+
+    /**
+     * Replaces the LocalStack client the batch poller receives with.
+     */
+    @Bean
+    @Primary
+    public InMemoryAmazonSQSAsync inMemoryAmazonSQSAsync() {
+        return new InMemoryAmazonSQSAsync();
+    }
+
+    /**
+     * Replaces the SDK v2 client the outbox relay publishes with and the queues are provisioned with.
+     */
+    @Bean
+    @Primary
+    public InMemorySqsAsyncClient inMemorySqsAsyncClient() {
+        return new InMemorySqsAsyncClient();
+    }
+
+    @Bean
+    public LoadTestDataSeeder loadTestDataSeeder(JdbcTemplate jdbcTemplate) {
+        return new LoadTestDataSeeder(jdbcTemplate);
+    }
+
+}
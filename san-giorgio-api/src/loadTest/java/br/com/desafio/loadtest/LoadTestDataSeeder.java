@@ -0,0 +1,69 @@
+package br.com.desafio.loadtest;
+
+import br.com.desafio.domain.Money;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+@Slf4j
+public class LoadTestDataSeeder {
+
+    private static final int INSERT_BATCH_SIZE = 1_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record SeededPayment(UUID paymentId, Money paymentValue) {}
+
+    public record SeededClient(UUID clientId, List<SeededPayment> payments) {}
+
+    /**
+     * Inserts clients and their payments with JDBC batches, bypassing JPA so seeding large data sets is quick.
+     *
+     * @param clients           number of clients
+     * @param paymentsPerClient number of payments per client
+     * @return the seeded rows, used to build requests
+     */
+    public List<SeededClient> seed(int clients, int paymentsPerClient) {
+        Random random = new Random(42);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<SeededClient> seeded = new ArrayList<>(clients);
+        List<Object[]> clientRows = new ArrayList<>(clients);
+        List<Object[]> paymentRows = new ArrayList<>(INSERT_BATCH_SIZE);
+        List<Object[]> paymentKeyRows = new ArrayList<>(INSERT_BATCH_SIZE);
+
+        for (int c = 0; c < clients; c++) {
+            UUID clientId = UUID.randomUUID();
+            clientRows.add(new Object[]{clientId, "Load Test Client " + c, now, now, 0L});
+
+            List<SeededPayment> payments = new ArrayList<>(paymentsPerClient);
+            for (int p = 0; p < paymentsPerClient; p++) {
+                SeededPayment payment = new SeededPayment(UUID.randomUUID(), Money.ofCents(1_000 + random.nextInt(100_000)));
+                payments.add(payment);
+                paymentRows.add(new Object[]{payment.paymentId(), clientId, payment.paymentValue().toBigDecimal(), now, now, 0L});
+                paymentKeyRows.add(new Object[]{payment.paymentId(), now});
+            }
+            seeded.add(new SeededClient(clientId, payments));
+        }
+
+        jdbcTemplate.batchUpdate("INSERT INTO clients (client_id, name, created_at, updated_at, version) VALUES (?, ?, ?, ?, ?)", clientRows);
+        for (int start = 0; start < paymentRows.size(); start += INSERT_BATCH_SIZE) {
+            jdbcTemplate.batchUpdate("INSERT INTO payments (payment_id, client_id, payment_value, created_at, updated_at, version) VALUES (?, ?, ?, ?, ?, ?)",
+                    paymentRows.subList(start, Math.min(start + INSERT_BATCH_SIZE, paymentRows.size())));
+            // PostgreSQL registers the keys with a trigger, H2 has none
+            jdbcTemplate.batchUpdate("INSERT INTO payment_keys (payment_id, created_at) VALUES (?, ?)",
+                    paymentKeyRows.subList(start, Math.min(start + INSERT_BATCH_SIZE, paymentKeyRows.size())));
+        }
+
+        log.info("[LOAD-TEST] Seeded {} clients with {} payments each", clients, paymentsPerClient);
+        return seeded;
+    }
+
+}
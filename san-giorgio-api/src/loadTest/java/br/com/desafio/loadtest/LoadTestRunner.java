@@ -0,0 +1,219 @@
+package br.com.desafio.loadtest;
+
+import br.com.desafio.SanGiorgioApplication;
+import br.com.desafio.config.ExecutionThreads;
+import br.com.desafio.domain.dto.ClientPaymentsDTO;
+import br.com.desafio.domain.dto.PaymentDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static br.com.desafio.util.ApiPaths.API_CONTEXT_PATH;
+import static br.com.desafio.util.ApiPaths.RESOURCE_PAYMENTS;
+
+/**
+ * Boots the API on an embedded database with an in-memory SQS, seeds it and drives
+ * {@code POST /api/v1/payments} from a fixed number of concurrent callers.
+ *
+ * <p>Every request confirms {@code requestSize} payments of one client, cycling through the seeded clients
+ * so consecutive requests do not contend on the same rows. Throughput and latency percentiles of the measured
+ * phase are logged and written as JSON to {@code loadTest.resultsFile}; the process exits with a non-zero status
+ * when {@code loadTest.maxP99Millis} or {@code loadTest.minThroughput} is violated, so the task can gate a build.
+ * Profiles listed in {@code loadTest.profiles} are activated on top of {@code loadtest}.</p>
+ */
+@Slf4j
+public final class LoadTestRunner {
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int clients = intProperty("loadTest.clients", 200);
+        int paymentsPerClient = intProperty("loadTest.paymentsPerClient", 50);
+        int concurrency = intProperty("loadTest.concurrency", 16);
+        int requestSize = Math.min(intProperty("loadTest.requestSize", 10), paymentsPerClient);
+        int requests = intProperty("loadTest.requests", 20_000);
+        int warmupRequests = intProperty("loadTest.warmupRequests", 2_000);
+        double maxP99Millis = doubleProperty("loadTest.maxP99Millis", 0);
+        double minThroughput = doubleProperty("loadTest.minThroughput", 0);
+        String resultsFile = System.getProperty("loadTest.resultsFile");
+        String[] profiles = ("loadtest," + System.getProperty("loadTest.profiles", "")).split(",");
+
+        int exitCode;
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SanGiorgioApplication.class, LoadTestConfiguration.class)
+                .profiles(Arrays.stream(profiles).map(String::trim).filter(profile -> !profile.isEmpty()).toArray(String[]::new))
+                .run(args)) {
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+            List<LoadTestDataSeeder.SeededClient> seeded = context.getBean(LoadTestDataSeeder.class).seed(clients, paymentsPerClient);
+            List<byte[]> bodies = buildBodies(objectMapper, seeded, requestSize);
+
+            URI uri = URI.create("http://localhost:" + port + API_CONTEXT_PATH + RESOURCE_PAYMENTS);
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .executor(Executors.newFixedThreadPool(concurrency))
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+
+            log.info("[LOAD-TEST] Warming up with {} requests", warmupRequests);
+            drive(httpClient, uri, bodies, warmupRequests, concurrency);
+
+            log.info("[LOAD-TEST] Measuring {} requests of {} payments at concurrency {}", requests, requestSize, concurrency);
+            Result result = drive(httpClient, uri, bodies, requests, concurrency);
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("virtual_threads", context.getBean(ExecutionThreads.class).isVirtual());
+            report.put("clients", clients);
+            report.put("payments_per_client", paymentsPerClient);
+            report.put("concurrency", concurrency);
+            report.put("request_size", requestSize);
+            report.put("requests", requests);
+            report.put("errors", result.errors());
+            report.put("throughput_requests_per_second", result.throughput());
+            report.put("throughput_payments_per_second", result.throughput() * requestSize);
+            Map<String, Object> latency = new LinkedHashMap<>();
+            latency.put("p50", result.percentile(50));
+            latency.put("p90", result.percentile(90));
+            latency.put("p99", result.percentile(99));
+            latency.put("max", result.percentile(100));
+            report.put("latency_millis", latency);
+            report.put("messages_published", context.getBean(MeterRegistry.class).find("payment.messaging.messages").tag("result", "sent")
+                    .counters().stream().mapToDouble(Counter::count).sum());
+
+            log.info("[LOAD-TEST] {} req/s, p50={}ms p90={}ms p99={}ms max={}ms, errors={}",
+                    String.format("%.1f", result.throughput()), result.percentile(50), result.percentile(90),
+                    result.percentile(99), result.percentile(100), result.errors());
+
+            if (resultsFile != null) {
+                Path path = Path.of(resultsFile);
+                Files.createDirectories(path.getParent());
+                objectMapper.writerWithDefaultPrettyPrinter().writeValue(path.toFile(), report);
+                log.info("[LOAD-TEST] Results written to {}", path);
+            }
+
+            exitCode = checkThresholds(result, maxP99Millis, minThroughput) ? 0 : 1;
+        }
+        System.exit(exitCode);
+    }
+
+    private static List<byte[]> buildBodies(ObjectMapper objectMapper, List<LoadTestDataSeeder.SeededClient> seeded, int requestSize) throws IOException {
+        List<byte[]> bodies = new ArrayList<>();
+        for (LoadTestDataSeeder.SeededClient client : seeded) {
+            List<LoadTestDataSeeder.SeededPayment> payments = client.payments();
+            for (int start = 0; start + requestSize <= payments.size(); start += requestSize) {
+                List<PaymentDTO> dtos = payments.subList(start, start + requestSize).stream()
+                        .map(payment -> new PaymentDTO(payment.paymentId(), payment.paymentValue(), null))
+                        .toList();
+                bodies.add(objectMapper.writeValueAsBytes(new ClientPaymentsDTO(client.clientId(), dtos)));
+            }
+        }
+        return bodies;
+    }
+
+    private static Result drive(HttpClient httpClient, URI uri, List<byte[]> bodies, int requests, int concurrency) throws InterruptedException {
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        LongAdder errors = new LongAdder();
+        ExecutorService callers = Executors.newFixedThreadPool(concurrency);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < concurrency; i++) {
+            callers.execute(() -> {
+                int index;
+                while ((index = next.getAndIncrement()) < requests) {
+                    HttpRequest request = HttpRequest.newBuilder(uri)
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofByteArray(bodies.get(index % bodies.size())))
+                            .build();
+                    long sent = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) {
+                            errors.increment();
+                        }
+                    } catch (IOException e) {
+                        errors.increment();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    latencies[index] = System.nanoTime() - sent;
+                }
+            });
+        }
+        callers.shutdown();
+        callers.awaitTermination(1, TimeUnit.HOURS);
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        return new Result(latencies, elapsed, errors.sum());
+    }
+
+    private static boolean checkThresholds(Result result, double maxP99Millis, double minThroughput) {
+        boolean passed = true;
+        if (result.errors() > 0) {
+            log.error("[LOAD-TEST] {} requests failed", result.errors());
+            passed = false;
+        }
+        if (maxP99Millis > 0 && result.percentile(99) > maxP99Millis) {
+            log.error("[LOAD-TEST] p99 of {}ms exceeds the limit of {}ms", result.percentile(99), maxP99Millis);
+            passed = false;
+        }
+        if (minThroughput > 0 && result.throughput() < minThroughput) {
+            log.error("[LOAD-TEST] Throughput of {} req/s is below the minimum of {} req/s", String.format("%.1f", result.throughput()), minThroughput);
+            passed = false;
+        }
+        return passed;
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        String value = System.getProperty(name);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    private static double doubleProperty(String name, double defaultValue) {
+        String value = System.getProperty(name);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+
+    private record Result(long[] sortedLatencies, long elapsedNanos, long errors) {
+
+        double throughput() {
+            return sortedLatencies.length / (elapsedNanos / 1_000_000_000.0);
+        }
+
+        double percentile(double percentile) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * sortedLatencies.length) - 1;
+            long nanos = sortedLatencies[Math.max(0, Math.min(index, sortedLatencies.length - 1))];
+            return Math.round(nanos / 10_000.0) / 100.0;
+        }
+
+    }
+
+}
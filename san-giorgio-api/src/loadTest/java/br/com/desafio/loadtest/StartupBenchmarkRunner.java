@@ -0,0 +1,116 @@
+package br.com.desafio.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures how long a new node takes to accept requests, with and without the class data sharing archive
+ * written by the {@code cdsArchive} task.
+ *
+ * <p>Each run starts {@link StartupProbe} in a fresh JVM on {@code startupBenchmark.classpath} and times it from
+ * process start until the application is ready. Runs alternate between the two modes so both see the same
+ * machine load; the medians are logged and written as JSON to {@code startupBenchmark.resultsFile}.</p>
+ */
+@Slf4j
+public final class StartupBenchmarkRunner {
+
+    private StartupBenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int runs = Integer.parseInt(System.getProperty("startupBenchmark.runs", "5"));
+        String classpath = requiredProperty("startupBenchmark.classpath");
+        String archive = requiredProperty("startupBenchmark.archive");
+        String resultsFile = System.getProperty("startupBenchmark.resultsFile");
+
+        List<Long> baseline = new ArrayList<>(runs);
+        List<Long> cds = new ArrayList<>(runs);
+        for (int run = 1; run <= runs; run++) {
+            baseline.add(startOnce(classpath, List.of()));
+            cds.add(startOnce(classpath, List.of("-XX:SharedArchiveFile=" + archive)));
+            log.info("[STARTUP-BENCHMARK] Run {}/{}: baseline={}ms cds={}ms", run, runs, baseline.get(run - 1), cds.get(run - 1));
+        }
+
+        long baselineMedian = median(baseline);
+        long cdsMedian = median(cds);
+        log.info("[STARTUP-BENCHMARK] Median time to ready: baseline={}ms cds={}ms ({}% faster)",
+                baselineMedian, cdsMedian, Math.round(100.0 * (baselineMedian - cdsMedian) / baselineMedian));
+
+        if (resultsFile != null) {
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("runs", runs);
+            report.put("baseline_millis", summary(baseline));
+            report.put("cds_millis", summary(cds));
+            Path path = Path.of(resultsFile);
+            Files.createDirectories(path.getParent());
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(path.toFile(), report);
+            log.info("[STARTUP-BENCHMARK] Results written to {}", path);
+        }
+    }
+
+    /**
+     * Starts {@link StartupProbe} in a new JVM and returns the wall-clock milliseconds until it reported ready.
+     */
+    private static long startOnce(String classpath, List<String> jvmArgs) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.add("-cp");
+        command.add(classpath);
+        command.add(StartupProbe.class.getName());
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        Long readyMillis = null;
+        List<String> output = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (readyMillis == null && line.startsWith(StartupProbe.READY_PREFIX)) {
+                    readyMillis = (System.nanoTime() - start) / 1_000_000;
+                } else {
+                    output.add(line);
+                }
+            }
+        }
+
+        int exitCode = process.waitFor();
+        if (readyMillis == null || exitCode != 0) {
+            output.forEach(System.err::println);
+            throw new IllegalStateException("Startup probe failed with exit code " + exitCode);
+        }
+        return readyMillis;
+    }
+
+    private static Map<String, Long> summary(List<Long> millis) {
+        Map<String, Long> summary = new LinkedHashMap<>();
+        summary.put("median", median(millis));
+        summary.put("min", millis.stream().mapToLong(Long::longValue).min().orElse(0));
+        summary.put("max", millis.stream().mapToLong(Long::longValue).max().orElse(0));
+        return summary;
+    }
+
+    private static long median(List<Long> millis) {
+        List<Long> sorted = millis.stream().sorted().toList();
+        return sorted.get(sorted.size() / 2);
+    }
+
+    private static String requiredProperty(String name) {
+        String value = System.getProperty(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing system property " + name);
+        }
+        return value;
+    }
+
+}
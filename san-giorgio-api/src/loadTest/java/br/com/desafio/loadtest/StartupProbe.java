@@ -0,0 +1,33 @@
+package br.com.desafio.loadtest;
+
+import br.com.desafio.SanGiorgioApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Boots the API with the {@code loadtest} profile, prints how long the JVM took to be ready to accept requests
+ * and exits.
+ *
+ * <p>Used as the child process of {@link StartupBenchmarkRunner} and as the training run of the {@code cdsArchive}
+ * task, which stops it right after the context refresh with {@code -Dspring.context.exit=onRefresh}.</p>
+ */
+public final class StartupProbe {
+
+    static final String READY_PREFIX = "[STARTUP-PROBE] ready_millis=";
+
+    private StartupProbe() {
+    }
+
+    public static void main(String[] args) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(SanGiorgioApplication.class, LoadTestConfiguration.class)
+                .profiles("loadtest")
+                .run(args);
+
+        System.out.println(READY_PREFIX + ManagementFactory.getRuntimeMXBean().getUptime());
+        System.exit(SpringApplication.exit(context));
+    }
+
+}
@@ -0,0 +1,42 @@
+package br.com.desafio.config;
+
+import br.com.desafio.service.admission.LatencyCircuitBreaker;
+import br.com.desafio.service.metrics.PaymentMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class AdmissionControlConfig {
+
+    public static final String REPOSITORY_CIRCUIT_BREAKER = "repository";
+    public static final String MESSAGING_CIRCUIT_BREAKER = "messaging";
+
+    /**
+     * Breaker for the database calls of a synchronous confirmation, checked by
+     * {@link br.com.desafio.service.admission.ConfirmationAdmissionControl} before a request is let in.
+     *
+     * @return the breaker, with its state exported as a metric
+     */
+    @Bean(name = REPOSITORY_CIRCUIT_BREAKER)
+    public LatencyCircuitBreaker repositoryCircuitBreaker(AdmissionControlProperties properties, PaymentMetrics paymentMetrics) {
+        return circuitBreaker(REPOSITORY_CIRCUIT_BREAKER, properties, paymentMetrics);
+    }
+
+    /**
+     * Breaker for the publishes of {@link br.com.desafio.service.messaging.PaymentOutboxService}; while it is
+     * open the relay leaves the messages in the outbox instead of waiting on a slow broker.
+     *
+     * @return the breaker, with its state exported as a metric
+     */
+    @Bean(name = MESSAGING_CIRCUIT_BREAKER)
+    public LatencyCircuitBreaker messagingCircuitBreaker(AdmissionControlProperties properties, PaymentMetrics paymentMetrics) {
+        return circuitBreaker(MESSAGING_CIRCUIT_BREAKER, properties, paymentMetrics);
+    }
+
+    private static LatencyCircuitBreaker circuitBreaker(String dependency, AdmissionControlProperties properties, PaymentMetrics paymentMetrics) {
+        LatencyCircuitBreaker circuitBreaker = new LatencyCircuitBreaker(dependency, properties.forDependency(dependency));
+        paymentMetrics.registerCircuitBreaker(circuitBreaker);
+        return circuitBreaker;
+    }
+
+}
@@ -0,0 +1,73 @@
+package br.com.desafio.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "payment.admission")
+public class AdmissionControlProperties {
+
+    /**
+     * Maximum number of synchronous confirmations running at once; further requests are answered with 429.
+     */
+    private int maxInFlight = 64;
+
+    /**
+     * Value of the {@code Retry-After} header sent with 429 responses.
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    /**
+     * Settings applied to dependencies without an entry in {@link #circuitBreakers}.
+     */
+    private CircuitBreakerSettings defaults = new CircuitBreakerSettings();
+
+    /**
+     * Per-dependency circuit breaker settings, keyed by dependency name.
+     */
+    private Map<String, CircuitBreakerSettings> circuitBreakers = new HashMap<>();
+
+    public CircuitBreakerSettings forDependency(String dependency) {
+        return circuitBreakers.getOrDefault(dependency, defaults);
+    }
+
+    @Data
+    public static class CircuitBreakerSettings {
+
+        /**
+         * Calls that take longer than this count as slow.
+         */
+        private Duration slowCallThreshold = Duration.ofSeconds(1);
+
+        /**
+         * Share of slow or failed calls, between 0 and 1, that opens the breaker.
+         */
+        private double slowCallRateThreshold = 0.5;
+
+        /**
+         * Number of most recent calls the rate is computed over.
+         */
+        private int windowSize = 100;
+
+        /**
+         * Calls that must be recorded before the breaker can open.
+         */
+        private int minimumCalls = 20;
+
+        /**
+         * How long the breaker rejects calls once open.
+         */
+        private Duration openDuration = Duration.ofSeconds(5);
+
+        /**
+         * Probe calls let through after {@link #openDuration}; the breaker closes if all of them are fast.
+         */
+        private int halfOpenCalls = 5;
+
+    }
+
+}
@@ -0,0 +1,51 @@
+package br.com.desafio.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class AsyncConfirmationConfig {
+
+    public static final String CONFIRMATION_EXECUTOR = "confirmationExecutor";
+
+    @Value("${payment.confirmation.async.core-pool-size}")
+    private int corePoolSize;
+
+    @Value("${payment.confirmation.async.max-pool-size}")
+    private int maxPoolSize;
+
+    @Value("${payment.confirmation.async.queue-capacity}")
+    private int queueCapacity;
+
+    /**
+     * Bounded executor that runs asynchronous payment confirmations.
+     * <p>
+     * Once all threads are busy and the queue is full, new jobs are rejected instead of piling up,
+     * so bursts are pushed back to the clients rather than exhausting memory.
+     * </p>
+     * <p>
+     * With virtual threads the pool keeps the same bounds: they limit how many confirmations use database
+     * connections at once, which does not change with the kind of thread.
+     * </p>
+     *
+     * @param executionThreads creates the executor's threads
+     * @return the executor used by {@link br.com.desafio.service.ConfirmationJobService}
+     */
+    @Bean(name = CONFIRMATION_EXECUTOR)
+    public ThreadPoolTaskExecutor confirmationExecutor(ExecutionThreads executionThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadFactory(executionThreads.threadFactory("payment-confirmation-"));
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+}
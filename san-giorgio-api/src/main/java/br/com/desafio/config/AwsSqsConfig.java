@@ -1,23 +1,30 @@
 package br.com.desafio.config;
 
+import br.com.desafio.service.messaging.InProcessMessageBroker;
 import com.amazonaws.auth.AWSStaticCredentialsProvider;
 import com.amazonaws.auth.BasicAWSCredentials;
 import com.amazonaws.client.builder.AwsClientBuilder;
 import com.amazonaws.services.sqs.AmazonSQSAsync;
 import com.amazonaws.services.sqs.AmazonSQSAsyncClientBuilder;
-import com.amazonaws.services.sqs.model.ListQueuesRequest;
-import com.amazonaws.services.sqs.model.ListQueuesResult;
-import io.awspring.cloud.messaging.core.QueueMessagingTemplate;
-import lombok.extern.slf4j.Slf4j;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
 
-import static br.com.desafio.util.QueueConstants.*;
+import java.net.URI;
+import java.time.Duration;
 
+/**
+ * SQS clients, left out with the {@value InProcessMessageBroker#PROFILE} profile, where messages never leave the JVM.
+ */
 @Configuration
-@Slf4j
+@Profile("!" + InProcessMessageBroker.PROFILE)
 public class AwsSqsConfig {
 
     @Value("${spring.aws.sqs.endpoint}")
@@ -32,6 +39,39 @@ public class AwsSqsConfig {
     @Value("${spring.aws.sqs.secret-key}")
     private String secretKey;
 
+    @Value("${payment.sqs.async.max-concurrency}")
+    private int asyncMaxConcurrency;
+
+    @Value("${payment.sqs.async.max-pending-connection-acquires}")
+    private int asyncMaxPendingConnectionAcquires;
+
+    @Value("${payment.sqs.async.connection-acquisition-timeout}")
+    private Duration asyncConnectionAcquisitionTimeout;
+
+    @Value("${payment.sqs.async.connection-max-idle-time}")
+    private Duration asyncConnectionMaxIdleTime;
+
+    @Value("${payment.queues.fifo:false}")
+    private boolean fifoQueues;
+
+    @Value("${payment.listener.batch.enabled:true}")
+    private boolean batchListenerEnabled;
+
+    /**
+     * Fails startup when FIFO queues are used without batch consumption: {@link br.com.desafio.listener.SqsBatchMessagePoller}
+     * is the only consumer that receives a client's messages in order, so without it they would pile up unconsumed.
+     */
+    @PostConstruct
+    public void checkFifoConsumption() {
+        if (fifoQueues && !batchListenerEnabled) {
+            throw new IllegalStateException("FIFO payment queues require batch consumption: set payment.listener.batch.enabled to true");
+        }
+    }
+
+    /**
+     * SDK v1 client the batch poller receives and deletes payment status messages with; messages are only
+     * published with {@link #sqsAsyncClient()}.
+     */
     @Bean
     public AmazonSQSAsync amazonSQSAsync() {
         return AmazonSQSAsyncClientBuilder.standard()
@@ -42,33 +82,26 @@ public class AwsSqsConfig {
                 .build();
     }
 
-    @Bean
-    public QueueMessagingTemplate queueMessagingTemplate(AmazonSQSAsync amazonSQSAsync) {
-        return new QueueMessagingTemplate(amazonSQSAsync);
-    }
-
-    @Bean
-    public CommandLineRunner createQueues(AmazonSQSAsync amazonSQSAsync) {
-        return args -> {
-            ListQueuesResult listQueuesResult = amazonSQSAsync.listQueues(new ListQueuesRequest());
-
-            createQueueIfNotExists(amazonSQSAsync, listQueuesResult, PARTIAL_PAYMENTS_QUEUE);
-            createQueueIfNotExists(amazonSQSAsync, listQueuesResult, TOTAL_PAYMENTS_QUEUE);
-            createQueueIfNotExists(amazonSQSAsync, listQueuesResult, SURPLUS_PAYMENTS_QUEUE);
-        };
-    }
-
-    private void createQueueIfNotExists(AmazonSQSAsync amazonSQSAsync, ListQueuesResult listQueuesResult, String queueName) {
-        boolean queueExists = listQueuesResult.getQueueUrls().stream()
-            .anyMatch(url -> url.endsWith("/" + queueName));
-
-        if (queueExists) {
-            log.info("[AWS-SQS-CONFIG] Queue '{}' already exists.", queueName);
-            return;
-        }
-
-        amazonSQSAsync.createQueue(queueName);
-        log.info("[AWS-SQS-CONFIG] Queue '{}' created.", queueName);
+    /**
+     * Non-blocking SDK v2 client used to publish payment messages.
+     * <p>
+     * Requests are multiplexed over a Netty connection pool of at most {@code max-concurrency} connections;
+     * further requests wait for a connection up to {@code connection-acquisition-timeout}, and at most
+     * {@code max-pending-connection-acquires} may wait at once, so a slow SQS cannot pile up unbounded work.
+     * </p>
+     */
+    @Bean(destroyMethod = "close")
+    public SqsAsyncClient sqsAsyncClient() {
+        return SqsAsyncClient.builder()
+                .endpointOverride(URI.create(sqsEndpoint))
+                .region(Region.of(sqsRegion))
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey)))
+                .httpClientBuilder(NettyNioAsyncHttpClient.builder()
+                        .maxConcurrency(asyncMaxConcurrency)
+                        .maxPendingConnectionAcquires(asyncMaxPendingConnectionAcquires)
+                        .connectionAcquisitionTimeout(asyncConnectionAcquisitionTimeout)
+                        .connectionMaxIdleTime(asyncConnectionMaxIdleTime))
+                .build();
     }
 
 }
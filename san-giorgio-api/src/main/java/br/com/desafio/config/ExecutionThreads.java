@@ -0,0 +1,72 @@
+package br.com.desafio.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the threads of the application's own executors: the listener workers, the batch pollers, the
+ * in-process broker consumers and the asynchronous confirmations.
+ * <p>
+ * With {@code spring.threads.virtual.enabled} on Java 21 or later these are virtual threads, like the
+ * Tomcat request threads and Spring's task executor and scheduler, which Spring Boot switches itself.
+ * Otherwise they are daemon platform threads, and on older runtimes the setting is ignored with a warning.
+ * </p>
+ */
+@Component
+@Slf4j
+public class ExecutionThreads {
+
+    private static final String VIRTUAL_THREADS_PROPERTY = "spring.threads.virtual.enabled";
+
+    private final boolean virtual;
+
+    public ExecutionThreads(Environment environment) {
+        this.virtual = Threading.VIRTUAL.isActive(environment);
+
+        if (!virtual && environment.getProperty(VIRTUAL_THREADS_PROPERTY, Boolean.class, false)) {
+            log.warn("[EXECUTION-THREADS] Virtual threads require Java 21, running on Java {}: using platform threads", Runtime.version().feature());
+        } else {
+            log.info("[EXECUTION-THREADS] Using {} threads", virtual ? "virtual" : "platform");
+        }
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    /**
+     * Creates a factory of threads named {@code threadNamePrefix} followed by a sequence number starting at 1.
+     *
+     * @param threadNamePrefix the prefix of the thread names
+     * @return a factory of virtual threads when enabled, of daemon platform threads otherwise
+     */
+    public ThreadFactory threadFactory(String threadNamePrefix) {
+        if (!virtual) {
+            return platformThreadFactory(threadNamePrefix);
+        }
+
+        ThreadFactory virtualThreadFactory = new VirtualThreadTaskExecutor().getVirtualThreadFactory();
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = virtualThreadFactory.newThread(runnable);
+            thread.setName(threadNamePrefix + threadCount.incrementAndGet());
+            return thread;
+        };
+    }
+
+    public static ThreadFactory platformThreadFactory(String threadNamePrefix) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, threadNamePrefix + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+}
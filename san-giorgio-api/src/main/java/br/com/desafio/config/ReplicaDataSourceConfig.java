@@ -0,0 +1,84 @@
+package br.com.desafio.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Splits database traffic between the primary ({@code spring.datasource}) and a read replica
+ * ({@code payment.datasource.replica}), each with its own connection pool.
+ * <p>
+ * Read-only transactions, such as client existence checks and payment lookups made outside a confirmation,
+ * run on the replica. Read-write transactions, including the reads they make, run on the primary.
+ * Without {@code payment.datasource.replica.enabled} the auto-configured single data source is used.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "payment.datasource.replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    public static final String PRIMARY_DATA_SOURCE = "primaryDataSource";
+    public static final String REPLICA_DATA_SOURCE = "replicaDataSource";
+
+    /**
+     * Pool for writes, sized by {@code spring.datasource.hikari.*}.
+     */
+    @Bean(name = PRIMARY_DATA_SOURCE)
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Pool for read-only transactions, sized by {@code payment.datasource.replica.hikari.*}.
+     */
+    @Bean(name = REPLICA_DATA_SOURCE)
+    @ConfigurationProperties("payment.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(@Value("${payment.datasource.replica.url}") String url,
+                                              @Value("${payment.datasource.replica.username}") String username,
+                                              @Value("${payment.datasource.replica.password}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * The data source used by JPA and JDBC, routing each transaction to one of the pools.
+     *
+     * @return a lazy proxy that picks the pool on the first statement of each transaction
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier(PRIMARY_DATA_SOURCE) DataSource primaryDataSource,
+                                 @Qualifier(REPLICA_DATA_SOURCE) DataSource replicaDataSource) {
+        TransactionRoutingDataSource routingDataSource = new TransactionRoutingDataSource();
+        routingDataSource.setTargetDataSources(Map.of(
+                TransactionRoutingDataSource.Route.PRIMARY, primaryDataSource,
+                TransactionRoutingDataSource.Route.REPLICA, replicaDataSource));
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+}
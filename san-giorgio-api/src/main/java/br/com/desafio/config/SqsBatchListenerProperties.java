@@ -0,0 +1,71 @@
+package br.com.desafio.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Batch consumption settings, validated at startup so an out-of-range value fails the application instead of
+ * every ReceiveMessage call.
+ */
+@Data
+@Validated
+@ConfigurationProperties(prefix = "payment.listener.batch")
+public class SqsBatchListenerProperties {
+
+    /**
+     * Whether payment status queues are consumed in batches by {@link br.com.desafio.listener.SqsBatchMessagePoller},
+     * the consumer that keeps the client payment summaries up to date. Only turn it off on instances that publish
+     * while another one consumes, and never with FIFO queues, which fails startup.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Settings applied to queues without an entry in {@link #queues}.
+     */
+    @Valid
+    private QueueSettings defaults = new QueueSettings();
+
+    /**
+     * Per-queue settings, keyed by queue name.
+     */
+    private Map<String, @Valid QueueSettings> queues = new HashMap<>();
+
+    public QueueSettings forQueue(String queueName) {
+        return queues.getOrDefault(queueName, defaults);
+    }
+
+    @Data
+    public static class QueueSettings {
+
+        /**
+         * Maximum number of messages per receive, between 1 and 10.
+         */
+        @Min(1)
+        @Max(10)
+        private int maxMessages = 10;
+
+        /**
+         * Long polling wait time in seconds, between 0 and 20.
+         */
+        @Min(0)
+        @Max(20)
+        private int waitTimeSeconds = 20;
+
+        /**
+         * Seconds a received message stays hidden from other consumers while the batch is processed, at most
+         * 12 hours.
+         */
+        @Min(0)
+        @Max(43200)
+        private int visibilityTimeoutSeconds = 30;
+
+    }
+
+}
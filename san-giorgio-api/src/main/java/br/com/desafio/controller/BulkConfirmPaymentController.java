@@ -0,0 +1,44 @@
+package br.com.desafio.controller;
+
+import static br.com.desafio.util.ApiPaths.API_CONTEXT_PATH;
+import static br.com.desafio.util.ApiPaths.RESOURCE_PAYMENTS_BULK;
+
+import br.com.desafio.service.BulkConfirmationService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping(API_CONTEXT_PATH)
+@RequiredArgsConstructor
+public class BulkConfirmPaymentController {
+
+    private final BulkConfirmationService bulkConfirmationService;
+
+    /**
+     * Confirm a stream of payments for many clients, e.g. an end-of-day reconciliation file.
+     * <p>
+     * The request body is NDJSON with one {@code {client_id, payment_id, payment_value}} object per line.
+     * The response is streamed back as NDJSON with one result per line, carrying either the payment
+     * status or the error for that line.
+     * </p>
+     *
+     * @param body     the NDJSON request body
+     * @param response the response the results are streamed to
+     * @throws IOException if reading the request or writing the response fails
+     */
+    @PostMapping(path = RESOURCE_PAYMENTS_BULK, consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void confirmPaymentsBulk(InputStream body, HttpServletResponse response) throws IOException {
+
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        bulkConfirmationService.confirm(body, response.getOutputStream());
+
+    }
+
+}
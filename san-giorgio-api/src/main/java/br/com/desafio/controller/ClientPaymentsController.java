@@ -0,0 +1,72 @@
+package br.com.desafio.controller;
+
+import static br.com.desafio.util.ApiPaths.API_CONTEXT_PATH;
+import static br.com.desafio.util.ApiPaths.RESOURCE_CLIENT_PAYMENTS;
+import static br.com.desafio.util.ApiPaths.RESOURCE_CLIENT_PAYMENTS_EXPORT;
+
+import br.com.desafio.domain.dto.ClientPaymentPageDTO;
+import br.com.desafio.domain.enumeration.PaymentStatus;
+import br.com.desafio.service.PaymentListingService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.UUID;
+
+@RestController
+@RequestMapping(API_CONTEXT_PATH)
+@RequiredArgsConstructor
+public class ClientPaymentsController {
+
+    private final PaymentListingService paymentListingService;
+
+    /**
+     * List a client's payments, oldest first, one page at a time.
+     * <p>
+     * Pages are chained with cursors: pass the {@code next_cursor} of a page to get the following one. The
+     * last page has no {@code next_cursor}. Each page starts right after the previous one in an index, so
+     * deep pages are as fast as the first one.
+     * </p>
+     *
+     * @param id     the client ID
+     * @param status only payments with this status (partial, total, or surplus), optional
+     * @param cursor the {@code next_cursor} of the previous page, absent for the first page
+     * @param limit  the maximum number of payments in the page
+     * @return a {@link ResponseEntity} with the page of payments
+     */
+    @GetMapping(path = RESOURCE_CLIENT_PAYMENTS)
+    public ResponseEntity<ClientPaymentPageDTO> getClientPayments(@PathVariable UUID id,
+                                                                  @RequestParam(required = false) PaymentStatus status,
+                                                                  @RequestParam(required = false) String cursor,
+                                                                  @RequestParam(defaultValue = "${payment.listing.default-limit}") int limit) {
+
+        return ResponseEntity.ok(paymentListingService.getPage(id, status, cursor, limit));
+
+    }
+
+    /**
+     * Export all of a client's payments, oldest first, as an NDJSON stream with one payment per line.
+     *
+     * @param id       the client ID
+     * @param status   only payments with this status (partial, total, or surplus), optional
+     * @param response the response the payments are streamed to
+     * @throws IOException if writing the response fails
+     */
+    @GetMapping(path = RESOURCE_CLIENT_PAYMENTS_EXPORT, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportClientPayments(@PathVariable UUID id,
+                                     @RequestParam(required = false) PaymentStatus status,
+                                     HttpServletResponse response) throws IOException {
+
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        paymentListingService.export(id, status, response.getOutputStream());
+
+    }
+
+}
@@ -0,0 +1,41 @@
+package br.com.desafio.controller;
+
+import static br.com.desafio.util.ApiPaths.API_CONTEXT_PATH;
+import static br.com.desafio.util.ApiPaths.RESOURCE_CLIENT_SUMMARY;
+
+import br.com.desafio.domain.dto.ClientPaymentSummaryDTO;
+import br.com.desafio.service.ClientPaymentSummaryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping(API_CONTEXT_PATH)
+@RequiredArgsConstructor
+public class ClientSummaryController {
+
+    private final ClientPaymentSummaryService clientPaymentSummaryService;
+
+    /**
+     * Get the number and total amount of a client's payments by status (partial, total, or surplus).
+     * <p>
+     * The summary is read from a table kept up to date by the payment status listener, so the cost does not
+     * depend on how many payments the client has. Payments are counted once their messages are handled.
+     * </p>
+     *
+     * @param id the client ID
+     * @return a {@link ResponseEntity} with the client's payment summary
+     */
+    @GetMapping(path = RESOURCE_CLIENT_SUMMARY)
+    public ResponseEntity<ClientPaymentSummaryDTO> getClientSummary(@PathVariable UUID id) {
+
+        return ResponseEntity.ok(clientPaymentSummaryService.getByClientId(id));
+
+    }
+
+}
@@ -1,17 +1,30 @@
 package br.com.desafio.controller;
 
 import static br.com.desafio.util.ApiPaths.API_CONTEXT_PATH;
+import static br.com.desafio.util.ApiPaths.IDEMPOTENCY_KEY_HEADER;
 import static br.com.desafio.util.ApiPaths.RESOURCE_PAYMENTS;
+import static br.com.desafio.util.ApiPaths.RESOURCE_PAYMENT_JOBS;
 
 import br.com.desafio.domain.dto.ClientPaymentsDTO;
+import br.com.desafio.domain.dto.ConfirmationJobDTO;
+import br.com.desafio.service.ConfirmationJobService;
+import br.com.desafio.service.IdempotencyService;
 import br.com.desafio.service.PaymentService;
+import br.com.desafio.service.admission.ConfirmationAdmissionControl;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.util.UUID;
 
 @RestController
 @RequestMapping(API_CONTEXT_PATH)
@@ -19,19 +32,64 @@ import org.springframework.web.bind.annotation.RestController;
 public class ConfirmPaymentController {
 
     private final PaymentService paymentService;
+    private final ConfirmationJobService confirmationJobService;
+    private final IdempotencyService idempotencyService;
+    private final ConfirmationAdmissionControl confirmationAdmissionControl;
 
     /**
      * Confirm payments for a client and determine their status (partial, total, or surplus).
+     * <p>
+     * When an {@code Idempotency-Key} header is sent, retries with the same key and body are answered with the
+     * first response instead of confirming the payments again. Confirmations are shed with 429 or 503 and a
+     * {@code Retry-After} header when too many are in progress or the database is slow; retries waiting for the
+     * first request with the same key are not admission-controlled, as they hold no database connection.
+     * </p>
      *
+     * @param idempotencyKey    Optional key identifying retries of the same request
      * @param clientPaymentsDTO Request body containing client ID and list of payments
      * @return a {@link ResponseEntity} with updated payment statuses
      */
     @PostMapping(path = RESOURCE_PAYMENTS)
-    public ResponseEntity<ClientPaymentsDTO> confirmPayments(@Valid @RequestBody ClientPaymentsDTO clientPaymentsDTO) {
+    public ResponseEntity<ClientPaymentsDTO> confirmPayments(@RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                                             @Valid @RequestBody ClientPaymentsDTO clientPaymentsDTO) {
 
-        ClientPaymentsDTO response = paymentService.confirm(clientPaymentsDTO);
+        ClientPaymentsDTO response = idempotencyKey == null
+                ? confirmationAdmissionControl.admit(() -> paymentService.confirm(clientPaymentsDTO))
+                : idempotencyService.execute(idempotencyKey, clientPaymentsDTO,
+                        () -> confirmationAdmissionControl.admit(() -> paymentService.confirm(clientPaymentsDTO)));
         return ResponseEntity.ok(response);
 
     }
 
+    /**
+     * Accept payments for asynchronous confirmation and return immediately with the job to poll.
+     *
+     * @param clientPaymentsDTO Request body containing client ID and list of payments
+     * @return a {@link ResponseEntity} with HTTP status 202 (Accepted), the job and its location
+     */
+    @PostMapping(path = RESOURCE_PAYMENTS, params = "async=true")
+    public ResponseEntity<ConfirmationJobDTO> confirmPaymentsAsync(@Valid @RequestBody ClientPaymentsDTO clientPaymentsDTO) {
+
+        ConfirmationJobDTO job = confirmationJobService.submit(clientPaymentsDTO);
+        URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path(API_CONTEXT_PATH + RESOURCE_PAYMENT_JOBS + "/{id}")
+                .buildAndExpand(job.getJobId())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(job);
+
+    }
+
+    /**
+     * Get the status of an asynchronous confirmation and, once finished, its per-payment results.
+     *
+     * @param id the job ID returned by the asynchronous confirmation
+     * @return a {@link ResponseEntity} with the current state of the job
+     */
+    @GetMapping(path = RESOURCE_PAYMENT_JOBS + "/{id}")
+    public ResponseEntity<ConfirmationJobDTO> getConfirmationJob(@PathVariable UUID id) {
+
+        return ResponseEntity.ok(confirmationJobService.getById(id));
+
+    }
+
 }
@@ -1,5 +1,6 @@
 package br.com.desafio.domain;
 
+import br.com.desafio.service.ClientCacheEvictionListener;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.SQLDelete;
@@ -13,7 +14,8 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(callSuper = true)
-@SQLDelete(sql = "UPDATE clients SET deleted_at = current_timestamp WHERE id=? AND version=?")
+@EntityListeners(ClientCacheEvictionListener.class)
+@SQLDelete(sql = "UPDATE clients SET deleted_at = current_timestamp WHERE client_id=? AND version=?")
 public class Client extends AbstractAuditingEntityCustom {
 
     @Id
@@ -0,0 +1,52 @@
+package br.com.desafio.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Counts and amounts of a client's confirmed payments by status.
+ * <p>
+ * Rows are only written with the delta upserts of
+ * {@link br.com.desafio.repository.ClientPaymentSummaryUpdateRepository}, so the entity is read-only.
+ * Amounts are the sums of the payments' original values.
+ * </p>
+ */
+@Entity
+@Immutable
+@Table(name = "client_payment_summaries")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientPaymentSummary {
+
+    @Id
+    @Column(name = "client_id", nullable = false, updatable = false)
+    private UUID clientId;
+
+    @Column(name = "partial_count", nullable = false)
+    private long partialCount;
+
+    @Column(name = "partial_amount", nullable = false, precision = 19, scale = 2)
+    private Money partialAmount;
+
+    @Column(name = "total_count", nullable = false)
+    private long totalCount;
+
+    @Column(name = "total_amount", nullable = false, precision = 19, scale = 2)
+    private Money totalAmount;
+
+    @Column(name = "surplus_count", nullable = false)
+    private long surplusCount;
+
+    @Column(name = "surplus_amount", nullable = false, precision = 19, scale = 2)
+    private Money surplusAmount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+}
@@ -0,0 +1,42 @@
+package br.com.desafio.domain;
+
+import br.com.desafio.domain.enumeration.PaymentStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.UUID;
+
+/**
+ * Status and value a payment is currently counted with in its client's {@link ClientPaymentSummary}, and the
+ * payment version they come from.
+ * <p>
+ * Entries are only read through JPA; they are written by
+ * {@link br.com.desafio.repository.ClientPaymentSummaryUpdateRepository#mergeEntries}.
+ * </p>
+ */
+@Entity
+@Table(name = "client_payment_summary_entries")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientPaymentSummaryEntry {
+
+    @Id
+    @Column(name = "payment_id", nullable = false, updatable = false)
+    private UUID paymentId;
+
+    @Column(name = "client_id", nullable = false, updatable = false)
+    private UUID clientId;
+
+    @Column(name = "payment_value", nullable = false, precision = 8, scale = 2)
+    private Money paymentValue;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_status", nullable = false)
+    private PaymentStatus paymentStatus;
+
+    @Column(name = "payment_version", nullable = false)
+    private long paymentVersion;
+
+}
@@ -0,0 +1,58 @@
+package br.com.desafio.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.domain.Persistable;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * Finished response of a confirmation request sent with an {@code Idempotency-Key} header.
+ * <p>
+ * A replay must carry the same request body, so only the resulting payment statuses are stored, in request order.
+ * </p>
+ * <p>
+ * Records are only ever inserted, so {@link #isNew()} is derived from the creation date: saving a record
+ * always issues an {@code INSERT}, and a concurrent request with the same key fails on the primary key
+ * instead of overwriting the stored response.
+ * </p>
+ */
+@Entity
+@Table(name = "idempotency_keys")
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+public class IdempotencyRecord implements Persistable<String> {
+
+    @Id
+    @Column(name = "idempotency_key", nullable = false, updatable = false, length = 255)
+    private String idempotencyKey;
+
+    @Column(name = "request_hash", nullable = false, updatable = false, length = 64)
+    private String requestHash;
+
+    @Column(name = "payment_statuses", nullable = false, updatable = false, columnDefinition = "text")
+    private String paymentStatuses;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false, updatable = false)
+    private LocalDateTime expiresAt;
+
+    @Override
+    public String getId() {
+        return idempotencyKey;
+    }
+
+    @Override
+    public boolean isNew() {
+        return createdAt == null;
+    }
+
+}
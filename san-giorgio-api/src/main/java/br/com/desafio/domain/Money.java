@@ -0,0 +1,226 @@
+package br.com.desafio.domain;
+
+import br.com.desafio.domain.json.MoneyDeserializer;
+import br.com.desafio.domain.json.MoneySerializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Monetary amount stored as a {@code long} number of cents.
+ * <p>
+ * Payment values are persisted as {@code NUMERIC(8, 2)}, so every amount fits in a {@code long} of cents.
+ * Comparisons and equality work on the primitive directly, and the JSON adapters parse and write the
+ * decimal representation without going through {@link BigDecimal}. Amounts with more than two significant
+ * decimal places are rejected instead of being rounded.
+ * </p>
+ */
+@JsonSerialize(using = MoneySerializer.class)
+@JsonDeserialize(using = MoneyDeserializer.class)
+@Schema(type = "number", format = "decimal", example = "1234.56")
+public final class Money implements Comparable<Money>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final int SCALE = 2;
+    public static final Money ZERO = new Money(0);
+
+    /**
+     * Upper bound for the characters written by {@link #writeTo(char[])}: sign, 19 digits and the decimal point.
+     */
+    public static final int MAX_CHARS = 21;
+
+    private static final int MAX_FAST_INTEGER_DIGITS = 16;
+
+    private final long cents;
+
+    private Money(long cents) {
+        this.cents = cents;
+    }
+
+    public static Money ofCents(long cents) {
+        return cents == 0 ? ZERO : new Money(cents);
+    }
+
+    /**
+     * Converts a decimal amount, rejecting values that cannot be represented exactly in cents.
+     *
+     * @param amount the decimal amount
+     * @return the {@link Money} with the same value
+     * @throws ArithmeticException if the amount has more than two significant decimal places or does not fit in a {@code long} of cents
+     */
+    public static Money of(BigDecimal amount) {
+        return ofCents(amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact());
+    }
+
+    public static Money parse(CharSequence text) {
+        String value = text.toString();
+        return parse(value.toCharArray(), 0, value.length());
+    }
+
+    /**
+     * Parses a plain decimal such as {@code 1234.5} or {@code -0.01} straight from a character buffer.
+     * <p>
+     * The common form is handled without allocating; exponents and very long integer parts fall back to
+     * {@link BigDecimal}.
+     * </p>
+     *
+     * @param chars  the buffer holding the amount
+     * @param offset index of the first character
+     * @param length number of characters
+     * @return the parsed {@link Money}
+     * @throws NumberFormatException if the text is not a number or has more than two significant decimal places
+     */
+    public static Money parse(char[] chars, int offset, int length) {
+        int end = offset + length;
+        int i = offset;
+
+        boolean negative = false;
+        if (i < end && (chars[i] == '-' || chars[i] == '+')) {
+            negative = chars[i] == '-';
+            i++;
+        }
+
+        long units = 0;
+        int integerDigits = 0;
+        while (i < end && isDigit(chars[i])) {
+            if (++integerDigits > MAX_FAST_INTEGER_DIGITS) {
+                return parseSlow(chars, offset, length);
+            }
+            units = units * 10 + (chars[i++] - '0');
+        }
+
+        long fraction = 0;
+        int fractionDigits = 0;
+        if (i < end && chars[i] == '.') {
+            i++;
+            while (i < end && isDigit(chars[i])) {
+                int digit = chars[i++] - '0';
+                if (fractionDigits < SCALE) {
+                    fraction = fraction * 10 + digit;
+                } else if (digit != 0) {
+                    throw tooManyDecimals(chars, offset, length);
+                }
+                fractionDigits++;
+            }
+        }
+
+        if (i != end || integerDigits + fractionDigits == 0) {
+            return parseSlow(chars, offset, length);
+        }
+        if (fractionDigits == 1) {
+            fraction *= 10;
+        }
+
+        long value = units * 100 + fraction;
+        return ofCents(negative ? -value : value);
+    }
+
+    public long cents() {
+        return cents;
+    }
+
+    public int signum() {
+        return Long.signum(cents);
+    }
+
+    public boolean isLessThan(Money other) {
+        return cents < other.cents;
+    }
+
+    public boolean isGreaterThan(Money other) {
+        return cents > other.cents;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    /**
+     * Writes the amount with exactly two decimal places, e.g. {@code 1234.50}.
+     *
+     * @param buffer a buffer of at least {@link #MAX_CHARS} characters
+     * @return the number of characters written
+     */
+    public int writeTo(char[] buffer) {
+        if (cents == Long.MIN_VALUE) {
+            String text = toBigDecimal().toPlainString();
+            text.getChars(0, text.length(), buffer, 0);
+            return text.length();
+        }
+
+        int position = 0;
+        long value = cents;
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+
+        long units = value / 100;
+        int fraction = (int) (value % 100);
+
+        int end = position + digitCount(units);
+        for (int i = end - 1; i >= position; i--) {
+            buffer[i] = (char) ('0' + units % 10);
+            units /= 10;
+        }
+        buffer[end] = '.';
+        buffer[end + 1] = (char) ('0' + fraction / 10);
+        buffer[end + 2] = (char) ('0' + fraction % 10);
+        return end + 3;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || other instanceof Money money && cents == money.cents;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(cents);
+    }
+
+    @Override
+    public String toString() {
+        char[] buffer = new char[MAX_CHARS];
+        return new String(buffer, 0, writeTo(buffer));
+    }
+
+    private static int digitCount(long value) {
+        int count = 1;
+        while (value >= 10) {
+            value /= 10;
+            count++;
+        }
+        return count;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static Money parseSlow(char[] chars, int offset, int length) {
+        BigDecimal amount = new BigDecimal(chars, offset, length);
+        try {
+            return of(amount);
+        } catch (ArithmeticException e) {
+            throw amount.stripTrailingZeros().scale() > SCALE
+                    ? tooManyDecimals(chars, offset, length)
+                    : new NumberFormatException("Money amount out of range: " + new String(chars, offset, length));
+        }
+    }
+
+    private static NumberFormatException tooManyDecimals(char[] chars, int offset, int length) {
+        return new NumberFormatException("Money amount must have at most " + SCALE + " decimal places: " + new String(chars, offset, length));
+    }
+
+}
@@ -5,7 +5,6 @@ import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.SQLDelete;
 
-import java.math.BigDecimal;
 import java.util.UUID;
 
 @Entity
@@ -15,7 +14,7 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(callSuper = true)
-@SQLDelete(sql = "UPDATE payments SET deleted_at = current_timestamp WHERE id=? AND version=?")
+@SQLDelete(sql = "UPDATE payments SET deleted_at = current_timestamp WHERE payment_id=? AND version=?")
 public class Payment extends AbstractAuditingEntityCustom {
 
     @Id
@@ -23,12 +22,14 @@ public class Payment extends AbstractAuditingEntityCustom {
     @Column(name = "payment_id", nullable = false, updatable = false, unique = true)
     private UUID paymentId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @JoinColumn(name = "client_id", nullable = false)
     private Client client;
 
     @Column(name = "payment_value", nullable = false, precision = 8, scale = 2)
-    private BigDecimal paymentValue;
+    private Money paymentValue;
 
     @Enumerated(EnumType.STRING)
     @Column(name = "payment_status")
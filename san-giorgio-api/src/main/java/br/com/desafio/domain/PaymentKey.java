@@ -0,0 +1,35 @@
+package br.com.desafio.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Key of a payment: its ID and the creation date that places it in a partition of {@code payments}.
+ * <p>
+ * {@code payments} is partitioned by {@code created_at}, so its primary key cannot keep {@code payment_id}
+ * unique on its own; the unpartitioned {@code payment_keys} table does. Rows are written by a trigger on
+ * {@code payments}, so the entity is read-only. Lookups by payment ID join through it to read only the
+ * partition holding each payment.
+ * </p>
+ */
+@Entity
+@Immutable
+@Table(name = "payment_keys")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentKey {
+
+    @Id
+    @Column(name = "payment_id", nullable = false, updatable = false)
+    private UUID paymentId;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+}
@@ -0,0 +1,49 @@
+package br.com.desafio.domain;
+
+import br.com.desafio.domain.enumeration.PaymentStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "payment_outbox")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+public class PaymentOutboxMessage {
+
+    @Id
+    @GeneratedValue
+    @Column(name = "outbox_id", nullable = false, updatable = false, unique = true)
+    private UUID outboxId;
+
+    @Column(name = "queue_name", nullable = false, updatable = false)
+    private String queueName;
+
+    @Column(name = "client_id", nullable = false, updatable = false)
+    private UUID clientId;
+
+    @Column(name = "payment_id", nullable = false, updatable = false)
+    private UUID paymentId;
+
+    @Column(name = "payment_value", nullable = false, updatable = false, precision = 8, scale = 2)
+    private Money paymentValue;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_status", nullable = false, updatable = false)
+    private PaymentStatus paymentStatus;
+
+    @Column(name = "payment_version", nullable = false, updatable = false)
+    private long paymentVersion;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+}
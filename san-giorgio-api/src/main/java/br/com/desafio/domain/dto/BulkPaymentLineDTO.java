@@ -0,0 +1,28 @@
+package br.com.desafio.domain.dto;
+
+import br.com.desafio.domain.Money;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkPaymentLineDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @JsonProperty("client_id")
+    private UUID clientId;
+
+    @JsonProperty("payment_id")
+    private UUID paymentId;
+
+    @JsonProperty("payment_value")
+    private Money paymentValue;
+
+}
@@ -0,0 +1,38 @@
+package br.com.desafio.domain.dto;
+
+import br.com.desafio.domain.enumeration.PaymentStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkPaymentResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @JsonProperty("line")
+    private long line;
+
+    @JsonProperty("client_id")
+    private UUID clientId;
+
+    @JsonProperty("payment_id")
+    private UUID paymentId;
+
+    @JsonProperty("payment_status")
+    private PaymentStatus paymentStatus;
+
+    @JsonProperty("error")
+    private String error;
+
+}
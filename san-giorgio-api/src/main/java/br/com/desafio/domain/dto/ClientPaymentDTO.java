@@ -0,0 +1,23 @@
+package br.com.desafio.domain.dto;
+
+import br.com.desafio.domain.Money;
+import br.com.desafio.domain.enumeration.PaymentStatus;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A payment as listed for its client, read without hydrating the {@code Payment} entity.
+ */
+public record ClientPaymentDTO(
+    @JsonProperty("payment_id") UUID paymentId,
+    @JsonProperty("payment_value") Money paymentValue,
+    @JsonProperty("payment_status") PaymentStatus paymentStatus,
+    @JsonProperty("created_at") LocalDateTime createdAt
+) implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+}
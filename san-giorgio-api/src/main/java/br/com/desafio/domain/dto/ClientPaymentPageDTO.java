@@ -0,0 +1,35 @@
+package br.com.desafio.domain.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ClientPaymentPageDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @JsonProperty("client_id")
+    private UUID clientId;
+
+    @JsonProperty("payments")
+    private List<ClientPaymentDTO> payments;
+
+    /**
+     * Cursor of the next page, absent on the last page.
+     */
+    @JsonProperty("next_cursor")
+    private String nextCursor;
+
+}
@@ -0,0 +1,74 @@
+package br.com.desafio.domain.dto;
+
+import br.com.desafio.domain.ClientPaymentSummary;
+import br.com.desafio.domain.Money;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ClientPaymentSummaryDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @JsonProperty("client_id")
+    private UUID clientId;
+
+    @JsonProperty("partial_count")
+    private long partialCount;
+
+    @JsonProperty("partial_amount")
+    private Money partialAmount;
+
+    @JsonProperty("total_count")
+    private long totalCount;
+
+    @JsonProperty("total_amount")
+    private Money totalAmount;
+
+    @JsonProperty("surplus_count")
+    private long surplusCount;
+
+    @JsonProperty("surplus_amount")
+    private Money surplusAmount;
+
+    @JsonProperty("updated_at")
+    private LocalDateTime updatedAt;
+
+    public static ClientPaymentSummaryDTO of(ClientPaymentSummary summary) {
+        return ClientPaymentSummaryDTO.builder()
+                .clientId(summary.getClientId())
+                .partialCount(summary.getPartialCount())
+                .partialAmount(summary.getPartialAmount())
+                .totalCount(summary.getTotalCount())
+                .totalAmount(summary.getTotalAmount())
+                .surplusCount(summary.getSurplusCount())
+                .surplusAmount(summary.getSurplusAmount())
+                .updatedAt(summary.getUpdatedAt())
+                .build();
+    }
+
+    /**
+     * Summary of a client none of whose payments were handled yet.
+     */
+    public static ClientPaymentSummaryDTO empty(UUID clientId) {
+        return ClientPaymentSummaryDTO.builder()
+                .clientId(clientId)
+                .partialAmount(Money.ZERO)
+                .totalAmount(Money.ZERO)
+                .surplusAmount(Money.ZERO)
+                .build();
+    }
+
+}
@@ -0,0 +1,62 @@
+package br.com.desafio.domain.dto;
+
+import br.com.desafio.domain.Money;
+import br.com.desafio.domain.enumeration.PaymentStatus;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Change to apply to a client's payment summary, accumulated over a batch of payment messages.
+ */
+@Getter
+@RequiredArgsConstructor
+public class ClientPaymentSummaryDelta {
+
+    private final UUID clientId;
+    private long partialCount;
+    private long partialCents;
+    private long totalCount;
+    private long totalCents;
+    private long surplusCount;
+    private long surplusCents;
+
+    /**
+     * Counts a payment with the given status.
+     */
+    public void add(PaymentStatus paymentStatus, Money paymentValue) {
+        change(paymentStatus, 1, paymentValue.cents());
+    }
+
+    /**
+     * Stops counting a payment with the given status.
+     */
+    public void remove(PaymentStatus paymentStatus, Money paymentValue) {
+        change(paymentStatus, -1, -paymentValue.cents());
+    }
+
+    public boolean isEmpty() {
+        return partialCount == 0 && partialCents == 0
+                && totalCount == 0 && totalCents == 0
+                && surplusCount == 0 && surplusCents == 0;
+    }
+
+    private void change(PaymentStatus paymentStatus, int count, long cents) {
+        switch (paymentStatus) {
+            case PARTIAL -> {
+                partialCount += count;
+                partialCents += cents;
+            }
+            case TOTAL -> {
+                totalCount += count;
+                totalCents += cents;
+            }
+            case SURPLUS -> {
+                surplusCount += count;
+                surplusCents += cents;
+            }
+        }
+    }
+
+}
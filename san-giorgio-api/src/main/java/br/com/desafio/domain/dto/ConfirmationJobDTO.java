@@ -0,0 +1,46 @@
+package br.com.desafio.domain.dto;
+
+import br.com.desafio.domain.enumeration.ConfirmationJobStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ConfirmationJobDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @JsonProperty("job_id")
+    private UUID jobId;
+
+    @JsonProperty("client_id")
+    private UUID clientId;
+
+    @JsonProperty("status")
+    private ConfirmationJobStatus status;
+
+    @JsonProperty("payments")
+    private List<PaymentDTO> payments;
+
+    @JsonProperty("error")
+    private String error;
+
+    @JsonProperty("created_at")
+    private LocalDateTime createdAt;
+
+    @JsonProperty("completed_at")
+    private LocalDateTime completedAt;
+
+}
@@ -0,0 +1,51 @@
+package br.com.desafio.domain.dto;
+
+import br.com.desafio.exception.BadRequestAlertException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position after the last payment of a page, in {@code (created_at, payment_id)} order.
+ * <p>
+ * Sent to clients as an opaque URL-safe token; the next page starts right after this position, so it costs
+ * the same however many payments came before it.
+ * </p>
+ *
+ * @param createdAt the creation time of the last payment of the page
+ * @param paymentId the ID of the last payment of the page
+ */
+public record PaymentCursor(LocalDateTime createdAt, UUID paymentId) {
+
+    private static final char SEPARATOR = '|';
+
+    public static PaymentCursor after(ClientPaymentDTO payment) {
+        return new PaymentCursor(payment.createdAt(), payment.paymentId());
+    }
+
+    /**
+     * Reads a cursor returned by {@link #encode()}.
+     *
+     * @param cursor the token
+     * @return the position it stands for
+     * @throws BadRequestAlertException if the token was not produced by {@link #encode()}
+     */
+    public static PaymentCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+            return new PaymentCursor(LocalDateTime.parse(value.substring(0, separator)), UUID.fromString(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BadRequestAlertException("Invalid cursor: " + cursor);
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((createdAt.toString() + SEPARATOR + paymentId).getBytes(StandardCharsets.UTF_8));
+    }
+
+}
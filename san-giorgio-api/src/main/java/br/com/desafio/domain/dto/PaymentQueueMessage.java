@@ -1,17 +1,28 @@
 package br.com.desafio.domain.dto;
 
+import br.com.desafio.domain.Money;
 import br.com.desafio.domain.enumeration.PaymentStatus;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.io.Serializable;
-import java.math.BigDecimal;
 import java.util.UUID;
 
+/**
+ * Status change of a confirmed payment, published to the queue of its status.
+ *
+ * @param clientId       the ID of the client that owns the payment
+ * @param paymentId      the payment ID
+ * @param paymentValue   the original amount of the payment
+ * @param paymentStatus  the status the payment was confirmed with
+ * @param paymentVersion the payment's version after the confirmation; the status queues do not preserve the
+ *                       order between each other, so consumers skip messages not newer than what they applied
+ */
 public record PaymentQueueMessage(
     @JsonProperty("client_id") UUID clientId,
     @JsonProperty("payment_id") UUID paymentId,
-    @JsonProperty("payment_value") BigDecimal paymentValue,
-    @JsonProperty("payment_status") PaymentStatus paymentStatus
+    @JsonProperty("payment_value") Money paymentValue,
+    @JsonProperty("payment_status") PaymentStatus paymentStatus,
+    @JsonProperty("payment_version") long paymentVersion
 ) implements Serializable {
 
     private static final long serialVersionUID = 1L;
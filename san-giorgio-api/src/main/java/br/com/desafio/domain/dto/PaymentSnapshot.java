@@ -0,0 +1,26 @@
+package br.com.desafio.domain.dto;
+
+import br.com.desafio.domain.Money;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Columns of a payment needed to confirm it, read without hydrating the {@code Payment} entity.
+ *
+ * @param paymentId    the payment ID
+ * @param clientId     the ID of the client that owns the payment
+ * @param paymentValue the original amount of the payment
+ * @param createdAt    the creation date, which places the payment in its partition
+ * @param version      the optimistic locking version the row was read with
+ */
+public record PaymentSnapshot(UUID paymentId, UUID clientId, Money paymentValue, LocalDateTime createdAt, Long version) {
+
+    /**
+     * @return the version the row has once a confirmation updated it
+     */
+    public long nextVersion() {
+        return version == null ? 0 : version + 1;
+    }
+
+}
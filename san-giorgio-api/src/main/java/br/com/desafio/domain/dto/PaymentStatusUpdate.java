@@ -0,0 +1,17 @@
+package br.com.desafio.domain.dto;
+
+import br.com.desafio.domain.enumeration.PaymentStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * New status for a payment, guarded by the version it was read with.
+ *
+ * @param paymentId     the payment to update
+ * @param createdAt     the payment's creation date, which places it in its partition
+ * @param version       the version the payment was read with
+ * @param paymentStatus the new status
+ */
+public record PaymentStatusUpdate(UUID paymentId, LocalDateTime createdAt, Long version, PaymentStatus paymentStatus) {
+}
@@ -0,0 +1,8 @@
+package br.com.desafio.domain.enumeration;
+
+public enum ConfirmationJobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
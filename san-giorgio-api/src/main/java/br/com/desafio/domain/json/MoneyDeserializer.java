@@ -0,0 +1,43 @@
+package br.com.desafio.domain.json;
+
+import br.com.desafio.domain.Money;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+
+import java.io.IOException;
+
+/**
+ * Reads {@link Money} from a JSON number or numeric string, parsing the token text in place.
+ * <p>
+ * Amounts with more than two significant decimal places fail with an {@link InvalidFormatException}
+ * rather than being rounded.
+ * </p>
+ */
+public class MoneyDeserializer extends StdScalarDeserializer<Money> {
+
+    public MoneyDeserializer() {
+        super(Money.class);
+    }
+
+    @Override
+    public Money deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        return switch (parser.currentToken()) {
+            case VALUE_NUMBER_INT -> parser.getNumberType() == JsonParser.NumberType.BIG_INTEGER
+                    ? parseText(parser)
+                    : Money.ofCents(Math.multiplyExact(parser.getLongValue(), 100L));
+            case VALUE_NUMBER_FLOAT, VALUE_STRING -> parseText(parser);
+            default -> (Money) context.handleUnexpectedToken(Money.class, parser);
+        };
+    }
+
+    private Money parseText(JsonParser parser) throws IOException {
+        try {
+            return Money.parse(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+        } catch (NumberFormatException e) {
+            throw InvalidFormatException.from(parser, e.getMessage(), parser.getText(), Money.class);
+        }
+    }
+
+}
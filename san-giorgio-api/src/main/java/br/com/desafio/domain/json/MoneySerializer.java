@@ -0,0 +1,25 @@
+package br.com.desafio.domain.json;
+
+import br.com.desafio.domain.Money;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes {@link Money} as a JSON number with two decimal places, e.g. {@code 1234.50}.
+ */
+public class MoneySerializer extends StdSerializer<Money> {
+
+    public MoneySerializer() {
+        super(Money.class);
+    }
+
+    @Override
+    public void serialize(Money value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        char[] buffer = new char[Money.MAX_CHARS];
+        generator.writeNumber(buffer, 0, value.writeTo(buffer));
+    }
+
+}
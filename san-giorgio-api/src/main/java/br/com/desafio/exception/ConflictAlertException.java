@@ -0,0 +1,9 @@
+package br.com.desafio.exception;
+
+public class ConflictAlertException extends RuntimeException {
+
+    public ConflictAlertException(String message) {
+        super(message);
+    }
+
+}
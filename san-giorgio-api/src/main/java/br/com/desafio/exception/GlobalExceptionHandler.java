@@ -1,5 +1,8 @@
 package br.com.desafio.exception;
 
+import br.com.desafio.service.metrics.PaymentMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -7,14 +10,17 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
 
 @ControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
 
+    private final PaymentMetrics paymentMetrics;
+
     /**
      * Handles NotFoundAlertException and returns a response with HTTP status 404 (Not Found).
      * <p>
      * This method intercepts any {@link NotFoundAlertException} thrown within the application
      * and returns a standardized response with the status code 404 and the exception's message
-     * as the response body.
+     * as the response body. Every occurrence is counted in the {@code payment.exceptions} metric.
      * </p>
      *
      * @param ex      the exception to handle
@@ -23,6 +29,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(NotFoundAlertException.class)
     public ResponseEntity<Object> handleNotFoundAlertException(NotFoundAlertException ex, WebRequest request) {
+        paymentMetrics.incrementException(ex);
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
     }
 
@@ -31,7 +38,7 @@ public class GlobalExceptionHandler {
      * <p>
      * This method intercepts any {@link BadRequestAlertException} thrown within the application
      * and returns a standardized response with the status code 400 and the exception's message
-     * as the response body.
+     * as the response body. Every occurrence is counted in the {@code payment.exceptions} metric.
      * </p>
      *
      * @param ex      the exception to handle
@@ -40,7 +47,66 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(BadRequestAlertException.class)
     public ResponseEntity<Object> handleBadRequestAlertException(BadRequestAlertException ex, WebRequest request) {
+        paymentMetrics.incrementException(ex);
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
     }
 
+    /**
+     * Handles ConflictAlertException and returns a response with HTTP status 409 (Conflict).
+     * <p>
+     * This method intercepts any {@link ConflictAlertException} thrown when a resource was modified
+     * concurrently by another request and returns the exception's message as the response body.
+     * Every occurrence is counted in the {@code payment.exceptions} metric.
+     * </p>
+     *
+     * @param ex      the exception to handle
+     * @param request the web request during which the exception occurred
+     * @return a {@link ResponseEntity} with HTTP status 409 (Conflict) and the exception message as the body
+     */
+    @ExceptionHandler(ConflictAlertException.class)
+    public ResponseEntity<Object> handleConflictAlertException(ConflictAlertException ex, WebRequest request) {
+        paymentMetrics.incrementException(ex);
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
+    }
+
+    /**
+     * Handles ServiceUnavailableAlertException and returns a response with HTTP status 503 (Service Unavailable).
+     * <p>
+     * This method intercepts any {@link ServiceUnavailableAlertException} thrown when the application is
+     * temporarily unable to accept more work and returns the exception's message as the response body,
+     * with a {@code Retry-After} header telling the client when to try again.
+     * </p>
+     *
+     * @param ex      the exception to handle
+     * @param request the web request during which the exception occurred
+     * @return a {@link ResponseEntity} with HTTP status 503 (Service Unavailable) and the exception message as the body
+     */
+    @ExceptionHandler(ServiceUnavailableAlertException.class)
+    public ResponseEntity<Object> handleServiceUnavailableAlertException(ServiceUnavailableAlertException ex, WebRequest request) {
+        paymentMetrics.incrementException(ex);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(ex.getMessage());
+    }
+
+    /**
+     * Handles TooManyRequestsAlertException and returns a response with HTTP status 429 (Too Many Requests).
+     * <p>
+     * This method intercepts any {@link TooManyRequestsAlertException} thrown when a request is shed because
+     * too many confirmations are already in progress and returns the exception's message as the response body,
+     * with a {@code Retry-After} header telling the client when to try again.
+     * </p>
+     *
+     * @param ex      the exception to handle
+     * @param request the web request during which the exception occurred
+     * @return a {@link ResponseEntity} with HTTP status 429 (Too Many Requests) and the exception message as the body
+     */
+    @ExceptionHandler(TooManyRequestsAlertException.class)
+    public ResponseEntity<Object> handleTooManyRequestsAlertException(TooManyRequestsAlertException ex, WebRequest request) {
+        paymentMetrics.incrementException(ex);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(ex.getMessage());
+    }
+
 }
@@ -0,0 +1,15 @@
+package br.com.desafio.exception;
+
+import lombok.Getter;
+
+@Getter
+public class ServiceUnavailableAlertException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableAlertException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+}
@@ -0,0 +1,15 @@
+package br.com.desafio.exception;
+
+import lombok.Getter;
+
+@Getter
+public class TooManyRequestsAlertException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsAlertException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+}
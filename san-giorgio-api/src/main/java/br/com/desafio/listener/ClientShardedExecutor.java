@@ -0,0 +1,120 @@
+package br.com.desafio.listener;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Runs message handling on a fixed set of single-threaded workers, picking the worker from the client ID.
+ * <p>
+ * All messages of a client go to the same worker and are handled one at a time in the order they were
+ * submitted, while messages of different clients are handled in parallel on the other workers.
+ * </p>
+ */
+@Slf4j
+public class ClientShardedExecutor implements AutoCloseable {
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private final ExecutorService[] workers;
+
+    public ClientShardedExecutor(int shards, ThreadFactory threadFactory) {
+        if (shards < 1) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+
+        workers = new ExecutorService[shards];
+        for (int i = 0; i < shards; i++) {
+            workers[i] = Executors.newSingleThreadExecutor(threadFactory);
+        }
+    }
+
+    public int shards() {
+        return workers.length;
+    }
+
+    int shardFor(UUID clientId) {
+        return Math.floorMod(clientId.hashCode(), workers.length);
+    }
+
+    /**
+     * Hands the items of each worker to the handler as one list, in list order, so the handler can process
+     * them together, and waits until all workers are done.
+     * <p>
+     * If a handler fails, the first failure is rethrown once every worker has finished, so the caller can
+     * leave the whole batch for redelivery.
+     * </p>
+     *
+     * @param items    the items to handle, in the order they were received
+     * @param clientId extracts the client ID of an item
+     * @param handler  handles the items of one worker
+     * @param <T>      the item type
+     */
+    public <T> void executeInBatches(List<T> items, Function<T, UUID> clientId, Consumer<List<T>> handler) {
+        List<List<T>> itemsByShard = new ArrayList<>(workers.length);
+        for (int i = 0; i < workers.length; i++) {
+            itemsByShard.add(new ArrayList<>());
+        }
+        for (T item : items) {
+            itemsByShard.get(shardFor(clientId.apply(item))).add(item);
+        }
+
+        List<Future<?>> tasks = new ArrayList<>(workers.length);
+        for (int i = 0; i < workers.length; i++) {
+            List<T> shardItems = itemsByShard.get(i);
+            if (!shardItems.isEmpty()) {
+                tasks.add(workers[i].submit(() -> handler.accept(shardItems)));
+            }
+        }
+
+        await(tasks);
+    }
+
+    private static void await(List<Future<?>> tasks) {
+        RuntimeException failure = null;
+        for (Future<?> task : tasks) {
+            try {
+                task.get();
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for message handling", e);
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @Override
+    public void close() {
+        for (ExecutorService worker : workers) {
+            worker.shutdown();
+        }
+        try {
+            for (ExecutorService worker : workers) {
+                if (!worker.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    log.warn("[CLIENT-SHARDED-EXECUTOR] Worker did not finish within {} seconds", SHUTDOWN_TIMEOUT_SECONDS);
+                    worker.shutdownNow();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
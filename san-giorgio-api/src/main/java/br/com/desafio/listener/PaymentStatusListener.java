@@ -1,62 +1,114 @@
 package br.com.desafio.listener;
 
+import br.com.desafio.config.ExecutionThreads;
 import br.com.desafio.domain.dto.PaymentQueueMessage;
-import br.com.desafio.util.QueueConstants;
-import io.awspring.cloud.messaging.listener.annotation.SqsListener;
+import br.com.desafio.service.ClientPaymentSummaryService;
+import br.com.desafio.service.metrics.PaymentMetrics;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.function.Consumer;
+
 import static br.com.desafio.util.QueueConstants.*;
 
+/**
+ * Handles the payment status messages of every queue.
+ * <p>
+ * Messages arrive in batches: from SQS through {@link SqsBatchMessagePoller}, which reads each message as JSON
+ * or in the binary format of {@link br.com.desafio.service.messaging.PaymentQueueMessageCodec}, as named by its
+ * {@code contentType} attribute, or from {@link br.com.desafio.service.messaging.InProcessMessageBroker} with
+ * the {@code inprocess} profile.
+ * </p>
+ * <p>
+ * Messages are handled by a {@link ClientShardedExecutor}: the messages of one client are handled in the
+ * order they are received, one at a time, and different clients are handled in parallel on
+ * {@code payment.listener.shards} workers (one per available processor by default). The workers run on
+ * virtual threads when {@link ExecutionThreads} enables them.
+ * </p>
+ * <p>
+ * The messages each worker receives from a batch are applied together to the clients' payment summaries
+ * through {@link ClientPaymentSummaryService}, which skips redelivered messages.
+ * </p>
+ */
 @Component
 @Slf4j
 public class PaymentStatusListener {
 
+    private final PaymentMetrics paymentMetrics;
+    private final ClientPaymentSummaryService clientPaymentSummaryService;
+    private final ClientShardedExecutor clientShardedExecutor;
+
+    public PaymentStatusListener(PaymentMetrics paymentMetrics, ClientPaymentSummaryService clientPaymentSummaryService,
+                                 ExecutionThreads executionThreads, @Value("${payment.listener.shards:0}") int shards) {
+        this.paymentMetrics = paymentMetrics;
+        this.clientPaymentSummaryService = clientPaymentSummaryService;
+        this.clientShardedExecutor = new ClientShardedExecutor(shards > 0 ? shards : Runtime.getRuntime().availableProcessors(),
+                executionThreads.threadFactory("payment-status-listener-"));
+    }
+
     /**
-     * Listens for messages on the Partial Payments SQS queue and processes them.
+     * Processes a batch of messages received from the Partial Payments SQS queue.
      * <p>
-     * This method is triggered whenever a message is received on the queue defined by
-     * {@link QueueConstants#PARTIAL_PAYMENTS_QUEUE}. It logs the received message and can be
-     * extended to include business logic for handling partial payments.
+     * The messages are spread over the client workers in batch order, and the whole batch is acknowledged
+     * with a single DeleteMessageBatch once all of them are handled.
      * </p>
      *
-     * @param paymentQueueMessage the PaymentQueueMessage object received from the SQS queue, representing a partial payment.
-     *                   The object is automatically deserialized from the JSON message.
+     * @param paymentQueueMessages up to ten messages received in one long poll, representing partial payments.
      */
-    @SqsListener(PARTIAL_PAYMENTS_QUEUE)
-    public void handlePartialPayment(PaymentQueueMessage paymentQueueMessage) {
-        log.info("[PAYMENT-STATUS-LISTENER] Received Partial Payment Message: {}", paymentQueueMessage);
+    public void handlePartialPayments(List<PaymentQueueMessage> paymentQueueMessages) {
+        paymentMetrics.recordListener(PARTIAL_PAYMENTS_QUEUE, PaymentMetrics.LISTENER_MODE_BATCH, () -> dispatch(paymentQueueMessages, this::processPartialPayment));
     }
 
     /**
-     * Listens for messages on the Total Payments SQS queue and processes them.
+     * Processes a batch of messages received from the Total Payments SQS queue.
      * <p>
-     * This method is triggered whenever a message is received on the queue defined by
-     * {@link QueueConstants#TOTAL_PAYMENTS_QUEUE}. It logs the received message and can be
-     * extended to include business logic for handling total payments.
+     * The messages are spread over the client workers in batch order, and the whole batch is acknowledged
+     * with a single DeleteMessageBatch once all of them are handled.
      * </p>
      *
-     * @param paymentQueueMessage the PaymentQueueMessage object received from the SQS queue, representing a total payment.
-     *                   The object is automatically deserialized from the JSON message.
+     * @param paymentQueueMessages up to ten messages received in one long poll, representing total payments.
      */
-    @SqsListener(TOTAL_PAYMENTS_QUEUE)
-    public void handleTotalPayment(PaymentQueueMessage paymentQueueMessage) {
-        log.info("[PAYMENT-STATUS-LISTENER] Received Total Payment Message: {}", paymentQueueMessage);
+    public void handleTotalPayments(List<PaymentQueueMessage> paymentQueueMessages) {
+        paymentMetrics.recordListener(TOTAL_PAYMENTS_QUEUE, PaymentMetrics.LISTENER_MODE_BATCH, () -> dispatch(paymentQueueMessages, this::processTotalPayment));
     }
 
     /**
-     * Listens for messages on the Surplus Payments SQS queue and processes them.
+     * Processes a batch of messages received from the Surplus Payments SQS queue.
      * <p>
-     * This method is triggered whenever a message is received on the queue defined by
-     * {@link QueueConstants#SURPLUS_PAYMENTS_QUEUE}. It logs the received message and can be
-     * extended to include business logic for handling excess payments.
+     * The messages are spread over the client workers in batch order, and the whole batch is acknowledged
+     * with a single DeleteMessageBatch once all of them are handled.
      * </p>
      *
-     * @param paymentQueueMessage the PaymentQueueMessage object received from the SQS queue, representing a surplus payment.
-     *                   The object is automatically deserialized from the JSON message.
+     * @param paymentQueueMessages up to ten messages received in one long poll, representing surplus payments.
      */
-    @SqsListener(SURPLUS_PAYMENTS_QUEUE)
-    public void handleSurplusPayment(PaymentQueueMessage paymentQueueMessage) {
+    public void handleSurplusPayments(List<PaymentQueueMessage> paymentQueueMessages) {
+        paymentMetrics.recordListener(SURPLUS_PAYMENTS_QUEUE, PaymentMetrics.LISTENER_MODE_BATCH, () -> dispatch(paymentQueueMessages, this::processSurplusPayment));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        clientShardedExecutor.close();
+    }
+
+    private void dispatch(List<PaymentQueueMessage> paymentQueueMessages, Consumer<PaymentQueueMessage> handler) {
+        clientShardedExecutor.executeInBatches(paymentQueueMessages, PaymentQueueMessage::clientId, shardMessages -> {
+            shardMessages.forEach(handler);
+            clientPaymentSummaryService.apply(shardMessages);
+        });
+    }
+
+    private void processPartialPayment(PaymentQueueMessage paymentQueueMessage) {
+        log.info("[PAYMENT-STATUS-LISTENER] Received Partial Payment Message: {}", paymentQueueMessage);
+    }
+
+    private void processTotalPayment(PaymentQueueMessage paymentQueueMessage) {
+        log.info("[PAYMENT-STATUS-LISTENER] Received Total Payment Message: {}", paymentQueueMessage);
+    }
+
+    private void processSurplusPayment(PaymentQueueMessage paymentQueueMessage) {
         log.info("[PAYMENT-STATUS-LISTENER] Received Surplus Payment Message: {}", paymentQueueMessage);
     }
 
@@ -0,0 +1,188 @@
+package br.com.desafio.listener;
+
+import br.com.desafio.config.ExecutionThreads;
+import br.com.desafio.config.SqsBatchListenerProperties;
+import br.com.desafio.domain.dto.PaymentQueueMessage;
+import br.com.desafio.service.messaging.InProcessMessageBroker;
+import br.com.desafio.service.messaging.PaymentQueueMessageCodec;
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.services.sqs.AmazonSQSAsync;
+import com.amazonaws.services.sqs.model.DeleteMessageBatchRequest;
+import com.amazonaws.services.sqs.model.DeleteMessageBatchRequestEntry;
+import com.amazonaws.services.sqs.model.DeleteMessageBatchResult;
+import com.amazonaws.services.sqs.model.Message;
+import com.amazonaws.services.sqs.model.MessageAttributeValue;
+import com.amazonaws.services.sqs.model.ReceiveMessageRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static br.com.desafio.util.QueueConstants.*;
+
+@Component
+@Profile("!" + InProcessMessageBroker.PROFILE)
+@Slf4j
+@ConditionalOnProperty(name = "payment.listener.batch.enabled", havingValue = "true", matchIfMissing = true)
+public class SqsBatchMessagePoller implements SmartLifecycle {
+
+    private static final long ERROR_BACKOFF_MILLIS = 1000;
+    private static final String CONTENT_TYPE_ATTRIBUTE = "contentType";
+
+    private final AmazonSQSAsync amazonSQSAsync;
+    private final ObjectMapper objectMapper;
+    private final SqsBatchListenerProperties properties;
+    private final ExecutionThreads executionThreads;
+    private final boolean fifo;
+    private final Map<String, Consumer<List<PaymentQueueMessage>>> handlers = new LinkedHashMap<>();
+
+    private volatile boolean running;
+    private ExecutorService pollers;
+
+    public SqsBatchMessagePoller(AmazonSQSAsync amazonSQSAsync, ObjectMapper objectMapper,
+                                 SqsBatchListenerProperties properties, PaymentStatusListener paymentStatusListener,
+                                 ExecutionThreads executionThreads, @Value("${payment.queues.fifo:false}") boolean fifo) {
+        this.amazonSQSAsync = amazonSQSAsync;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.executionThreads = executionThreads;
+        this.fifo = fifo;
+
+        handlers.put(PARTIAL_PAYMENTS_QUEUE, paymentStatusListener::handlePartialPayments);
+        handlers.put(TOTAL_PAYMENTS_QUEUE, paymentStatusListener::handleTotalPayments);
+        handlers.put(SURPLUS_PAYMENTS_QUEUE, paymentStatusListener::handleSurplusPayments);
+    }
+
+    @Override
+    public void start() {
+        pollers = Executors.newFixedThreadPool(handlers.size(), executionThreads.threadFactory("sqs-batch-poller-"));
+        running = true;
+
+        handlers.forEach((queueName, handler) -> pollers.execute(() -> poll(queueName, handler)));
+        log.info("[SQS-BATCH-POLLER] Started batch consumption for queues: {}", handlers.keySet());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        pollers.shutdown();
+        try {
+            int maxWaitTimeSeconds = handlers.keySet().stream()
+                    .mapToInt(queueName -> properties.forQueue(queueName).getWaitTimeSeconds())
+                    .max()
+                    .orElse(0);
+            pollers.awaitTermination(maxWaitTimeSeconds + 5L, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("[SQS-BATCH-POLLER] Stopped batch consumption");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Long-polls a queue and hands every received batch to its handler.
+     * <p>
+     * Messages are acknowledged with a single DeleteMessageBatch once the handler returns. If the
+     * handler fails nothing is deleted and the batch becomes visible again after the visibility timeout.
+     * On FIFO queues the next batch is only received once the previous one is handled, so the messages
+     * of a client reach the handler in order.
+     * </p>
+     */
+    private void poll(String queueName, Consumer<List<PaymentQueueMessage>> handler) {
+        SqsBatchListenerProperties.QueueSettings settings = properties.forQueue(queueName);
+        String queueUrl = null;
+
+        while (running) {
+            try {
+                if (queueUrl == null) {
+                    queueUrl = amazonSQSAsync.getQueueUrl(sqsQueueName(queueName, fifo)).getQueueUrl();
+                }
+
+                List<Message> messages = amazonSQSAsync.receiveMessage(new ReceiveMessageRequest(queueUrl)
+                        .withMaxNumberOfMessages(settings.getMaxMessages())
+                        .withWaitTimeSeconds(settings.getWaitTimeSeconds())
+                        .withVisibilityTimeout(settings.getVisibilityTimeoutSeconds())
+                        .withMessageAttributeNames("All"))
+                        .getMessages();
+                if (messages.isEmpty()) {
+                    continue;
+                }
+
+                List<Message> accepted = new ArrayList<>(messages.size());
+                List<PaymentQueueMessage> payloads = new ArrayList<>(messages.size());
+                for (Message message : messages) {
+                    try {
+                        payloads.add(read(message));
+                        accepted.add(message);
+                    } catch (JsonProcessingException | IllegalArgumentException e) {
+                        log.error("[SQS-BATCH-POLLER] Unreadable message {} on queue {}, leaving it for redelivery", message.getMessageId(), queueName);
+                    }
+                }
+
+                handler.accept(payloads);
+                acknowledge(queueName, queueUrl, accepted);
+
+            } catch (AmazonClientException e) {
+                log.error("[SQS-BATCH-POLLER] Error polling queue {}: {}", queueName, e.getMessage());
+                backOff();
+            } catch (RuntimeException e) {
+                log.error("[SQS-BATCH-POLLER] Error handling batch from queue {}, messages will be redelivered", queueName, e);
+                backOff();
+            }
+        }
+    }
+
+    /**
+     * Reads a message in the format named by its {@code contentType} attribute, JSON when there is none.
+     */
+    private PaymentQueueMessage read(Message message) throws JsonProcessingException {
+        MessageAttributeValue contentType = message.getMessageAttributes().get(CONTENT_TYPE_ATTRIBUTE);
+        if (contentType != null && PaymentQueueMessageCodec.CONTENT_TYPE.equals(contentType.getStringValue())) {
+            return PaymentQueueMessageCodec.decode(message.getBody());
+        }
+        return objectMapper.readValue(message.getBody(), PaymentQueueMessage.class);
+    }
+
+    private void acknowledge(String queueName, String queueUrl, List<Message> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        List<DeleteMessageBatchRequestEntry> entries = new ArrayList<>(messages.size());
+        for (int i = 0; i < messages.size(); i++) {
+            entries.add(new DeleteMessageBatchRequestEntry(String.valueOf(i), messages.get(i).getReceiptHandle()));
+        }
+
+        DeleteMessageBatchResult result = amazonSQSAsync.deleteMessageBatch(new DeleteMessageBatchRequest(queueUrl, entries));
+        if (!result.getFailed().isEmpty()) {
+            log.warn("[SQS-BATCH-POLLER] Failed to delete {} messages from queue {}, they will be redelivered: {}", result.getFailed().size(), queueName, result.getFailed());
+        }
+    }
+
+    private void backOff() {
+        try {
+            Thread.sleep(ERROR_BACKOFF_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+}
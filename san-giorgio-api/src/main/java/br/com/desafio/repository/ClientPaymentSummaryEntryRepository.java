@@ -0,0 +1,29 @@
+package br.com.desafio.repository;
+
+import br.com.desafio.domain.ClientPaymentSummaryEntry;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ClientPaymentSummaryEntryRepository extends JpaRepository<ClientPaymentSummaryEntry, UUID> {
+
+    /**
+     * Locks the summary entries of the given payments until the transaction ends, so a message delivered
+     * twice at the same time is only counted once.
+     *
+     * @param paymentIds the payment IDs
+     * @return the entries that exist
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM ClientPaymentSummaryEntry e WHERE e.paymentId IN :paymentIds")
+    List<ClientPaymentSummaryEntry> findAllForUpdate(@Param("paymentIds") Collection<UUID> paymentIds);
+
+}
@@ -0,0 +1,12 @@
+package br.com.desafio.repository;
+
+import br.com.desafio.domain.ClientPaymentSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface ClientPaymentSummaryRepository extends JpaRepository<ClientPaymentSummary, UUID>, ClientPaymentSummaryUpdateRepository {
+
+}
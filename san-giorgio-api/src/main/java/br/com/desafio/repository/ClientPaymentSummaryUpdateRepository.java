@@ -0,0 +1,33 @@
+package br.com.desafio.repository;
+
+import br.com.desafio.domain.ClientPaymentSummaryEntry;
+import br.com.desafio.domain.dto.ClientPaymentSummaryDelta;
+
+import java.util.Collection;
+
+public interface ClientPaymentSummaryUpdateRepository {
+
+    /**
+     * Adds the deltas to the clients' summaries with set-based {@code MERGE} statements, inserting the
+     * summaries of clients that do not have one yet.
+     * <p>
+     * Counters are incremented in SQL rather than read and written back, so concurrent batches for the same
+     * client do not overwrite each other.
+     * </p>
+     *
+     * @param deltas the changes to apply, at most one per client
+     */
+    void applyDeltas(Collection<ClientPaymentSummaryDelta> deltas);
+
+    /**
+     * Writes the summary entries with set-based {@code MERGE} statements, inserting the ones that do not exist.
+     * <p>
+     * An existing entry is only overwritten by one with a newer payment version, so a stale message that is
+     * redelivered, or that arrives after a newer one through another status queue, never moves a payment back.
+     * </p>
+     *
+     * @param entries the entries to write, at most one per payment
+     */
+    void mergeEntries(Collection<ClientPaymentSummaryEntry> entries);
+
+}
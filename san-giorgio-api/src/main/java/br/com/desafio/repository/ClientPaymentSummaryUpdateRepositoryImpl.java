@@ -0,0 +1,132 @@
+package br.com.desafio.repository;
+
+import br.com.desafio.domain.ClientPaymentSummaryEntry;
+import br.com.desafio.domain.Money;
+import br.com.desafio.domain.dto.ClientPaymentSummaryDelta;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+
+public class ClientPaymentSummaryUpdateRepositoryImpl implements ClientPaymentSummaryUpdateRepository {
+
+    /**
+     * Each row binds seven parameters; this keeps a statement well below the 65535 bind parameters
+     * PostgreSQL accepts.
+     */
+    static final int MAX_ROWS_PER_STATEMENT = 1000;
+
+    private static final int PARAMETERS_PER_ROW = 7;
+
+    private static final int PARAMETERS_PER_ENTRY = 5;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void applyDeltas(Collection<ClientPaymentSummaryDelta> deltas) {
+        List<ClientPaymentSummaryDelta> pending = List.copyOf(deltas);
+        LocalDateTime updatedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+        for (int start = 0; start < pending.size(); start += MAX_ROWS_PER_STATEMENT) {
+            merge(pending.subList(start, Math.min(start + MAX_ROWS_PER_STATEMENT, pending.size())), updatedAt);
+        }
+    }
+
+    @Override
+    public void mergeEntries(Collection<ClientPaymentSummaryEntry> entries) {
+        List<ClientPaymentSummaryEntry> pending = List.copyOf(entries);
+
+        for (int start = 0; start < pending.size(); start += MAX_ROWS_PER_STATEMENT) {
+            mergeEntryChunk(pending.subList(start, Math.min(start + MAX_ROWS_PER_STATEMENT, pending.size())));
+        }
+    }
+
+    /**
+     * {@code MERGE INTO client_payment_summary_entries e USING (VALUES (?, ?, ...), ...) d ON e.payment_id = d.payment_id
+     * WHEN MATCHED AND d.payment_version > e.payment_version THEN UPDATE ... WHEN NOT MATCHED THEN INSERT ...}
+     */
+    private void mergeEntryChunk(List<ClientPaymentSummaryEntry> chunk) {
+        StringBuilder sql = new StringBuilder("MERGE INTO client_payment_summary_entries e USING (VALUES ");
+        for (int i = 0; i < chunk.size(); i++) {
+            int first = PARAMETERS_PER_ENTRY * i + 1;
+            sql.append(i == 0 ? "" : ", ")
+                    .append("(CAST(?").append(first).append(" AS UUID)")
+                    .append(", CAST(?").append(first + 1).append(" AS UUID)")
+                    .append(", CAST(?").append(first + 2).append(" AS NUMERIC(8, 2))")
+                    .append(", CAST(?").append(first + 3).append(" AS VARCHAR(255))")
+                    .append(", CAST(?").append(first + 4).append(" AS BIGINT))");
+        }
+        sql.append(") AS d (payment_id, client_id, payment_value, payment_status, payment_version)")
+                .append(" ON e.payment_id = d.payment_id")
+                .append(" WHEN MATCHED AND d.payment_version > e.payment_version THEN UPDATE SET payment_value = d.payment_value,")
+                .append(" payment_status = d.payment_status,")
+                .append(" payment_version = d.payment_version")
+                .append(" WHEN NOT MATCHED THEN INSERT (payment_id, client_id, payment_value, payment_status, payment_version)")
+                .append(" VALUES (d.payment_id, d.client_id, d.payment_value, d.payment_status, d.payment_version)");
+
+        Query query = entityManager.createNativeQuery(sql.toString());
+        for (int i = 0; i < chunk.size(); i++) {
+            ClientPaymentSummaryEntry entry = chunk.get(i);
+            int first = PARAMETERS_PER_ENTRY * i + 1;
+            query.setParameter(first, entry.getPaymentId());
+            query.setParameter(first + 1, entry.getClientId());
+            query.setParameter(first + 2, entry.getPaymentValue().toBigDecimal());
+            query.setParameter(first + 3, entry.getPaymentStatus().name());
+            query.setParameter(first + 4, entry.getPaymentVersion());
+        }
+        query.executeUpdate();
+    }
+
+    /**
+     * {@code MERGE INTO client_payment_summaries s USING (VALUES (?, ?, ...), ...) d ON s.client_id = d.client_id
+     * WHEN MATCHED THEN UPDATE SET partial_count = s.partial_count + d.partial_count, ...
+     * WHEN NOT MATCHED THEN INSERT ...}
+     */
+    private void merge(List<ClientPaymentSummaryDelta> chunk, LocalDateTime updatedAt) {
+        StringBuilder sql = new StringBuilder("MERGE INTO client_payment_summaries s USING (VALUES ");
+        for (int i = 0; i < chunk.size(); i++) {
+            int first = PARAMETERS_PER_ROW * i + 2;
+            sql.append(i == 0 ? "" : ", ")
+                    .append("(CAST(?").append(first).append(" AS UUID)")
+                    .append(", CAST(?").append(first + 1).append(" AS BIGINT)")
+                    .append(", CAST(?").append(first + 2).append(" AS NUMERIC(19, 2))")
+                    .append(", CAST(?").append(first + 3).append(" AS BIGINT)")
+                    .append(", CAST(?").append(first + 4).append(" AS NUMERIC(19, 2))")
+                    .append(", CAST(?").append(first + 5).append(" AS BIGINT)")
+                    .append(", CAST(?").append(first + 6).append(" AS NUMERIC(19, 2)))");
+        }
+        sql.append(") AS d (client_id, partial_count, partial_amount, total_count, total_amount, surplus_count, surplus_amount)")
+                .append(" ON s.client_id = d.client_id")
+                .append(" WHEN MATCHED THEN UPDATE SET partial_count = s.partial_count + d.partial_count,")
+                .append(" partial_amount = s.partial_amount + d.partial_amount,")
+                .append(" total_count = s.total_count + d.total_count,")
+                .append(" total_amount = s.total_amount + d.total_amount,")
+                .append(" surplus_count = s.surplus_count + d.surplus_count,")
+                .append(" surplus_amount = s.surplus_amount + d.surplus_amount,")
+                .append(" updated_at = ?1")
+                .append(" WHEN NOT MATCHED THEN INSERT (client_id, partial_count, partial_amount, total_count, total_amount, surplus_count, surplus_amount, updated_at)")
+                .append(" VALUES (d.client_id, d.partial_count, d.partial_amount, d.total_count, d.total_amount, d.surplus_count, d.surplus_amount, ?1)");
+
+        Query query = entityManager.createNativeQuery(sql.toString());
+        query.setParameter(1, Timestamp.valueOf(updatedAt));
+        for (int i = 0; i < chunk.size(); i++) {
+            ClientPaymentSummaryDelta delta = chunk.get(i);
+            int first = PARAMETERS_PER_ROW * i + 2;
+            query.setParameter(first, delta.getClientId());
+            query.setParameter(first + 1, delta.getPartialCount());
+            query.setParameter(first + 2, Money.ofCents(delta.getPartialCents()).toBigDecimal());
+            query.setParameter(first + 3, delta.getTotalCount());
+            query.setParameter(first + 4, Money.ofCents(delta.getTotalCents()).toBigDecimal());
+            query.setParameter(first + 5, delta.getSurplusCount());
+            query.setParameter(first + 6, Money.ofCents(delta.getSurplusCents()).toBigDecimal());
+        }
+        query.executeUpdate();
+    }
+
+}
@@ -0,0 +1,46 @@
+package br.com.desafio.repository;
+
+import br.com.desafio.domain.dto.ClientPaymentDTO;
+import br.com.desafio.domain.dto.PaymentCursor;
+import br.com.desafio.domain.enumeration.PaymentStatus;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+public interface PaymentListingRepository {
+
+    /**
+     * Reads one page of a client's payments in {@code (created_at, payment_id)} order, skipping soft-deleted
+     * payments.
+     * <p>
+     * Pages are selected by keyset rather than by offset: the query starts right after the cursor in the
+     * {@code ix_payments_client_id_created_at} index, so a deep page costs the same as the first one.
+     * </p>
+     *
+     * @param clientId the client that owns the payments
+     * @param status   only payments with this status, or {@code null} for all of them
+     * @param after    the position to start after, or {@code null} for the first page
+     * @param limit    the maximum number of payments to read
+     * @return the payments of the page
+     */
+    List<ClientPaymentDTO> findPage(UUID clientId, PaymentStatus status, PaymentCursor after, int limit);
+
+    /**
+     * Reads all of a client's payments in {@code (created_at, payment_id)} order, skipping soft-deleted
+     * payments, and hands them to the consumer one at a time.
+     * <p>
+     * Rows are read through a forward-only, read-only cursor that fetches {@code fetchSize} rows per round
+     * trip, so memory use does not depend on how many payments the client has. PostgreSQL only keeps the
+     * cursor open inside a transaction, so callers must run in one.
+     * </p>
+     *
+     * @param clientId  the client that owns the payments
+     * @param status    only payments with this status, or {@code null} for all of them
+     * @param fetchSize the number of rows fetched per round trip
+     * @param consumer  receives each payment
+     * @return the number of payments read
+     */
+    long forEach(UUID clientId, PaymentStatus status, int fetchSize, Consumer<ClientPaymentDTO> consumer);
+
+}
@@ -0,0 +1,82 @@
+package br.com.desafio.repository;
+
+import br.com.desafio.domain.Money;
+import br.com.desafio.domain.dto.ClientPaymentDTO;
+import br.com.desafio.domain.dto.PaymentCursor;
+import br.com.desafio.domain.enumeration.PaymentStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+public class PaymentListingRepositoryImpl implements PaymentListingRepository {
+
+    private static final String SELECT_PAYMENTS = "SELECT payment_id, payment_value, payment_status, created_at FROM payments"
+            + " WHERE client_id = ? AND deleted_at IS NULL";
+    private static final String STATUS_FILTER = " AND payment_status = ?";
+    private static final String AFTER_CURSOR = " AND (created_at, payment_id) > (?, ?)";
+    private static final String ORDER = " ORDER BY created_at, payment_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PaymentListingRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<ClientPaymentDTO> findPage(UUID clientId, PaymentStatus status, PaymentCursor after, int limit) {
+        String sql = SELECT_PAYMENTS + (status == null ? "" : STATUS_FILTER) + (after == null ? "" : AFTER_CURSOR) + ORDER + " LIMIT ?";
+
+        List<Object> parameters = new ArrayList<>(5);
+        parameters.add(clientId);
+        if (status != null) {
+            parameters.add(status.name());
+        }
+        if (after != null) {
+            parameters.add(Timestamp.valueOf(after.createdAt()));
+            parameters.add(after.paymentId());
+        }
+        parameters.add(limit);
+
+        return jdbcTemplate.query(sql, (resultSet, rowNumber) -> toPayment(resultSet), parameters.toArray());
+    }
+
+    @Override
+    public long forEach(UUID clientId, PaymentStatus status, int fetchSize, Consumer<ClientPaymentDTO> consumer) {
+        String sql = SELECT_PAYMENTS + (status == null ? "" : STATUS_FILTER) + ORDER;
+        AtomicLong count = new AtomicLong();
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            statement.setObject(1, clientId);
+            if (status != null) {
+                statement.setString(2, status.name());
+            }
+            return statement;
+        }, resultSet -> {
+            consumer.accept(toPayment(resultSet));
+            count.incrementAndGet();
+        });
+
+        return count.get();
+    }
+
+    private static ClientPaymentDTO toPayment(ResultSet resultSet) throws SQLException {
+        String status = resultSet.getString("payment_status");
+        return new ClientPaymentDTO(
+                resultSet.getObject("payment_id", UUID.class),
+                Money.of(resultSet.getBigDecimal("payment_value")),
+                status == null ? null : PaymentStatus.valueOf(status),
+                resultSet.getObject("created_at", LocalDateTime.class));
+    }
+
+}
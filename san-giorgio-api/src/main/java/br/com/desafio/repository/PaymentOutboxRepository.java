@@ -0,0 +1,28 @@
+package br.com.desafio.repository;
+
+import br.com.desafio.domain.PaymentOutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface PaymentOutboxRepository extends JpaRepository<PaymentOutboxMessage, UUID> {
+
+    /**
+     * Locks the oldest pending outbox messages for relaying.
+     * <p>
+     * Rows already locked by another relay are skipped, so several nodes can drain the outbox
+     * at the same time without publishing the same message twice.
+     * </p>
+     *
+     * @param batchSize the maximum number of messages to lock
+     * @return the locked messages, oldest first
+     */
+    @Query(value = "SELECT * FROM payment_outbox ORDER BY created_at LIMIT :batchSize FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<PaymentOutboxMessage> lockNextBatch(@Param("batchSize") int batchSize);
+
+}
@@ -1,11 +1,46 @@
 package br.com.desafio.repository;
 
 import br.com.desafio.domain.Payment;
+import br.com.desafio.domain.dto.PaymentSnapshot;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface PaymentRepository extends JpaRepository<Payment, UUID> {
+public interface PaymentRepository extends JpaRepository<Payment, UUID>, PaymentStatusUpdateRepository, PaymentListingRepository {
+
+    /**
+     * Reads the payments of a client needed for a confirmation as projections.
+     * <p>
+     * Ownership is part of the {@code WHERE} clause and {@code client_id} is read from the payment row,
+     * so neither the {@code Client} nor the {@code Payment} entity is loaded. Payments that do not exist, are
+     * soft-deleted or belong to another client are simply absent from the result. The payments are joined
+     * through {@link br.com.desafio.domain.PaymentKey} on their creation date, so only the partition holding
+     * each payment is read.
+     * </p>
+     *
+     * @param clientId   the client that must own the payments
+     * @param paymentIds the payment IDs
+     * @return the matching payments
+     */
+    @Query("SELECT new br.com.desafio.domain.dto.PaymentSnapshot(p.paymentId, p.client.clientId, p.paymentValue, p.createdAt, p.version) "
+            + "FROM PaymentKey k JOIN Payment p ON p.paymentId = k.paymentId AND p.createdAt = k.createdAt "
+            + "WHERE k.paymentId IN :paymentIds AND p.client.clientId = :clientId AND p.deletedAt IS NULL")
+    List<PaymentSnapshot> findSnapshotsByClientId(@Param("clientId") UUID clientId, @Param("paymentIds") Collection<UUID> paymentIds);
+
+    /**
+     * Returns which of the given payment IDs exist and are not soft-deleted, whatever client they belong to.
+     *
+     * @param paymentIds the payment IDs
+     * @return the IDs that exist
+     */
+    @Query("SELECT p.paymentId FROM PaymentKey k JOIN Payment p ON p.paymentId = k.paymentId AND p.createdAt = k.createdAt "
+            + "WHERE k.paymentId IN :paymentIds AND p.deletedAt IS NULL")
+    List<UUID> findExistingIds(@Param("paymentIds") Collection<UUID> paymentIds);
+
 }
@@ -0,0 +1,27 @@
+package br.com.desafio.repository;
+
+import br.com.desafio.domain.dto.PaymentStatusUpdate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface PaymentStatusUpdateRepository {
+
+    /**
+     * Sets the status of many payments with set-based {@code UPDATE} statements instead of flushing
+     * one managed entity per payment.
+     * <p>
+     * Each row is only updated if its {@code version} still matches the one it was read with, keeping the
+     * optimistic locking of {@link br.com.desafio.domain.AbstractAuditingEntityCustom}; updated rows get a
+     * new {@code updated_at} and their {@code version} incremented. Managed {@code Payment} entities are
+     * not refreshed, so callers must not modify them afterwards in the same transaction.
+     * </p>
+     *
+     * @param updates the new statuses with the versions they were read with
+     * @return the IDs of the payments that were not updated because their version no longer matched
+     *         or they no longer exist; empty when every row was updated
+     */
+    List<UUID> updateStatuses(Collection<PaymentStatusUpdate> updates);
+
+}
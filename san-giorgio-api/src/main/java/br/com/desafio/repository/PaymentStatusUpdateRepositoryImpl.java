@@ -0,0 +1,114 @@
+package br.com.desafio.repository;
+
+import br.com.desafio.domain.dto.PaymentStatusUpdate;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+public class PaymentStatusUpdateRepositoryImpl implements PaymentStatusUpdateRepository {
+
+    /**
+     * Each row binds five parameters; this keeps a statement well below the 65535 bind parameters
+     * PostgreSQL accepts.
+     */
+    static final int MAX_ROWS_PER_STATEMENT = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<UUID> updateStatuses(Collection<PaymentStatusUpdate> updates) {
+        List<PaymentStatusUpdate> pending = List.copyOf(updates);
+        LocalDateTime updatedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        List<UUID> conflicts = new ArrayList<>();
+
+        for (int start = 0; start < pending.size(); start += MAX_ROWS_PER_STATEMENT) {
+            List<PaymentStatusUpdate> chunk = pending.subList(start, Math.min(start + MAX_ROWS_PER_STATEMENT, pending.size()));
+            int updated = update(chunk, updatedAt);
+            if (updated < chunk.size()) {
+                conflicts.addAll(findNotUpdated(chunk, updatedAt));
+            }
+        }
+
+        return conflicts;
+    }
+
+    /**
+     * {@code UPDATE payments SET payment_status = CASE payment_id WHEN ? THEN ? ... END, ...
+     * WHERE (payment_id, created_at, version) IN ((?, ?, ?), ...)}
+     * <p>
+     * The creation dates restrict the statement to the partitions holding the payments.
+     * </p>
+     */
+    private int update(List<PaymentStatusUpdate> chunk, LocalDateTime updatedAt) {
+        StringBuilder sql = new StringBuilder("UPDATE payments SET payment_status = CASE payment_id");
+        for (int i = 0; i < chunk.size(); i++) {
+            sql.append(" WHEN ?").append(2 * i + 2).append(" THEN ?").append(2 * i + 3);
+        }
+        sql.append(" END, updated_at = ?1, version = version + 1 WHERE (payment_id, created_at, version) IN (");
+
+        int firstWhereParameter = 2 * chunk.size() + 2;
+        for (int i = 0; i < chunk.size(); i++) {
+            sql.append(i == 0 ? "" : ", ")
+                    .append("(?").append(firstWhereParameter + 3 * i)
+                    .append(", ?").append(firstWhereParameter + 3 * i + 1)
+                    .append(", ?").append(firstWhereParameter + 3 * i + 2).append(')');
+        }
+        sql.append(')');
+
+        Query query = entityManager.createNativeQuery(sql.toString());
+        query.setParameter(1, Timestamp.valueOf(updatedAt));
+        for (int i = 0; i < chunk.size(); i++) {
+            PaymentStatusUpdate update = chunk.get(i);
+            query.setParameter(2 * i + 2, update.paymentId());
+            query.setParameter(2 * i + 3, update.paymentStatus().name());
+            query.setParameter(firstWhereParameter + 3 * i, update.paymentId());
+            query.setParameter(firstWhereParameter + 3 * i + 1, Timestamp.valueOf(update.createdAt()));
+            query.setParameter(firstWhereParameter + 3 * i + 2, update.version());
+        }
+        return query.executeUpdate();
+    }
+
+    /**
+     * Rows updated by this transaction are locked until it ends and carry its {@code updated_at} with the
+     * expected version plus one; every other requested row was not updated. The payment ID is read as text
+     * because drivers map a native {@code UUID} column differently (H2 returns it as bytes).
+     */
+    @SuppressWarnings("unchecked")
+    private List<UUID> findNotUpdated(List<PaymentStatusUpdate> chunk, LocalDateTime updatedAt) {
+        List<UUID> paymentIds = chunk.stream().map(PaymentStatusUpdate::paymentId).toList();
+        List<Timestamp> createdAts = chunk.stream().map(update -> Timestamp.valueOf(update.createdAt())).distinct().toList();
+        List<Object[]> rows = entityManager.createNativeQuery("SELECT CAST(payment_id AS VARCHAR), version, updated_at FROM payments "
+                        + "WHERE payment_id IN (:paymentIds) AND created_at IN (:createdAts)")
+                .setParameter("paymentIds", paymentIds)
+                .setParameter("createdAts", createdAts)
+                .getResultList();
+
+        Set<String> updatedRows = new HashSet<>();
+        for (Object[] row : rows) {
+            if (updatedAt.equals(toLocalDateTime(row[2]))) {
+                updatedRows.add(row[0] + ":" + ((Number) row[1]).longValue());
+            }
+        }
+
+        return chunk.stream()
+                .filter(update -> update.version() == null || !updatedRows.contains(update.paymentId() + ":" + (update.version() + 1)))
+                .map(PaymentStatusUpdate::paymentId)
+                .toList();
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+    }
+
+}
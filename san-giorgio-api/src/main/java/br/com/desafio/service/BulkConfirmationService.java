@@ -0,0 +1,195 @@
+package br.com.desafio.service;
+
+import br.com.desafio.domain.Money;
+import br.com.desafio.domain.dto.BulkPaymentLineDTO;
+import br.com.desafio.domain.dto.BulkPaymentResultDTO;
+import br.com.desafio.domain.dto.ClientPaymentsDTO;
+import br.com.desafio.domain.dto.PaymentDTO;
+import br.com.desafio.exception.BadRequestAlertException;
+import br.com.desafio.exception.NotFoundAlertException;
+import br.com.desafio.exception.ServiceUnavailableAlertException;
+import br.com.desafio.exception.TooManyRequestsAlertException;
+import br.com.desafio.service.admission.ConfirmationAdmissionControl;
+import br.com.desafio.service.usecase.ConfirmPaymentUseCase;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Service
+@Slf4j
+public class BulkConfirmationService {
+
+    static final String UNEXPECTED_ERROR = "Unexpected error while confirming the payments of this client";
+
+    private final ConfirmPaymentUseCase confirmPaymentUseCase;
+    private final ConfirmationAdmissionControl confirmationAdmissionControl;
+    private final ObjectReader lineReader;
+    private final ObjectMapper objectMapper;
+
+    @Value("${payment.confirmation.bulk.chunk-size}")
+    private int chunkSize;
+
+    public BulkConfirmationService(ConfirmPaymentUseCase confirmPaymentUseCase, ConfirmationAdmissionControl confirmationAdmissionControl, ObjectMapper objectMapper) {
+        this.confirmPaymentUseCase = confirmPaymentUseCase;
+        this.confirmationAdmissionControl = confirmationAdmissionControl;
+        this.objectMapper = objectMapper;
+        this.lineReader = objectMapper.readerFor(BulkPaymentLineDTO.class);
+    }
+
+    /**
+     * Confirms an NDJSON stream of payments and streams one NDJSON result per input line.
+     * <p>
+     * Lines are read and confirmed in fixed-size chunks; inside a chunk the payments are grouped by client
+     * and each group goes through {@link ConfirmPaymentUseCase#confirm} in its own transaction, admitted by
+     * {@link ConfirmationAdmissionControl} like a synchronous confirmation. Results are
+     * written and flushed after every chunk, so memory use depends on the chunk size only. A line that
+     * cannot be parsed or validated, or whose group fails to confirm for any reason, is reported with an error
+     * instead of stopping the stream; unexpected failures are reported with a generic error and logged.
+     * </p>
+     *
+     * @param input  the NDJSON request body, one {@link BulkPaymentLineDTO} per line
+     * @param output the response body, receiving one {@link BulkPaymentResultDTO} per line
+     * @throws IOException if reading the request or writing the response fails
+     */
+    public void confirm(InputStream input, OutputStream output) throws IOException {
+        long lineNumber = 0;
+        long confirmedLines = 0;
+        List<BulkPaymentResultDTO> chunk = new ArrayList<>(chunkSize);
+        List<BulkPaymentLineDTO> chunkLines = new ArrayList<>(chunkSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+             SequenceWriter writer = objectMapper.writerFor(BulkPaymentResultDTO.class)
+                     .withRootValueSeparator("\n")
+                     .writeValues(output)) {
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                BulkPaymentResultDTO result = BulkPaymentResultDTO.builder().line(lineNumber).build();
+                BulkPaymentLineDTO paymentLine = parse(line, result);
+                chunk.add(result);
+                chunkLines.add(paymentLine);
+
+                if (chunk.size() == chunkSize) {
+                    confirmedLines += confirmChunk(chunk, chunkLines, writer);
+                }
+            }
+            confirmedLines += confirmChunk(chunk, chunkLines, writer);
+            output.write('\n');
+        }
+
+        log.info("[BULK-CONFIRMATION-SERVICE] Bulk confirmation finished: {} lines read, {} payments confirmed", lineNumber, confirmedLines);
+    }
+
+    private BulkPaymentLineDTO parse(String line, BulkPaymentResultDTO result) {
+        try {
+            BulkPaymentLineDTO paymentLine = lineReader.readValue(line);
+            result.setClientId(paymentLine.getClientId());
+            result.setPaymentId(paymentLine.getPaymentId());
+
+            String error = validate(paymentLine);
+            if (error != null) {
+                result.setError(error);
+                return null;
+            }
+            return paymentLine;
+
+        } catch (JsonProcessingException e) {
+            result.setError("Malformed line: " + e.getOriginalMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Applies the same rules as the {@link ClientPaymentsDTO} request body to a single line.
+     *
+     * @return the validation error, or {@code null} if the line is valid
+     */
+    private String validate(BulkPaymentLineDTO paymentLine) {
+        if (paymentLine.getClientId() == null) {
+            return "Client ID cannot be null";
+        }
+        if (paymentLine.getPaymentId() == null) {
+            return "Payment ID is required";
+        }
+        Money paymentValue = paymentLine.getPaymentValue();
+        if (paymentValue == null) {
+            return "Payment value is required";
+        }
+        if (paymentValue.signum() <= 0) {
+            return "Payment value must be positive";
+        }
+        if (paymentValue.isGreaterThan(PaymentService.MAX_PAYMENT_VALUE)) {
+            return "Payment value must have up to 6 digits and 2 decimal places";
+        }
+        return null;
+    }
+
+    private long confirmChunk(List<BulkPaymentResultDTO> chunk, List<BulkPaymentLineDTO> chunkLines, SequenceWriter writer) throws IOException {
+        Map<UUID, List<Integer>> linesByClient = new LinkedHashMap<>();
+        for (int i = 0; i < chunkLines.size(); i++) {
+            if (chunkLines.get(i) != null) {
+                linesByClient.computeIfAbsent(chunkLines.get(i).getClientId(), clientId -> new ArrayList<>()).add(i);
+            }
+        }
+
+        long confirmed = 0;
+        for (Map.Entry<UUID, List<Integer>> group : linesByClient.entrySet()) {
+            confirmed += confirmGroup(group.getKey(), group.getValue(), chunk, chunkLines);
+        }
+
+        for (BulkPaymentResultDTO result : chunk) {
+            writer.write(result);
+        }
+        writer.flush();
+
+        chunk.clear();
+        chunkLines.clear();
+        return confirmed;
+    }
+
+    private int confirmGroup(UUID clientId, List<Integer> indexes, List<BulkPaymentResultDTO> chunk, List<BulkPaymentLineDTO> chunkLines) {
+        List<PaymentDTO> payments = indexes.stream()
+                .map(chunkLines::get)
+                .map(paymentLine -> new PaymentDTO(paymentLine.getPaymentId(), paymentLine.getPaymentValue(), null))
+                .toList();
+
+        try {
+            List<PaymentDTO> confirmed = confirmationAdmissionControl.admit(() -> confirmPaymentUseCase.confirm(new ClientPaymentsDTO(clientId, payments))).getPayments();
+            for (int i = 0; i < indexes.size(); i++) {
+                chunk.get(indexes.get(i)).setPaymentStatus(confirmed.get(i).getPaymentStatus());
+            }
+            return indexes.size();
+
+        } catch (NotFoundAlertException | BadRequestAlertException | TooManyRequestsAlertException | ServiceUnavailableAlertException e) {
+            indexes.forEach(index -> chunk.get(index).setError(e.getMessage()));
+            return 0;
+
+        } catch (RuntimeException e) {
+            log.error("[BULK-CONFIRMATION-SERVICE] Failed to confirm {} payments of client {}", indexes.size(), clientId, e);
+            indexes.forEach(index -> chunk.get(index).setError(UNEXPECTED_ERROR));
+            return 0;
+        }
+    }
+
+}
@@ -0,0 +1,34 @@
+package br.com.desafio.service;
+
+import br.com.desafio.domain.Client;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that drops the cached existence of a client whenever it is created, updated or
+ * (soft-)deleted, whichever code path writes it.
+ * <p>
+ * Hibernate obtains the listener from the Spring context. {@link ClientService} is looked up on use, since it
+ * depends on the repositories that are built with the entity manager factory this listener is part of.
+ * </p>
+ */
+@Component
+public class ClientCacheEvictionListener {
+
+    private final ObjectProvider<ClientService> clientService;
+
+    public ClientCacheEvictionListener(ObjectProvider<ClientService> clientService) {
+        this.clientService = clientService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void evict(Client client) {
+        clientService.getObject().evictAfterCommit(client.getClientId());
+    }
+
+}
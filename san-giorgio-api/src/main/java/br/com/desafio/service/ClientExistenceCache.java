@@ -0,0 +1,83 @@
+package br.com.desafio.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * In-memory cache of client existence checks.
+ * <p>
+ * The cache is local to each node and is not shared or invalidated across instances; a change made
+ * elsewhere is seen here once the entry expires.
+ * </p>
+ */
+@Component
+@Slf4j
+public class ClientExistenceCache {
+
+    private final Cache<UUID, Boolean> foundClients;
+    private final Cache<UUID, Boolean> notFoundClients;
+
+    public ClientExistenceCache(@Value("${payment.client-cache.maximum-size}") long maximumSize,
+                                @Value("${payment.client-cache.ttl}") Duration ttl,
+                                @Value("${payment.client-cache.not-found-ttl}") Duration notFoundTtl,
+                                MeterRegistry meterRegistry) {
+        this.foundClients = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.notFoundClients = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(notFoundTtl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, foundClients, "client.existence.found");
+        CaffeineCacheMetrics.monitor(meterRegistry, notFoundClients, "client.existence.not-found");
+    }
+
+    /**
+     * Checks whether a client exists, answering from the cache when possible.
+     * <p>
+     * Existing clients are kept for the configured TTL and missing clients for a shorter one, so repeated
+     * requests for unknown clients do not reach the database either.
+     * </p>
+     *
+     * @param clientId the UUID of the client to verify
+     * @param loader   the database check used on a cache miss
+     * @return {@code true} if the client exists
+     */
+    public boolean exists(UUID clientId, Predicate<UUID> loader) {
+        if (foundClients.getIfPresent(clientId) != null) {
+            return true;
+        }
+        if (notFoundClients.getIfPresent(clientId) != null) {
+            return false;
+        }
+
+        boolean exists = loader.test(clientId);
+        (exists ? foundClients : notFoundClients).put(clientId, Boolean.TRUE);
+        return exists;
+    }
+
+    /**
+     * Removes a client from both caches, e.g. after it is created or soft-deleted.
+     *
+     * @param clientId the UUID of the client
+     */
+    public void invalidate(UUID clientId) {
+        foundClients.invalidate(clientId);
+        notFoundClients.invalidate(clientId);
+        log.debug("[CLIENT-EXISTENCE-CACHE] Invalidated client ID: {}", clientId);
+    }
+
+}
@@ -0,0 +1,110 @@
+package br.com.desafio.service;
+
+import br.com.desafio.domain.ClientPaymentSummaryEntry;
+import br.com.desafio.domain.dto.ClientPaymentSummaryDTO;
+import br.com.desafio.domain.dto.ClientPaymentSummaryDelta;
+import br.com.desafio.domain.dto.PaymentQueueMessage;
+import br.com.desafio.exception.NotFoundAlertException;
+import br.com.desafio.repository.ClientPaymentSummaryEntryRepository;
+import br.com.desafio.repository.ClientPaymentSummaryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ClientPaymentSummaryService {
+
+    private final ClientPaymentSummaryRepository clientPaymentSummaryRepository;
+    private final ClientPaymentSummaryEntryRepository clientPaymentSummaryEntryRepository;
+    private final ClientService clientService;
+
+    /**
+     * Applies a batch of handled payment messages to the clients' payment summaries.
+     * <p>
+     * The summary entries of the batch's payments are locked and compared with the messages, in order: a
+     * message whose payment version is not newer than the one its payment is counted with is a redelivery, or
+     * arrived after a newer message through another status queue, and is skipped; a payment confirmed again
+     * is moved from its old counter to the new one. The entries are written with a {@code MERGE} that keeps
+     * the same version check, and the resulting changes are added to the summaries with one upsert per client
+     * in the same transaction, so a failed batch can be redelivered as a whole. Two first deliveries of the
+     * same payment at the same time conflict on the entry's primary key: the batch that loses fails and is
+     * delivered again, by SQS after its visibility timeout or by the in-process broker's retries.
+     * </p>
+     *
+     * @param paymentQueueMessages the messages, in the order they were received
+     */
+    @Transactional
+    public void apply(List<PaymentQueueMessage> paymentQueueMessages) {
+        Map<UUID, ClientPaymentSummaryEntry> entries = clientPaymentSummaryEntryRepository.findAllForUpdate(paymentQueueMessages.stream()
+                        .map(PaymentQueueMessage::paymentId)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(ClientPaymentSummaryEntry::getPaymentId, Function.identity()));
+
+        Map<UUID, ClientPaymentSummaryEntry> changedEntries = new LinkedHashMap<>();
+        Map<UUID, ClientPaymentSummaryDelta> deltas = new LinkedHashMap<>();
+        for (PaymentQueueMessage message : paymentQueueMessages) {
+            ClientPaymentSummaryEntry entry = entries.get(message.paymentId());
+            if (entry != null && message.paymentVersion() <= entry.getPaymentVersion()) {
+                continue;
+            }
+
+            if (entry == null) {
+                entry = ClientPaymentSummaryEntry.builder()
+                        .paymentId(message.paymentId())
+                        .clientId(message.clientId())
+                        .build();
+                entries.put(message.paymentId(), entry);
+            } else {
+                deltas.computeIfAbsent(entry.getClientId(), ClientPaymentSummaryDelta::new).remove(entry.getPaymentStatus(), entry.getPaymentValue());
+            }
+            deltas.computeIfAbsent(entry.getClientId(), ClientPaymentSummaryDelta::new).add(message.paymentStatus(), message.paymentValue());
+
+            entry.setPaymentStatus(message.paymentStatus());
+            entry.setPaymentValue(message.paymentValue());
+            entry.setPaymentVersion(message.paymentVersion());
+            changedEntries.put(entry.getPaymentId(), entry);
+        }
+
+        if (changedEntries.isEmpty()) {
+            log.info("[CLIENT-PAYMENT-SUMMARY-SERVICE] Skipped {} payment messages already applied or stale", paymentQueueMessages.size());
+            return;
+        }
+
+        clientPaymentSummaryRepository.mergeEntries(changedEntries.values());
+        clientPaymentSummaryRepository.applyDeltas(deltas.values().stream()
+                .filter(delta -> !delta.isEmpty())
+                .toList());
+        log.debug("[CLIENT-PAYMENT-SUMMARY-SERVICE] Applied {} payment messages to the summaries of {} clients", changedEntries.size(), deltas.size());
+    }
+
+    /**
+     * Retrieves the payment summary of a client.
+     * <p>
+     * Clients without a summary yet get one with every counter at zero.
+     * </p>
+     *
+     * @param clientId the client ID
+     * @return the client's payment summary
+     * @throws NotFoundAlertException if the client does not exist
+     */
+    @Transactional(readOnly = true)
+    public ClientPaymentSummaryDTO getByClientId(UUID clientId) {
+        return clientPaymentSummaryRepository.findById(clientId)
+                .map(ClientPaymentSummaryDTO::of)
+                .orElseGet(() -> {
+                    clientService.ensureExistsById(clientId);
+                    return ClientPaymentSummaryDTO.empty(clientId);
+                });
+    }
+
+}
@@ -5,6 +5,9 @@ import br.com.desafio.repository.ClientRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.UUID;
 
@@ -14,18 +17,50 @@ import java.util.UUID;
 public class ClientService {
 
     private final ClientRepository clientRepository;
+    private final ClientExistenceCache clientExistenceCache;
 
     /**
      * Ensures that a client exists in the repository by its ID.
+     * <p>
+     * The answer is served from {@link ClientExistenceCache} when available, so only cache misses
+     * reach the database. Misses outside a read-write transaction are answered by the read replica when one
+     * is configured.
+     * </p>
      *
      * @param cliendId the UUID of the client to verify
      * @throws NotFoundAlertException if the client does not exist
      */
+    @Transactional(readOnly = true)
     public void ensureExistsById(UUID cliendId) {
-        if (!clientRepository.existsById(cliendId)) {
+        if (!clientExistenceCache.exists(cliendId, clientRepository::existsById)) {
             log.error("[CLIENT-SERVICE] Client not found with ID: {}", cliendId);
             throw new NotFoundAlertException("Client not found with ID: " + cliendId);
         }
     }
 
+    /**
+     * Drops the cached existence of a client; {@link ClientCacheEvictionListener} calls it whenever a client is
+     * created, updated or (soft-)deleted.
+     * <p>
+     * The entry is dropped right away and again after the current transaction commits, so a lookup that
+     * raced with the transaction cannot keep a stale answer. The cache is local to each node: other
+     * instances keep their answer until it expires, after {@code payment.client-cache.ttl} for existing
+     * clients and {@code payment.client-cache.not-found-ttl} for missing ones.
+     * </p>
+     *
+     * @param clientId the UUID of the client whose state changed
+     */
+    public void evictAfterCommit(UUID clientId) {
+        clientExistenceCache.invalidate(clientId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    clientExistenceCache.invalidate(clientId);
+                }
+            });
+        }
+    }
+
 }
@@ -0,0 +1,133 @@
+package br.com.desafio.service;
+
+import br.com.desafio.config.AsyncConfirmationConfig;
+import br.com.desafio.domain.dto.ClientPaymentsDTO;
+import br.com.desafio.domain.dto.ConfirmationJobDTO;
+import br.com.desafio.domain.enumeration.ConfirmationJobStatus;
+import br.com.desafio.exception.NotFoundAlertException;
+import br.com.desafio.exception.ServiceUnavailableAlertException;
+import br.com.desafio.service.admission.ConfirmationAdmissionControl;
+import br.com.desafio.service.usecase.ConfirmPaymentUseCase;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs asynchronous confirmations and keeps their jobs for polling.
+ * <p>
+ * Jobs are kept in memory on the instance that accepted them: they are not shared with other instances and
+ * are lost on restart, so polling a job on another instance or after a restart is answered with 404.
+ * </p>
+ */
+@Service
+@Slf4j
+public class ConfirmationJobService {
+
+    private static final long RETRY_AFTER_SECONDS = 5;
+
+    private final ConfirmPaymentUseCase confirmPaymentUseCase;
+    private final TaskExecutor confirmationExecutor;
+    private final ConfirmationAdmissionControl confirmationAdmissionControl;
+    private final Map<UUID, ConfirmationJobDTO> jobs = new ConcurrentHashMap<>();
+
+    @Value("${payment.confirmation.async.job-ttl}")
+    private Duration jobTtl;
+
+    public ConfirmationJobService(ConfirmPaymentUseCase confirmPaymentUseCase,
+                                  @Qualifier(AsyncConfirmationConfig.CONFIRMATION_EXECUTOR) TaskExecutor confirmationExecutor,
+                                  ConfirmationAdmissionControl confirmationAdmissionControl) {
+        this.confirmPaymentUseCase = confirmPaymentUseCase;
+        this.confirmationExecutor = confirmationExecutor;
+        this.confirmationAdmissionControl = confirmationAdmissionControl;
+    }
+
+    /**
+     * Registers a confirmation job and runs it on the bounded confirmation executor.
+     * <p>
+     * The job is admitted by {@link ConfirmationAdmissionControl} like a synchronous confirmation when it
+     * starts running; a job that is not admitted fails with the reason, so the client can submit it again.
+     * </p>
+     *
+     * @param clientPaymentsDTO the client and payments data to be confirmed
+     * @return the registered job, in {@link ConfirmationJobStatus#PENDING} status
+     * @throws ServiceUnavailableAlertException if the executor cannot accept more jobs
+     */
+    public ConfirmationJobDTO submit(ClientPaymentsDTO clientPaymentsDTO) {
+        ConfirmationJobDTO job = ConfirmationJobDTO.builder()
+                .jobId(UUID.randomUUID())
+                .clientId(clientPaymentsDTO.getClientId())
+                .status(ConfirmationJobStatus.PENDING)
+                .createdAt(LocalDateTime.now())
+                .build();
+        jobs.put(job.getJobId(), job);
+
+        try {
+            confirmationExecutor.execute(() -> run(job.getJobId(), clientPaymentsDTO));
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.getJobId());
+            log.warn("[CONFIRMATION-JOB-SERVICE] Rejected confirmation job for Client ID: {}, executor is saturated", clientPaymentsDTO.getClientId());
+            throw new ServiceUnavailableAlertException("Too many confirmations in progress, try again later", RETRY_AFTER_SECONDS);
+        }
+
+        log.info("[CONFIRMATION-JOB-SERVICE] Submitted confirmation job {} for Client ID: {}", job.getJobId(), clientPaymentsDTO.getClientId());
+        return job;
+    }
+
+    /**
+     * Retrieves a confirmation job by its ID.
+     *
+     * @param jobId the job ID
+     * @return the current state of the job, including the payment results once it completes
+     * @throws NotFoundAlertException if the job does not exist or has already expired
+     */
+    public ConfirmationJobDTO getById(UUID jobId) {
+        return Optional.ofNullable(jobs.get(jobId))
+                .orElseThrow(() -> {
+                    log.error("[CONFIRMATION-JOB-SERVICE] Confirmation job not found for ID: {}", jobId);
+                    return new NotFoundAlertException("Confirmation job not found for ID: " + jobId);
+                });
+    }
+
+    /**
+     * Removes finished jobs older than the configured time-to-live.
+     */
+    @Scheduled(fixedDelayString = "${payment.confirmation.async.cleanup-interval}")
+    public void evictExpiredJobs() {
+        LocalDateTime expiration = LocalDateTime.now().minus(jobTtl);
+        jobs.values().removeIf(job -> job.getCompletedAt() != null && job.getCompletedAt().isBefore(expiration));
+    }
+
+    private void run(UUID jobId, ClientPaymentsDTO clientPaymentsDTO) {
+        jobs.computeIfPresent(jobId, (id, job) -> job.toBuilder().status(ConfirmationJobStatus.RUNNING).build());
+
+        try {
+            ClientPaymentsDTO result = confirmationAdmissionControl.admit(() -> confirmPaymentUseCase.confirm(clientPaymentsDTO));
+            jobs.computeIfPresent(jobId, (id, job) -> job.toBuilder()
+                    .status(ConfirmationJobStatus.COMPLETED)
+                    .payments(result.getPayments())
+                    .completedAt(LocalDateTime.now())
+                    .build());
+            log.info("[CONFIRMATION-JOB-SERVICE] Confirmation job {} completed", jobId);
+
+        } catch (RuntimeException e) {
+            jobs.computeIfPresent(jobId, (id, job) -> job.toBuilder()
+                    .status(ConfirmationJobStatus.FAILED)
+                    .error(e.getMessage())
+                    .completedAt(LocalDateTime.now())
+                    .build());
+            log.error("[CONFIRMATION-JOB-SERVICE] Confirmation job {} failed: {}", jobId, e.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,251 @@
+package br.com.desafio.service;
+
+import br.com.desafio.domain.IdempotencyRecord;
+import br.com.desafio.domain.dto.ClientPaymentsDTO;
+import br.com.desafio.domain.dto.PaymentDTO;
+import br.com.desafio.domain.enumeration.PaymentStatus;
+import br.com.desafio.exception.BadRequestAlertException;
+import br.com.desafio.exception.ServiceUnavailableAlertException;
+import br.com.desafio.repository.IdempotencyRecordRepository;
+import br.com.desafio.service.metrics.PaymentMetrics;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Answers confirmation requests carrying an {@code Idempotency-Key} header at most once per key.
+ * <p>
+ * The payment statuses of finished requests are kept in the {@code idempotency_keys} table, fronted by a bounded
+ * in-memory cache, and a replay returns its own (identical) request body with those statuses.
+ * The response is stored in the same transaction as the confirmation it describes, so when two nodes race
+ * on the same key the loser's payment updates and outbox messages roll back and it answers with the
+ * winner's response. On a single node, concurrent requests with the same key wait for the first one.
+ * </p>
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    public static final int MAX_KEY_LENGTH = 255;
+
+    static final String OUTCOME_EXECUTED = "executed";
+    static final String OUTCOME_CACHE = "cache";
+    static final String OUTCOME_STORE = "store";
+    static final String OUTCOME_WAITED = "waited";
+
+    private static final long RETRY_AFTER_SECONDS = 1;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final PaymentMetrics paymentMetrics;
+    private final Duration ttl;
+    private final Duration waitTimeout;
+    private final Cache<String, StoredResponse> responses;
+    private final Map<String, CompletableFuture<StoredResponse>> inFlightRequests = new ConcurrentHashMap<>();
+
+    public IdempotencyService(IdempotencyRecordRepository idempotencyRecordRepository,
+                              TransactionTemplate transactionTemplate,
+                              ObjectMapper objectMapper,
+                              PaymentMetrics paymentMetrics,
+                              MeterRegistry meterRegistry,
+                              @Value("${payment.idempotency.maximum-size}") long maximumSize,
+                              @Value("${payment.idempotency.ttl}") Duration ttl,
+                              @Value("${payment.idempotency.wait-timeout}") Duration waitTimeout) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.paymentMetrics = paymentMetrics;
+        this.ttl = ttl;
+        this.waitTimeout = waitTimeout;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "payment.idempotency.responses");
+    }
+
+    /**
+     * Runs a confirmation once per idempotency key and replays its response afterwards.
+     *
+     * @param idempotencyKey    the value of the {@code Idempotency-Key} header
+     * @param clientPaymentsDTO the request body, fingerprinted to detect a key reused for another request
+     * @param confirmation      the confirmation to run when the key has not been seen
+     * @return the response of the first request with this key
+     * @throws BadRequestAlertException         if the key is invalid or was used with a different request body
+     * @throws ServiceUnavailableAlertException if the first request with this key does not finish in time
+     */
+    public ClientPaymentsDTO execute(String idempotencyKey, ClientPaymentsDTO clientPaymentsDTO, Supplier<ClientPaymentsDTO> confirmation) {
+        validateKey(idempotencyKey);
+        String requestHash = hash(clientPaymentsDTO);
+
+        StoredResponse cached = responses.getIfPresent(idempotencyKey);
+        if (cached != null) {
+            return replay(idempotencyKey, clientPaymentsDTO, requestHash, cached, OUTCOME_CACHE);
+        }
+
+        CompletableFuture<StoredResponse> inFlight = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> first = inFlightRequests.putIfAbsent(idempotencyKey, inFlight);
+        if (first != null) {
+            return replay(idempotencyKey, clientPaymentsDTO, requestHash, await(idempotencyKey, first), OUTCOME_WAITED);
+        }
+
+        try {
+            Optional<StoredResponse> stored = findStored(idempotencyKey);
+            StoredResponse response = stored.orElseGet(() -> store(idempotencyKey, requestHash, confirmation));
+            responses.put(idempotencyKey, response);
+            inFlight.complete(response);
+
+            if (stored.isPresent()) {
+                return replay(idempotencyKey, clientPaymentsDTO, requestHash, response, OUTCOME_STORE);
+            }
+            paymentMetrics.incrementIdempotency(OUTCOME_EXECUTED);
+            return response.applyTo(clientPaymentsDTO);
+
+        } catch (RuntimeException e) {
+            inFlight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightRequests.remove(idempotencyKey, inFlight);
+        }
+    }
+
+    /**
+     * Deletes stored responses older than the configured time-to-live.
+     */
+    @Scheduled(fixedDelayString = "${payment.idempotency.cleanup-interval}")
+    public void deleteExpiredRecords() {
+        int deleted = transactionTemplate.execute(status -> idempotencyRecordRepository.deleteExpired(LocalDateTime.now()));
+        if (deleted > 0) {
+            log.info("[IDEMPOTENCY-SERVICE] Deleted {} expired idempotency records", deleted);
+        }
+    }
+
+    private Optional<StoredResponse> findStored(String idempotencyKey) {
+        Optional<IdempotencyRecord> stored = idempotencyRecordRepository.findById(idempotencyKey);
+        if (stored.isPresent() && stored.get().getExpiresAt().isBefore(LocalDateTime.now())) {
+            idempotencyRecordRepository.delete(stored.get());
+            return Optional.empty();
+        }
+        return stored.map(StoredResponse::of);
+    }
+
+    private StoredResponse store(String idempotencyKey, String requestHash, Supplier<ClientPaymentsDTO> confirmation) {
+        try {
+            return transactionTemplate.execute(status -> {
+                StoredResponse response = StoredResponse.of(requestHash, confirmation.get());
+                idempotencyRecordRepository.saveAndFlush(IdempotencyRecord.builder()
+                        .idempotencyKey(idempotencyKey)
+                        .requestHash(requestHash)
+                        .paymentStatuses(response.joinedStatuses())
+                        .expiresAt(LocalDateTime.now().plus(ttl))
+                        .build());
+                return response;
+            });
+
+        } catch (DataIntegrityViolationException e) {
+            log.warn("[IDEMPOTENCY-SERVICE] Idempotency-Key {} was completed concurrently by another request, replaying its response", idempotencyKey);
+            return idempotencyRecordRepository.findById(idempotencyKey)
+                    .map(StoredResponse::of)
+                    .orElseThrow(() -> e);
+        }
+    }
+
+    private StoredResponse await(String idempotencyKey, CompletableFuture<StoredResponse> first) {
+        try {
+            return first.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            log.warn("[IDEMPOTENCY-SERVICE] Request with Idempotency-Key {} is still in progress", idempotencyKey);
+            throw new ServiceUnavailableAlertException("A request with Idempotency-Key " + idempotencyKey + " is still in progress", RETRY_AFTER_SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableAlertException("Interrupted while waiting for Idempotency-Key " + idempotencyKey, RETRY_AFTER_SECONDS);
+        }
+    }
+
+    private ClientPaymentsDTO replay(String idempotencyKey, ClientPaymentsDTO clientPaymentsDTO, String requestHash, StoredResponse response, String outcome) {
+        if (!response.requestHash().equals(requestHash)) {
+            log.error("[IDEMPOTENCY-SERVICE] Idempotency-Key {} was reused with a different request", idempotencyKey);
+            throw new BadRequestAlertException("Idempotency-Key " + idempotencyKey + " was already used with a different request");
+        }
+
+        log.info("[IDEMPOTENCY-SERVICE] Replaying response for Idempotency-Key {} from {}", idempotencyKey, outcome);
+        paymentMetrics.incrementIdempotency(outcome);
+        return response.applyTo(clientPaymentsDTO);
+    }
+
+    private void validateKey(String idempotencyKey) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestAlertException("Idempotency-Key must have between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+    }
+
+    private String hash(ClientPaymentsDTO clientPaymentsDTO) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(clientPaymentsDTO));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not fingerprint the confirmation request", e);
+        }
+    }
+
+    private record StoredResponse(String requestHash, List<PaymentStatus> paymentStatuses) {
+
+        static StoredResponse of(String requestHash, ClientPaymentsDTO response) {
+            return new StoredResponse(requestHash, response.getPayments().stream().map(PaymentDTO::getPaymentStatus).toList());
+        }
+
+        static StoredResponse of(IdempotencyRecord idempotencyRecord) {
+            List<PaymentStatus> paymentStatuses = Arrays.stream(idempotencyRecord.getPaymentStatuses().split(","))
+                    .map(PaymentStatus::valueOf)
+                    .toList();
+            return new StoredResponse(idempotencyRecord.getRequestHash(), paymentStatuses);
+        }
+
+        String joinedStatuses() {
+            return String.join(",", paymentStatuses.stream().map(PaymentStatus::name).toList());
+        }
+
+        ClientPaymentsDTO applyTo(ClientPaymentsDTO request) {
+            for (int i = 0; i < paymentStatuses.size(); i++) {
+                request.getPayments().get(i).setPaymentStatus(paymentStatuses.get(i));
+            }
+            return request;
+        }
+
+    }
+
+}
@@ -0,0 +1,119 @@
+package br.com.desafio.service;
+
+import br.com.desafio.domain.dto.ClientPaymentDTO;
+import br.com.desafio.domain.dto.ClientPaymentPageDTO;
+import br.com.desafio.domain.dto.PaymentCursor;
+import br.com.desafio.domain.enumeration.PaymentStatus;
+import br.com.desafio.exception.BadRequestAlertException;
+import br.com.desafio.exception.NotFoundAlertException;
+import br.com.desafio.repository.PaymentRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@Slf4j
+public class PaymentListingService {
+
+    private final PaymentRepository paymentRepository;
+    private final ClientService clientService;
+    private final ObjectMapper objectMapper;
+    private final int maxLimit;
+    private final int exportFetchSize;
+
+    public PaymentListingService(PaymentRepository paymentRepository,
+                                 ClientService clientService,
+                                 ObjectMapper objectMapper,
+                                 @Value("${payment.listing.max-limit}") int maxLimit,
+                                 @Value("${payment.listing.export-fetch-size}") int exportFetchSize) {
+        this.paymentRepository = paymentRepository;
+        this.clientService = clientService;
+        this.objectMapper = objectMapper;
+        this.maxLimit = maxLimit;
+        this.exportFetchSize = exportFetchSize;
+    }
+
+    /**
+     * Retrieves one page of a client's payments, oldest first, skipping soft-deleted payments.
+     * <p>
+     * One payment more than the limit is read to tell whether another page follows; if it does, the page
+     * carries the cursor of its last payment.
+     * </p>
+     *
+     * @param clientId the client ID
+     * @param status   only payments with this status, or {@code null} for all of them
+     * @param cursor   the {@code next_cursor} of the previous page, or {@code null} for the first page
+     * @param limit    the maximum number of payments in the page
+     * @return the page of payments
+     * @throws BadRequestAlertException if the limit is out of range or the cursor is invalid
+     * @throws NotFoundAlertException   if the client does not exist
+     */
+    @Transactional(readOnly = true)
+    public ClientPaymentPageDTO getPage(UUID clientId, PaymentStatus status, String cursor, int limit) {
+        if (limit < 1 || limit > maxLimit) {
+            throw new BadRequestAlertException("Limit must be between 1 and " + maxLimit);
+        }
+        PaymentCursor after = cursor == null || cursor.isBlank() ? null : PaymentCursor.decode(cursor);
+        clientService.ensureExistsById(clientId);
+
+        List<ClientPaymentDTO> payments = paymentRepository.findPage(clientId, status, after, limit + 1);
+        boolean hasNext = payments.size() > limit;
+        if (hasNext) {
+            payments = payments.subList(0, limit);
+        }
+
+        return ClientPaymentPageDTO.builder()
+                .clientId(clientId)
+                .payments(payments)
+                .nextCursor(hasNext ? PaymentCursor.after(payments.get(limit - 1)).encode() : null)
+                .build();
+    }
+
+    /**
+     * Streams all of a client's payments as NDJSON, oldest first, skipping soft-deleted payments.
+     * <p>
+     * Payments are written as they are read from the database cursor, so memory use does not depend on how
+     * many payments the client has. The transaction keeps the cursor open until the last payment is written.
+     * </p>
+     *
+     * @param clientId the client ID
+     * @param status   only payments with this status, or {@code null} for all of them
+     * @param output   the response body, receiving one {@link ClientPaymentDTO} per line
+     * @throws NotFoundAlertException if the client does not exist
+     * @throws IOException            if writing the response fails
+     */
+    @Transactional(readOnly = true)
+    public void export(UUID clientId, PaymentStatus status, OutputStream output) throws IOException {
+        clientService.ensureExistsById(clientId);
+
+        long exported;
+        try (SequenceWriter writer = objectMapper.writerFor(ClientPaymentDTO.class)
+                .withRootValueSeparator("\n")
+                .writeValues(output)) {
+
+            exported = paymentRepository.forEach(clientId, status, exportFetchSize, payment -> {
+                try {
+                    writer.write(payment);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            output.write('\n');
+
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        log.info("[PAYMENT-LISTING-SERVICE] Exported {} payments of client {}", exported, clientId);
+    }
+
+}
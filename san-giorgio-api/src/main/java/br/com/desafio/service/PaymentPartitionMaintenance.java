@@ -0,0 +1,56 @@
+package br.com.desafio.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Keeps the monthly partitions of the {@code payments} table in place.
+ * <p>
+ * Runs at startup and then periodically: it creates the partitions for the coming months ahead of time, so
+ * inserts never find a missing partition, and detaches the partitions older than the retention period, so
+ * lookups only probe the indexes of recent months. Both steps are done by the functions created in the
+ * {@code V2} migration.
+ * </p>
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "payment.partitions.maintenance.enabled", havingValue = "true", matchIfMissing = true)
+public class PaymentPartitionMaintenance {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+    private final int retentionMonths;
+
+    public PaymentPartitionMaintenance(JdbcTemplate jdbcTemplate,
+                                       @Value("${payment.partitions.months-ahead}") int monthsAhead,
+                                       @Value("${payment.partitions.retention-months}") int retentionMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+
+    @Scheduled(fixedDelayString = "${payment.partitions.maintenance.fixed-delay}")
+    public void maintainPartitions() {
+        try {
+            Integer created = jdbcTemplate.queryForObject("SELECT create_payment_partitions(?)", Integer.class, monthsAhead);
+            if (created != null && created > 0) {
+                log.info("[PAYMENT-PARTITIONS] Created {} payment partitions", created);
+            }
+
+            List<String> detached = jdbcTemplate.queryForList("SELECT detach_payment_partitions(?)", String.class, retentionMonths);
+            if (!detached.isEmpty()) {
+                log.info("[PAYMENT-PARTITIONS] Detached payment partitions older than {} months: {}", retentionMonths, detached);
+            }
+
+        } catch (RuntimeException e) {
+            log.error("[PAYMENT-PARTITIONS] Failed to maintain payment partitions, will retry on next run", e);
+        }
+    }
+
+}
@@ -1,121 +1,216 @@
 package br.com.desafio.service;
 
-import br.com.desafio.domain.Payment;
+import br.com.desafio.domain.Money;
 import br.com.desafio.domain.dto.ClientPaymentsDTO;
 import br.com.desafio.domain.dto.PaymentDTO;
 import br.com.desafio.domain.dto.PaymentQueueMessage;
+import br.com.desafio.domain.dto.PaymentSnapshot;
+import br.com.desafio.domain.dto.PaymentStatusUpdate;
 import br.com.desafio.domain.enumeration.PaymentStatus;
 import br.com.desafio.exception.BadRequestAlertException;
+import br.com.desafio.exception.ConflictAlertException;
 import br.com.desafio.exception.NotFoundAlertException;
 import br.com.desafio.repository.PaymentRepository;
-import br.com.desafio.service.messaging.MessageService;
+import br.com.desafio.service.messaging.PaymentOutboxService;
+import br.com.desafio.service.metrics.PaymentMetrics;
 import br.com.desafio.service.usecase.ConfirmPaymentUseCase;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
-
-import static br.com.desafio.util.QueueConstants.*;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class PaymentService implements ConfirmPaymentUseCase {
 
+    /**
+     * Largest amount the {@code NUMERIC(8, 2)} payment columns hold.
+     */
+    public static final Money MAX_PAYMENT_VALUE = Money.ofCents(99_999_999L);
+
     private final PaymentRepository paymentRepository;
     private final ClientService clientService;
-    private final MessageService messageService;
+    private final PaymentOutboxService paymentOutboxService;
+    private final PaymentMetrics paymentMetrics;
 
     /**
      * Confirms the payments for a specified client, validating each payment and determining its status
      * (partial, total, or excess) based on the amount paid compared to the original amount.
      * <p>
-     * Sends the payment to the corresponding SQS queue based on its status and returns the updated
-     * payments with their statuses.
+     * All payments are read with a single projection query that also checks they belong to the client. Their
+     * statuses are written with set-based, version-checked updates, and the messages for the SQS queues matching
+     * each status are written to the outbox in the same transaction; the messages are published in the
+     * background by the outbox relay. Returns the updated payments with their statuses.
      * </p>
      *
      * @param clientPaymentsDTO the client and payments data to be confirmed
      * @return the updated {@link ClientPaymentsDTO} containing payments with confirmed statuses
-     * @throws BadRequestAlertException if a payment does not belong to the specified client
-     * @throws NotFoundAlertException   if a payment or client does not exist
+     * @throws BadRequestAlertException if a payment value is missing, not positive or too large, or a payment
+     *                                  does not belong to the specified client
+     * @throws NotFoundAlertException   if the client or any of the payments does not exist
+     * @throws ConflictAlertException   if any of the payments was modified concurrently
      */
     @Override
+    @Transactional
     public ClientPaymentsDTO confirm(ClientPaymentsDTO clientPaymentsDTO) {
         log.info("[PAYMENT-SERVICE] Starting payment confirmation for Client ID: {}", clientPaymentsDTO.getClientId());
 
+        Timer.Sample sample = paymentMetrics.startConfirmation();
+        String outcome = "success";
+        try {
+            confirmPayments(clientPaymentsDTO);
+        } catch (RuntimeException e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            paymentMetrics.stopConfirmation(sample, outcome, clientPaymentsDTO.getPayments().size());
+        }
+
+        log.info("[PAYMENT-SERVICE] Payment confirmation completed for Client ID: {}", clientPaymentsDTO.getClientId());
+        return clientPaymentsDTO;
+
+    }
+
+    /**
+     * Runs the confirmation stages, timing each one: client check, payment lookup, status classification,
+     * save and outbox write.
+     *
+     * @param clientPaymentsDTO the client and payments data to be confirmed, updated in place with the statuses
+     */
+    private void confirmPayments(ClientPaymentsDTO clientPaymentsDTO) {
+        validatePaymentValues(clientPaymentsDTO.getPayments());
+
         UUID clientId = clientPaymentsDTO.getClientId();
-        clientService.ensureExistsById(clientId);
+        paymentMetrics.runStage(PaymentMetrics.STAGE_CLIENT_CHECK, () -> clientService.ensureExistsById(clientId));
 
-        List<PaymentDTO> updatedPayments = clientPaymentsDTO.getPayments().stream()
-            .map(paymentDTO -> {
-                Payment payment = getById(paymentDTO.getPaymentId());
+        Map<UUID, PaymentSnapshot> paymentsById = paymentMetrics.recordStage(PaymentMetrics.STAGE_PAYMENT_LOOKUP, () -> getOwnedByIds(clientId, clientPaymentsDTO.getPayments().stream()
+            .map(PaymentDTO::getPaymentId)
+            .collect(Collectors.toSet())));
 
-                if (!clientId.equals(payment.getClient().getClientId())) {
-                    log.error("[PAYMENT-SERVICE] Payment ID {} does not belong to the specified client ID {}.", payment.getPaymentId(), clientId);
-                    throw new BadRequestAlertException("Payment with ID: " + payment.getPaymentId() + " does not belong to client with ID: " + clientId);
-                }
+        List<PaymentQueueMessage> paymentQueueMessages = new ArrayList<>(clientPaymentsDTO.getPayments().size());
+        Map<UUID, PaymentStatusUpdate> statusUpdates = new LinkedHashMap<>();
 
-                BigDecimal originalAmount = payment.getPaymentValue();
-                BigDecimal paidAmount = paymentDTO.getPaymentValue();
+        List<PaymentDTO> updatedPayments = paymentMetrics.recordStage(PaymentMetrics.STAGE_CLASSIFICATION, () -> clientPaymentsDTO.getPayments().stream()
+            .map(paymentDTO -> {
+                PaymentSnapshot payment = paymentsById.get(paymentDTO.getPaymentId());
 
-                PaymentStatus status = determinePaymentStatus(originalAmount, paidAmount);
+                Money originalAmount = payment.paymentValue();
+                Money paidAmount = paymentDTO.getPaymentValue();
 
-                payment.setPaymentStatus(status);
-                paymentRepository.save(payment);
+                PaymentStatus status = determinePaymentStatus(originalAmount, paidAmount);
+                paymentMetrics.incrementStatus(status);
 
+                statusUpdates.put(payment.paymentId(), new PaymentStatusUpdate(payment.paymentId(), payment.createdAt(), payment.version(), status));
                 paymentDTO.setPaymentStatus(status);
 
-                sendPaymentMessage(new PaymentQueueMessage(clientId, payment.getPaymentId(),payment.getPaymentValue(), status));
+                paymentQueueMessages.add(new PaymentQueueMessage(clientId, payment.paymentId(), payment.paymentValue(), status, payment.nextVersion()));
 
                 return paymentDTO;
             })
-            .toList();
+            .toList());
 
-        clientPaymentsDTO.setPayments(updatedPayments);
+        paymentMetrics.runStage(PaymentMetrics.STAGE_SAVE, () -> saveStatuses(statusUpdates.values()));
+        paymentMetrics.runStage(PaymentMetrics.STAGE_OUTBOX, () -> paymentOutboxService.enqueue(paymentQueueMessages));
 
-        log.info("[PAYMENT-SERVICE] Payment confirmation completed for Client ID: {}", clientPaymentsDTO.getClientId());
-        return clientPaymentsDTO;
+        clientPaymentsDTO.setPayments(updatedPayments);
+    }
 
+    /**
+     * Rejects payment values that are missing, not positive or larger than the payment columns hold, before
+     * anything is read or written.
+     *
+     * @param payments the payments to be confirmed
+     * @throws BadRequestAlertException if any payment value is invalid
+     */
+    private void validatePaymentValues(List<PaymentDTO> payments) {
+        for (PaymentDTO payment : payments) {
+            Money paymentValue = payment.getPaymentValue();
+            String error = null;
+            if (paymentValue == null) {
+                error = "Payment value is required";
+            } else if (paymentValue.signum() <= 0) {
+                error = "Payment value must be positive";
+            } else if (paymentValue.isGreaterThan(MAX_PAYMENT_VALUE)) {
+                error = "Payment value must have up to 6 digits and 2 decimal places";
+            }
+
+            if (error != null) {
+                log.error("[PAYMENT-SERVICE] Invalid value for payment ID {}: {}", payment.getPaymentId(), paymentValue);
+                throw new BadRequestAlertException(error + ". Payment ID: " + payment.getPaymentId());
+            }
+        }
     }
 
     /**
-     * Retrieves a payment by its ID, throwing an exception if not found.
+     * Writes the new payment statuses with set-based updates that check each row's version in SQL.
      *
-     * @param paymentId the payment ID
-     * @return the found {@link Payment}
-     * @throws NotFoundAlertException if the payment does not exist
+     * @param statusUpdates the new statuses with the versions the payments were read with
+     * @throws ConflictAlertException if any payment was modified concurrently
      */
-    public Payment getById(UUID paymentId) {
-        return paymentRepository.findById(paymentId)
-                .orElseThrow(() -> {
-                    log.error("[PAYMENT-SERVICE] Payment not found for ID: {}", paymentId);
-                    return new NotFoundAlertException("Payment not found for ID: " + paymentId);
-                });
+    private void saveStatuses(Collection<PaymentStatusUpdate> statusUpdates) {
+        List<UUID> conflictingIds = paymentRepository.updateStatuses(statusUpdates);
+        if (!conflictingIds.isEmpty()) {
+            log.error("[PAYMENT-SERVICE] Payments modified concurrently: {}", conflictingIds);
+            throw new ConflictAlertException("Payments were modified concurrently, retry the confirmation. IDs: " + conflictingIds);
+        }
     }
 
     /**
-     * Sends a payment message to the corresponding SQS queue based on the payment status.
+     * Retrieves the payments of a client for the given IDs in a single projection query, with ownership
+     * checked by the query itself.
+     * <p>
+     * Only when some payments are missing from the result is a second query run, to tell payments that do
+     * not exist from payments that belong to another client.
+     * </p>
      *
-     * @param paymentQueueMessage the payment data to be sent
+     * <p>
+     * Runs in the confirmation's read-write transaction, so the payments and versions are read from the
+     * primary database: versions read from a lagging replica would make the status update conflict.
+     * </p>
+     *
+     * @param clientId   the client that must own the payments
+     * @param paymentIds the payment IDs
+     * @return the payments indexed by {@link PaymentSnapshot#paymentId()}
+     * @throws NotFoundAlertException   if any of the payments does not exist
+     * @throws BadRequestAlertException if any of the payments belongs to another client
      */
-    private void sendPaymentMessage(PaymentQueueMessage paymentQueueMessage) {
-        switch (paymentQueueMessage.paymentStatus()) {
-            case PARTIAL:
-                messageService.sendMessageToQueue(PARTIAL_PAYMENTS_QUEUE, paymentQueueMessage);
-                break;
-            case TOTAL:
-                messageService.sendMessageToQueue(TOTAL_PAYMENTS_QUEUE, paymentQueueMessage);
-                break;
-            case SURPLUS:
-                messageService.sendMessageToQueue(SURPLUS_PAYMENTS_QUEUE, paymentQueueMessage);
-                break;
+    private Map<UUID, PaymentSnapshot> getOwnedByIds(UUID clientId, Set<UUID> paymentIds) {
+        Map<UUID, PaymentSnapshot> paymentsById = paymentRepository.findSnapshotsByClientId(clientId, paymentIds).stream()
+                .collect(Collectors.toMap(PaymentSnapshot::paymentId, Function.identity()));
+
+        if (paymentsById.size() < paymentIds.size()) {
+            List<UUID> unmatchedIds = paymentIds.stream()
+                    .filter(paymentId -> !paymentsById.containsKey(paymentId))
+                    .toList();
+            Set<UUID> existingIds = new HashSet<>(paymentRepository.findExistingIds(unmatchedIds));
+
+            List<UUID> missingIds = unmatchedIds.stream()
+                    .filter(paymentId -> !existingIds.contains(paymentId))
+                    .toList();
+            if (!missingIds.isEmpty()) {
+                log.error("[PAYMENT-SERVICE] Payments not found for IDs: {}", missingIds);
+                throw new NotFoundAlertException("Payments not found for IDs: " + missingIds);
+            }
+
+            UUID foreignPaymentId = unmatchedIds.get(0);
+            log.error("[PAYMENT-SERVICE] Payment ID {} does not belong to the specified client ID {}.", foreignPaymentId, clientId);
+            throw new BadRequestAlertException("Payment with ID: " + foreignPaymentId + " does not belong to client with ID: " + clientId);
         }
-        log.info("[PAYMENT-SERVICE] Sent payment message to {} queue for Payment ID: {}", paymentQueueMessage.paymentStatus(), paymentQueueMessage.paymentId());
+
+        return paymentsById;
     }
 
     /**
@@ -125,13 +220,13 @@ public class PaymentService implements ConfirmPaymentUseCase {
      * @param paidAmount the amount paid
      * @return the {@link PaymentStatus}
      */
-    private PaymentStatus determinePaymentStatus(BigDecimal originalAmount, BigDecimal paidAmount) {
-        if (paidAmount.compareTo(originalAmount) < 0) {
+    public static PaymentStatus determinePaymentStatus(Money originalAmount, Money paidAmount) {
+        if (paidAmount.isLessThan(originalAmount)) {
             return PaymentStatus.PARTIAL;
-        } else if (paidAmount.compareTo(originalAmount) == 0) {
-            return PaymentStatus.TOTAL;
-        } else {
+        } else if (paidAmount.isGreaterThan(originalAmount)) {
             return PaymentStatus.SURPLUS;
+        } else {
+            return PaymentStatus.TOTAL;
         }
     }
 
@@ -0,0 +1,95 @@
+package br.com.desafio.service.admission;
+
+import br.com.desafio.config.AdmissionControlConfig;
+import br.com.desafio.config.AdmissionControlProperties;
+import br.com.desafio.exception.ServiceUnavailableAlertException;
+import br.com.desafio.exception.TooManyRequestsAlertException;
+import br.com.desafio.service.metrics.PaymentMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Sheds synchronous confirmations when the service is overloaded, before they take a request thread or a
+ * database connection for longer than needed.
+ * <p>
+ * Only {@link br.com.desafio.service.usecase.ConfirmPaymentUseCase#confirm} runs inside {@link #admit}: the
+ * single confirmation endpoint wraps it inside the idempotency check, bulk confirmations wrap each client
+ * group and asynchronous jobs wrap their confirmation once they start running.
+ * </p>
+ * <p>
+ * At most {@code payment.admission.max-in-flight} confirmations run at once; the next ones are answered right
+ * away with 429 and a {@code Retry-After} header instead of waiting for a thread or a connection. While the
+ * repository circuit breaker is open, confirmations are answered with 503 until the breaker lets probe calls
+ * through. Confirmations that fail with a data access or transaction error count as failed calls for the
+ * breaker; validation errors only count by their duration.
+ * </p>
+ */
+@Component
+@Slf4j
+public class ConfirmationAdmissionControl {
+
+    static final String REJECTED_IN_FLIGHT = "in_flight";
+
+    private final LatencyCircuitBreaker repositoryCircuitBreaker;
+    private final PaymentMetrics paymentMetrics;
+    private final Semaphore inFlight;
+    private final int maxInFlight;
+    private final long retryAfterSeconds;
+
+    public ConfirmationAdmissionControl(AdmissionControlProperties properties,
+                                        @Qualifier(AdmissionControlConfig.REPOSITORY_CIRCUIT_BREAKER) LatencyCircuitBreaker repositoryCircuitBreaker,
+                                        PaymentMetrics paymentMetrics) {
+        this.repositoryCircuitBreaker = repositoryCircuitBreaker;
+        this.paymentMetrics = paymentMetrics;
+        this.maxInFlight = properties.getMaxInFlight();
+        this.inFlight = new Semaphore(maxInFlight);
+        this.retryAfterSeconds = Math.max(1, properties.getRetryAfter().toSeconds());
+
+        paymentMetrics.registerAdmissionInFlight(() -> maxInFlight - inFlight.availablePermits());
+    }
+
+    /**
+     * Runs a confirmation if it can be admitted.
+     *
+     * @param confirmation the confirmation to run
+     * @return the value returned by the confirmation
+     * @throws TooManyRequestsAlertException    if {@code max-in-flight} confirmations are already running
+     * @throws ServiceUnavailableAlertException if the repository circuit breaker is open
+     */
+    public <T> T admit(Supplier<T> confirmation) {
+        if (!inFlight.tryAcquire()) {
+            paymentMetrics.incrementAdmissionRejected(REJECTED_IN_FLIGHT);
+            log.warn("[ADMISSION-CONTROL] Rejecting confirmation, {} confirmations are already in progress", maxInFlight);
+            throw new TooManyRequestsAlertException("Too many confirmations in progress, try again later", retryAfterSeconds);
+        }
+
+        try {
+            if (!repositoryCircuitBreaker.tryAcquire()) {
+                paymentMetrics.incrementAdmissionRejected(repositoryCircuitBreaker.getName());
+                log.debug("[ADMISSION-CONTROL] Rejecting confirmation, the {} circuit breaker is open", repositoryCircuitBreaker.getName());
+                throw new ServiceUnavailableAlertException("The payment database is responding slowly, try again later", repositoryCircuitBreaker.retryAfterSeconds());
+            }
+
+            long start = System.nanoTime();
+            boolean failed = false;
+            try {
+                return confirmation.get();
+            } catch (DataAccessException | TransactionException e) {
+                failed = true;
+                throw e;
+            } finally {
+                repositoryCircuitBreaker.record(System.nanoTime() - start, failed);
+            }
+
+        } finally {
+            inFlight.release();
+        }
+    }
+
+}
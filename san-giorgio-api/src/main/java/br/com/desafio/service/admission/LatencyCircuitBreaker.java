@@ -0,0 +1,147 @@
+package br.com.desafio.service.admission;
+
+import br.com.desafio.config.AdmissionControlProperties.CircuitBreakerSettings;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Stops calls to a dependency while most of its recent calls were slow or failed, so callers shed load right
+ * away instead of queueing behind it.
+ * <p>
+ * The outcome of the last {@code window-size} calls is kept in a ring. Once at least {@code minimum-calls} were
+ * recorded and the share of calls slower than {@code slow-call-threshold}, or failed, reaches
+ * {@code slow-call-rate-threshold}, the breaker opens and rejects calls for {@code open-duration}. It then lets
+ * {@code half-open-calls} probe calls through: it closes once all of them were fast and reopens on the first
+ * slow or failed one.
+ * </p>
+ */
+@Slf4j
+public class LatencyCircuitBreaker {
+
+    /**
+     * Breaker states, in the order exported by the {@code payment.circuit_breaker.state} gauge.
+     */
+    public enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    @Getter
+    private final String name;
+    private final long slowCallThresholdNanos;
+    private final double slowCallRateThreshold;
+    private final int minimumCalls;
+    private final long openDurationNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier nanoTime;
+
+    private final boolean[] badCalls;
+    private int recordedCalls;
+    private int nextCall;
+    private int badCallCount;
+
+    private State state = State.CLOSED;
+    private long openUntil;
+    private int startedProbes;
+    private int fastProbes;
+
+    public LatencyCircuitBreaker(String name, CircuitBreakerSettings settings) {
+        this(name, settings, System::nanoTime);
+    }
+
+    LatencyCircuitBreaker(String name, CircuitBreakerSettings settings, LongSupplier nanoTime) {
+        this.name = name;
+        this.slowCallThresholdNanos = settings.getSlowCallThreshold().toNanos();
+        this.slowCallRateThreshold = settings.getSlowCallRateThreshold();
+        this.minimumCalls = settings.getMinimumCalls();
+        this.openDurationNanos = settings.getOpenDuration().toNanos();
+        this.halfOpenCalls = settings.getHalfOpenCalls();
+        this.nanoTime = nanoTime;
+        this.badCalls = new boolean[settings.getWindowSize()];
+    }
+
+    /**
+     * Asks to call the dependency. Every granted call must be followed by {@link #record}.
+     *
+     * @return {@code false} if the breaker is open, or half-open with all probe calls already started
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (nanoTime.getAsLong() - openUntil < 0) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            startedProbes = 0;
+            fastProbes = 0;
+            log.info("[CIRCUIT-BREAKER] {} is half-open, letting {} probe calls through", name, halfOpenCalls);
+        }
+
+        if (state == State.HALF_OPEN) {
+            if (startedProbes == halfOpenCalls) {
+                return false;
+            }
+            startedProbes++;
+        }
+        return true;
+    }
+
+    /**
+     * Records the outcome of a call granted by {@link #tryAcquire()}.
+     *
+     * @param durationNanos how long the call took
+     * @param failed        whether the dependency failed, regardless of how long it took
+     */
+    public synchronized void record(long durationNanos, boolean failed) {
+        boolean bad = failed || durationNanos > slowCallThresholdNanos;
+
+        if (state == State.HALF_OPEN) {
+            if (bad) {
+                open("a probe call was slow or failed");
+            } else if (++fastProbes == halfOpenCalls) {
+                close();
+            }
+        } else if (state == State.CLOSED) {
+            if (recordedCalls == badCalls.length) {
+                badCallCount -= badCalls[nextCall] ? 1 : 0;
+            } else {
+                recordedCalls++;
+            }
+            badCalls[nextCall] = bad;
+            badCallCount += bad ? 1 : 0;
+            nextCall = (nextCall + 1) % badCalls.length;
+
+            if (recordedCalls >= minimumCalls && badCallCount >= slowCallRateThreshold * recordedCalls) {
+                open(badCallCount + " of the last " + recordedCalls + " calls were slow or failed");
+            }
+        }
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    /**
+     * @return the whole seconds until the breaker lets probe calls through, at least 1
+     */
+    public synchronized long retryAfterSeconds() {
+        long remainingNanos = state == State.OPEN ? openUntil - nanoTime.getAsLong() : 0;
+        return Math.max(1, (remainingNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private void open(String reason) {
+        log.warn("[CIRCUIT-BREAKER] {} is open for {} ms, {}", name, TimeUnit.NANOSECONDS.toMillis(openDurationNanos), reason);
+        state = State.OPEN;
+        openUntil = nanoTime.getAsLong() + openDurationNanos;
+    }
+
+    private void close() {
+        log.info("[CIRCUIT-BREAKER] {} is closed, all {} probe calls were fast", name, halfOpenCalls);
+        state = State.CLOSED;
+        recordedCalls = 0;
+        nextCall = 0;
+        badCallCount = 0;
+    }
+
+}
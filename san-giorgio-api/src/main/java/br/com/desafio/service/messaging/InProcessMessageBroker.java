@@ -0,0 +1,257 @@
+package br.com.desafio.service.messaging;
+
+import br.com.desafio.config.ExecutionThreads;
+import br.com.desafio.domain.dto.PaymentQueueMessage;
+import br.com.desafio.domain.enumeration.PaymentStatus;
+import br.com.desafio.exception.BadRequestAlertException;
+import br.com.desafio.listener.PaymentStatusListener;
+import br.com.desafio.service.metrics.PaymentMetrics;
+import br.com.desafio.util.QueueConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static br.com.desafio.util.QueueConstants.*;
+
+/**
+ * Delivers payment messages to {@link PaymentStatusListener} in the same JVM, without SQS.
+ * <p>
+ * Active with the {@value #PROFILE} profile, for single-node deployments and tests. Every status queue is a
+ * {@link PaymentMessageRingBuffer} of {@code payment.messaging.inprocess.capacity} messages, drained by
+ * {@code payment.messaging.inprocess.consumers} threads that hand batches of up to
+ * {@code payment.messaging.inprocess.batch-size} messages to the listener's batch methods. With a single
+ * consumer per queue, the messages of a client reach the listener in the order they were published.
+ * </p>
+ * <p>
+ * A publish waits up to {@code payment.messaging.inprocess.publish-timeout} while a queue is full and then
+ * fails, so the outbox relay rolls back and retries later; once the broker is stopping, publishes fail right
+ * away for the same reason. Messages only live in memory: the queues are drained when the application stops
+ * gracefully.
+ * </p>
+ * <p>
+ * A batch whose handler fails is handed to it again, up to {@code payment.messaging.inprocess.handle-attempts}
+ * times with a growing {@code retry-delay} between attempts, since the outbox rows of its messages are already
+ * gone. A batch that still fails is moved to the dead-letter buffer of its queue, from where
+ * {@link #redriveDeadLetters()} puts it back on the queue.
+ * </p>
+ */
+@Service
+@Profile(InProcessMessageBroker.PROFILE)
+@Slf4j
+public class InProcessMessageBroker implements PaymentMessagePublisher, SmartLifecycle {
+
+    public static final String PROFILE = "inprocess";
+
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+
+    private final PaymentMetrics paymentMetrics;
+    private final ExecutionThreads executionThreads;
+    private final int consumers;
+    private final int batchSize;
+    private final Duration publishTimeout;
+    private final int handleAttempts;
+    private final Duration retryDelay;
+    private final Map<String, PaymentMessageRingBuffer> buffers = new LinkedHashMap<>();
+    private final Map<String, PaymentMessageRingBuffer> deadLetters = new LinkedHashMap<>();
+    private final Map<String, Consumer<List<PaymentQueueMessage>>> handlers = new LinkedHashMap<>();
+
+    private volatile boolean running;
+    private ExecutorService consumerThreads;
+
+    public InProcessMessageBroker(PaymentStatusListener paymentStatusListener, PaymentMetrics paymentMetrics, ExecutionThreads executionThreads,
+                                  @Value("${payment.messaging.inprocess.capacity}") int capacity,
+                                  @Value("${payment.messaging.inprocess.consumers}") int consumers,
+                                  @Value("${payment.messaging.inprocess.batch-size}") int batchSize,
+                                  @Value("${payment.messaging.inprocess.publish-timeout}") Duration publishTimeout,
+                                  @Value("${payment.messaging.inprocess.handle-attempts}") int handleAttempts,
+                                  @Value("${payment.messaging.inprocess.retry-delay}") Duration retryDelay) {
+        this.paymentMetrics = paymentMetrics;
+        this.executionThreads = executionThreads;
+        this.consumers = consumers;
+        this.batchSize = batchSize;
+        this.publishTimeout = publishTimeout;
+        this.handleAttempts = handleAttempts;
+        this.retryDelay = retryDelay;
+
+        handlers.put(PARTIAL_PAYMENTS_QUEUE, paymentStatusListener::handlePartialPayments);
+        handlers.put(TOTAL_PAYMENTS_QUEUE, paymentStatusListener::handleTotalPayments);
+        handlers.put(SURPLUS_PAYMENTS_QUEUE, paymentStatusListener::handleSurplusPayments);
+        handlers.keySet().forEach(queueName -> {
+            buffers.put(queueName, new PaymentMessageRingBuffer(capacity));
+            deadLetters.put(queueName, new PaymentMessageRingBuffer(capacity));
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> publish(List<PaymentQueueMessage> paymentQueueMessages) {
+        try {
+            publishAndWait(paymentQueueMessages);
+            return CompletableFuture.completedFuture(null);
+        } catch (BadRequestAlertException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public void publishAndWait(List<PaymentQueueMessage> paymentQueueMessages) {
+        Map<String, List<PaymentQueueMessage>> messagesByQueue = paymentQueueMessages.stream()
+                .collect(Collectors.groupingBy(message -> QueueConstants.queueNameFor(message.paymentStatus()),
+                        LinkedHashMap::new, Collectors.toList()));
+
+        messagesByQueue.forEach((queueName, queueMessages) -> {
+            PaymentStatus paymentStatus = queueMessages.get(0).paymentStatus();
+            int accepted = 0;
+            try {
+                accepted = buffers.get(queueName).put(queueMessages, publishTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                paymentMetrics.incrementMessages(queueName, paymentStatus, "sent", accepted);
+                paymentMetrics.incrementMessages(queueName, paymentStatus, "failed", queueMessages.size() - accepted);
+            }
+
+            if (accepted < queueMessages.size()) {
+                log.error("[IN-PROCESS-BROKER] Queue {} is {}, {} of {} messages were not accepted", queueName,
+                        buffers.get(queueName).isClosed() ? "stopped" : "full", queueMessages.size() - accepted, queueMessages.size());
+                throw new BadRequestAlertException("Unexpected error while sending payment message to processing queue");
+            }
+        });
+    }
+
+    /**
+     * Puts the dead-lettered messages back on their queues, after the messages published meanwhile.
+     *
+     * @return the number of messages put back; messages that do not fit stay in the dead-letter buffer
+     */
+    public int redriveDeadLetters() {
+        int redriven = 0;
+        for (Map.Entry<String, PaymentMessageRingBuffer> deadLetter : deadLetters.entrySet()) {
+            List<PaymentQueueMessage> messages = new ArrayList<>();
+            try {
+                deadLetter.getValue().take(messages, Integer.MAX_VALUE, 0, TimeUnit.MILLISECONDS);
+                int accepted = buffers.get(deadLetter.getKey()).put(messages, publishTimeout.toMillis(), TimeUnit.MILLISECONDS);
+                deadLetter.getValue().put(messages.subList(accepted, messages.size()), 0, TimeUnit.MILLISECONDS);
+                redriven += accepted;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        log.info("[IN-PROCESS-BROKER] Redrove {} dead-lettered messages", redriven);
+        return redriven;
+    }
+
+    int deadLetterCount(String queueName) {
+        return deadLetters.get(queueName).size();
+    }
+
+    @Override
+    public void start() {
+        consumerThreads = Executors.newFixedThreadPool(handlers.size() * consumers, executionThreads.threadFactory("in-process-broker-"));
+        running = true;
+
+        handlers.forEach((queueName, handler) -> {
+            for (int i = 0; i < consumers; i++) {
+                consumerThreads.execute(() -> consume(queueName, buffers.get(queueName), handler));
+            }
+        });
+        log.info("[IN-PROCESS-BROKER] Started {} consumers per queue for queues: {}", consumers, handlers.keySet());
+    }
+
+    /**
+     * Rejects new messages and stops the consumers once every queue is empty, so messages already published are
+     * still handled. Messages published after this stay in the outbox until the next start.
+     */
+    @Override
+    public void stop() {
+        buffers.values().forEach(PaymentMessageRingBuffer::close);
+        running = false;
+        consumerThreads.shutdown();
+        try {
+            if (!consumerThreads.awaitTermination(30, TimeUnit.SECONDS)) {
+                log.warn("[IN-PROCESS-BROKER] Consumers did not finish in time, {} messages were not handled",
+                        buffers.values().stream().mapToInt(PaymentMessageRingBuffer::size).sum());
+                consumerThreads.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("[IN-PROCESS-BROKER] Stopped in-process consumption");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void consume(String queueName, PaymentMessageRingBuffer buffer, Consumer<List<PaymentQueueMessage>> handler) {
+        List<PaymentQueueMessage> batch = new ArrayList<>(batchSize);
+        while (running || buffer.size() > 0) {
+            try {
+                if (buffer.take(batch, batchSize, POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS) == 0) {
+                    continue;
+                }
+                handle(queueName, batch, handler);
+            } catch (InterruptedException e) {
+                if (!batch.isEmpty()) {
+                    deadLetter(queueName, batch);
+                }
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                if (!batch.isEmpty()) {
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+        }
+    }
+
+    private void handle(String queueName, List<PaymentQueueMessage> batch, Consumer<List<PaymentQueueMessage>> handler) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                handler.accept(batch);
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= handleAttempts) {
+                    log.error("[IN-PROCESS-BROKER] Failed to handle {} messages from queue {} after {} attempts, moving them to the dead-letter buffer",
+                            batch.size(), queueName, attempt, e);
+                    deadLetter(queueName, batch);
+                    return;
+                }
+                log.warn("[IN-PROCESS-BROKER] Failed to handle {} messages from queue {} (attempt {}/{}), retrying", batch.size(), queueName, attempt, handleAttempts, e);
+                TimeUnit.MILLISECONDS.sleep(retryDelay.toMillis() * attempt);
+            }
+        }
+    }
+
+    private void deadLetter(String queueName, List<PaymentQueueMessage> batch) {
+        int accepted = 0;
+        try {
+            accepted = deadLetters.get(queueName).put(batch, 0, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (accepted < batch.size()) {
+            log.error("[IN-PROCESS-BROKER] Dead-letter buffer of queue {} is full, dropping payments: {}", queueName,
+                    batch.subList(accepted, batch.size()).stream().map(PaymentQueueMessage::paymentId).toList());
+        }
+        paymentMetrics.incrementMessages(queueName, batch.get(0).paymentStatus(), "dead_lettered", accepted);
+        paymentMetrics.incrementMessages(queueName, batch.get(0).paymentStatus(), "dropped", batch.size() - accepted);
+    }
+
+}
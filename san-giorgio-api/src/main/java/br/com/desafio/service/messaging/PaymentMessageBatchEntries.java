@@ -0,0 +1,151 @@
+package br.com.desafio.service.messaging;
+
+import br.com.desafio.domain.dto.PaymentQueueMessage;
+import br.com.desafio.exception.BadRequestAlertException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Builds the SendMessageBatch entries of payment messages and decides which entries to send again after a
+ * partial failure.
+ * <p>
+ * {@link SqsAsyncMessagePublisher} only maps the entries to the SDK's request types, so the message format,
+ * FIFO grouping and retry rules stay independent of the client they are sent with.
+ * </p>
+ */
+@Component
+@Profile("!" + InProcessMessageBroker.PROFILE)
+@Slf4j
+public class PaymentMessageBatchEntries {
+
+    /**
+     * Maximum number of entries accepted by a single SQS SendMessageBatch call.
+     */
+    public static final int MAX_BATCH_SIZE = 10;
+
+    /**
+     * Number of times a batch is sent before the entries that keep failing are given up.
+     */
+    public static final int MAX_SEND_ATTEMPTS = 3;
+
+    public static final String CONTENT_TYPE_ATTRIBUTE = "contentType";
+
+    private final ObjectMapper objectMapper;
+    private final boolean fifo;
+    private final boolean binaryMessages;
+
+    /**
+     * @param objectMapper   serializes JSON messages
+     * @param fifo           whether payment queues are FIFO queues, in which case every message is sent to the
+     *                       {@code .fifo} queue with its client ID as message group, so the messages of one client
+     *                       are delivered in order
+     * @param binaryMessages whether messages are sent in the compact {@link PaymentQueueMessageCodec} format
+     *                       instead of JSON; consumers accept both, selected by the {@code contentType} attribute,
+     *                       so producers can switch at any time
+     */
+    public PaymentMessageBatchEntries(ObjectMapper objectMapper,
+                                      @Value("${payment.queues.fifo:false}") boolean fifo,
+                                      @Value("${payment.queues.binary-messages:false}") boolean binaryMessages) {
+        this.objectMapper = objectMapper;
+        this.fifo = fifo;
+        this.binaryMessages = binaryMessages;
+    }
+
+    /**
+     * A SendMessageBatch entry, independent of the SDK it is sent with.
+     *
+     * @param id                     the entry ID, unique within its batch
+     * @param body                   the encoded message
+     * @param contentType            the value of the {@value #CONTENT_TYPE_ATTRIBUTE} message attribute
+     * @param messageGroupId         the client ID on FIFO queues, {@code null} otherwise
+     * @param messageDeduplicationId a random ID on FIFO queues, {@code null} otherwise
+     */
+    public record Entry(String id, String body, String contentType, String messageGroupId, String messageDeduplicationId) {}
+
+    public boolean isFifo() {
+        return fifo;
+    }
+
+    /**
+     * Builds the batch entries in message order. On FIFO queues each entry is grouped by client ID and gets a
+     * deduplication ID of its own, so retries of a failed entry are deduplicated but distinct messages with
+     * the same body are not.
+     *
+     * @param paymentQueueMessages the messages of one batch, at most {@value #MAX_BATCH_SIZE}
+     * @return the entries, with IDs {@code 0} to {@code n - 1}
+     */
+    public List<Entry> build(List<PaymentQueueMessage> paymentQueueMessages) {
+        String contentType = binaryMessages ? PaymentQueueMessageCodec.CONTENT_TYPE : MimeTypeUtils.APPLICATION_JSON_VALUE;
+
+        List<Entry> entries = new ArrayList<>(paymentQueueMessages.size());
+        for (int i = 0; i < paymentQueueMessages.size(); i++) {
+            PaymentQueueMessage paymentQueueMessage = paymentQueueMessages.get(i);
+            entries.add(new Entry(String.valueOf(i), encode(paymentQueueMessage), contentType,
+                    fifo ? paymentQueueMessage.clientId().toString() : null,
+                    fifo ? UUID.randomUUID().toString() : null));
+        }
+        return entries;
+    }
+
+    /**
+     * Picks the entries to send again after SQS answered a SendMessageBatch call.
+     * <p>
+     * Entries reported as failed are retried on their own, up to {@value #MAX_SEND_ATTEMPTS} attempts.
+     * Entries rejected because of a sender fault (e.g. an invalid message) are not retried.
+     * </p>
+     *
+     * @param queueName the queue the entries were sent to
+     * @param entries   the entries of the call, in the SDK's request type
+     * @param entryId   reads the ID of an entry
+     * @param failures  the IDs of the failed entries, each mapped to whether it failed because of a sender fault
+     * @param attempt   the attempt that was answered, starting at 1
+     * @param <E>       the SDK's entry type
+     * @return the entries to send again, empty when every entry was sent
+     * @throws BadRequestAlertException if an entry was rejected as sender fault or still fails after the last attempt
+     */
+    public <E> List<E> entriesToRetry(String queueName, List<E> entries, Function<E, String> entryId, Map<String, Boolean> failures, int attempt) {
+        if (failures.isEmpty()) {
+            return List.of();
+        }
+
+        if (failures.containsValue(true)) {
+            log.error("[PAYMENT-MESSAGE-BATCH] Queue {} rejected batch entries: {}", queueName, failures.keySet());
+            throw new BadRequestAlertException("Unexpected error while sending payment message to processing queue");
+        }
+
+        List<E> pendingEntries = entries.stream()
+                .filter(entry -> failures.containsKey(entryId.apply(entry)))
+                .toList();
+
+        if (attempt >= MAX_SEND_ATTEMPTS) {
+            log.error("[PAYMENT-MESSAGE-BATCH] Giving up on {} entries for queue {} after {} attempts", pendingEntries.size(), queueName, MAX_SEND_ATTEMPTS);
+            throw new BadRequestAlertException("Unexpected error while sending payment message to processing queue");
+        }
+
+        log.warn("[PAYMENT-MESSAGE-BATCH] Retrying {} failed entries on queue {} (attempt {}/{})", pendingEntries.size(), queueName, attempt, MAX_SEND_ATTEMPTS);
+        return pendingEntries;
+    }
+
+    private String encode(PaymentQueueMessage paymentQueueMessage) {
+        if (binaryMessages) {
+            return PaymentQueueMessageCodec.encode(paymentQueueMessage);
+        }
+        try {
+            return objectMapper.writeValueAsString(paymentQueueMessage);
+        } catch (JsonProcessingException e) {
+            throw new BadRequestAlertException("Unable to serialize payment message for Payment ID: " + paymentQueueMessage.paymentId());
+        }
+    }
+
+}
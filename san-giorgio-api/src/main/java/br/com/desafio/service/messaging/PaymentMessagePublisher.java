@@ -0,0 +1,35 @@
+package br.com.desafio.service.messaging;
+
+import br.com.desafio.domain.dto.PaymentQueueMessage;
+import br.com.desafio.exception.BadRequestAlertException;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Publishes payment messages to the queue that matches their status.
+ * <p>
+ * {@link SqsAsyncMessagePublisher} publishes to SQS and is used by default. With the
+ * {@value InProcessMessageBroker#PROFILE} profile, {@link InProcessMessageBroker} hands the messages to the
+ * listeners of the same JVM instead.
+ * </p>
+ */
+public interface PaymentMessagePublisher {
+
+    /**
+     * Starts publishing the messages.
+     *
+     * @param paymentQueueMessages the messages to be sent
+     * @return a future completed when every message was accepted, or completed exceptionally if any was not
+     */
+    CompletableFuture<Void> publish(List<PaymentQueueMessage> paymentQueueMessages);
+
+    /**
+     * Publishes the messages and blocks until every one of them was accepted.
+     *
+     * @param paymentQueueMessages the messages to be sent, usually one outbox batch
+     * @throws BadRequestAlertException if any message could not be sent
+     */
+    void publishAndWait(List<PaymentQueueMessage> paymentQueueMessages);
+
+}
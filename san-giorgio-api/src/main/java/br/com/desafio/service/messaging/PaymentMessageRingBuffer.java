@@ -0,0 +1,135 @@
+package br.com.desafio.service.messaging;
+
+import br.com.desafio.domain.dto.PaymentQueueMessage;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded FIFO ring of payment messages backed by a slot array allocated once, with a power-of-two size.
+ * <p>
+ * Producers wait while the ring is full, which is the backpressure of {@link InProcessMessageBroker}.
+ * Consumers take every available message, up to a batch size, in one lock acquisition, so the lock is
+ * taken once per batch rather than once per message.
+ * </p>
+ */
+final class PaymentMessageRingBuffer {
+
+    private final PaymentQueueMessage[] slots;
+    private final int mask;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    /**
+     * Sequence of the next slot to read and of the next slot to write; {@code tail - head} is the size.
+     */
+    private long head;
+    private long tail;
+    private boolean closed;
+
+    PaymentMessageRingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Ring buffer capacity must be positive: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+        this.slots = new PaymentQueueMessage[size];
+        this.mask = size - 1;
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return (int) (tail - head);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Rejects further messages; the ones already appended can still be taken.
+     */
+    void close() {
+        lock.lock();
+        try {
+            closed = true;
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean isClosed() {
+        lock.lock();
+        try {
+            return closed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Appends the messages in order, waiting for free slots when the ring is full.
+     *
+     * @return the number of messages appended, less than {@code messages.size()} if the timeout elapsed or the
+     *         ring was closed first
+     */
+    int put(List<PaymentQueueMessage> messages, long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        int appended = 0;
+        lock.lockInterruptibly();
+        try {
+            while (appended < messages.size() && !closed) {
+                while (tail - head == slots.length) {
+                    if (closed || nanos <= 0) {
+                        return appended;
+                    }
+                    nanos = notFull.awaitNanos(nanos);
+                }
+                while (appended < messages.size() && tail - head < slots.length) {
+                    slots[(int) (tail++ & mask)] = messages.get(appended++);
+                }
+                notEmpty.signalAll();
+            }
+            return appended;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Moves up to {@code maxMessages} of the oldest messages to {@code batch}, waiting for at least one.
+     *
+     * @return the number of messages moved, 0 if the timeout elapsed while the ring was empty
+     */
+    int take(List<PaymentQueueMessage> batch, int maxMessages, long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (tail == head) {
+                if (nanos <= 0) {
+                    return 0;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            int taken = 0;
+            while (taken < maxMessages && head < tail) {
+                int index = (int) (head++ & mask);
+                batch.add(slots[index]);
+                slots[index] = null;
+                taken++;
+            }
+            notFull.signalAll();
+            return taken;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+}
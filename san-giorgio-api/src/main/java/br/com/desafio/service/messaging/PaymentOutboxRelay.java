@@ -0,0 +1,41 @@
+package br.com.desafio.service.messaging;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "payment.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class PaymentOutboxRelay {
+
+    private final PaymentOutboxService paymentOutboxService;
+
+    @Value("${payment.outbox.relay.batch-size:100}")
+    private int batchSize;
+
+    /**
+     * Drains the payment outbox in the background.
+     * <p>
+     * Each batch is relayed in its own transaction and the loop keeps going while full batches are
+     * found, so a backlog is drained without waiting for the next scheduled run.
+     * </p>
+     */
+    @Scheduled(fixedDelayString = "${payment.outbox.relay.fixed-delay:500}")
+    public void relay() {
+        try {
+            int relayed;
+            do {
+                relayed = paymentOutboxService.relayNextBatch(batchSize);
+            } while (relayed == batchSize);
+
+        } catch (RuntimeException e) {
+            log.error("[PAYMENT-OUTBOX-RELAY] Failed to relay payment messages, will retry on next run", e);
+        }
+    }
+
+}
@@ -0,0 +1,103 @@
+package br.com.desafio.service.messaging;
+
+import br.com.desafio.config.AdmissionControlConfig;
+import br.com.desafio.domain.PaymentOutboxMessage;
+import br.com.desafio.domain.dto.PaymentQueueMessage;
+import br.com.desafio.repository.PaymentOutboxRepository;
+import br.com.desafio.service.admission.LatencyCircuitBreaker;
+import br.com.desafio.util.QueueConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@Slf4j
+public class PaymentOutboxService {
+
+    private final PaymentOutboxRepository paymentOutboxRepository;
+    private final PaymentMessagePublisher paymentMessagePublisher;
+    private final LatencyCircuitBreaker messagingCircuitBreaker;
+
+    public PaymentOutboxService(PaymentOutboxRepository paymentOutboxRepository, PaymentMessagePublisher paymentMessagePublisher,
+                                @Qualifier(AdmissionControlConfig.MESSAGING_CIRCUIT_BREAKER) LatencyCircuitBreaker messagingCircuitBreaker) {
+        this.paymentOutboxRepository = paymentOutboxRepository;
+        this.paymentMessagePublisher = paymentMessagePublisher;
+        this.messagingCircuitBreaker = messagingCircuitBreaker;
+    }
+
+    /**
+     * Stores payment messages in the outbox as part of the caller's transaction.
+     * <p>
+     * The messages are published later by {@link PaymentOutboxRelay}, so they are only sent
+     * if the transaction that changed the payments commits.
+     * </p>
+     *
+     * @param paymentQueueMessages the messages to be published
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(List<PaymentQueueMessage> paymentQueueMessages) {
+        List<PaymentOutboxMessage> outboxMessages = paymentQueueMessages.stream()
+                .map(message -> PaymentOutboxMessage.builder()
+                        .queueName(QueueConstants.queueNameFor(message.paymentStatus()))
+                        .clientId(message.clientId())
+                        .paymentId(message.paymentId())
+                        .paymentValue(message.paymentValue())
+                        .paymentStatus(message.paymentStatus())
+                        .paymentVersion(message.paymentVersion())
+                        .build())
+                .toList();
+
+        paymentOutboxRepository.saveAll(outboxMessages);
+        log.info("[PAYMENT-OUTBOX-SERVICE] Enqueued {} payment messages", outboxMessages.size());
+    }
+
+    /**
+     * Publishes the next batch of pending outbox messages and removes them from the outbox.
+     * <p>
+     * With SQS, all SendMessageBatch calls of the batch are started at once and awaited together.
+     * </p>
+     * <p>
+     * The rows stay locked until the transaction ends. If publishing fails the transaction is rolled
+     * back and the messages are picked up again by the next run, so delivery is at-least-once.
+     * </p>
+     * <p>
+     * Publishes are timed by the messaging circuit breaker. While it is open nothing is published and the
+     * messages stay in the outbox, so a slow broker is not called again until the breaker lets a probe through.
+     * </p>
+     *
+     * @param batchSize the maximum number of messages to relay
+     * @return the number of messages relayed, 0 if the messaging circuit breaker is open
+     */
+    @Transactional
+    public int relayNextBatch(int batchSize) {
+        List<PaymentOutboxMessage> outboxMessages = paymentOutboxRepository.lockNextBatch(batchSize);
+        if (outboxMessages.isEmpty()) {
+            return 0;
+        }
+        if (!messagingCircuitBreaker.tryAcquire()) {
+            log.debug("[PAYMENT-OUTBOX-SERVICE] Messaging circuit breaker is open, leaving {} payment messages in the outbox", outboxMessages.size());
+            return 0;
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            paymentMessagePublisher.publishAndWait(outboxMessages.stream()
+                    .map(message -> new PaymentQueueMessage(message.getClientId(), message.getPaymentId(), message.getPaymentValue(),
+                            message.getPaymentStatus(), message.getPaymentVersion()))
+                    .toList());
+            failed = false;
+        } finally {
+            messagingCircuitBreaker.record(System.nanoTime() - start, failed);
+        }
+
+        paymentOutboxRepository.deleteAllInBatch(outboxMessages);
+        log.info("[PAYMENT-OUTBOX-SERVICE] Relayed {} payment messages", outboxMessages.size());
+        return outboxMessages.size();
+    }
+
+}
@@ -0,0 +1,107 @@
+package br.com.desafio.service.messaging;
+
+import br.com.desafio.domain.Money;
+import br.com.desafio.domain.dto.PaymentQueueMessage;
+import br.com.desafio.domain.enumeration.PaymentStatus;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Compact binary encoding of {@link PaymentQueueMessage}, sent as Base64 text because SQS bodies are strings.
+ * <p>
+ * Layout, big-endian, {@value #ENCODED_BYTES} bytes (68 Base64 characters):
+ * </p>
+ * <pre>
+ * version (1) | client_id (16) | payment_id (16) | payment_value in cents (8) | payment_status (1) | payment_version (8)
+ * </pre>
+ * <p>
+ * Messages in this format carry the {@code contentType} attribute {@value #CONTENT_TYPE}; messages without it
+ * are JSON. A decoder rejects versions it does not know, so the layout can change by bumping {@link #VERSION}
+ * once every consumer reads the new version. Version 1 messages, without {@code payment_version}, are still
+ * decoded, with payment version 0.
+ * </p>
+ */
+public final class PaymentQueueMessageCodec {
+
+    public static final String CONTENT_TYPE = "application/vnd.payment-queue-message.v1+base64";
+
+    static final byte VERSION = 2;
+    static final int ENCODED_BYTES = 1 + 16 + 16 + 8 + 1 + 8;
+
+    private static final byte VERSION_1 = 1;
+    private static final int VERSION_1_ENCODED_BYTES = 1 + 16 + 16 + 8 + 1;
+
+    private static final Base64.Encoder ENCODER = Base64.getEncoder();
+    private static final Base64.Decoder DECODER = Base64.getDecoder();
+
+    private PaymentQueueMessageCodec() {}
+
+    public static String encode(PaymentQueueMessage paymentQueueMessage) {
+        ByteBuffer buffer = ByteBuffer.allocate(ENCODED_BYTES);
+        buffer.put(VERSION);
+        putUuid(buffer, paymentQueueMessage.clientId());
+        putUuid(buffer, paymentQueueMessage.paymentId());
+        buffer.putLong(paymentQueueMessage.paymentValue().cents());
+        buffer.put(statusCode(paymentQueueMessage.paymentStatus()));
+        buffer.putLong(paymentQueueMessage.paymentVersion());
+        return ENCODER.encodeToString(buffer.array());
+    }
+
+    /**
+     * Decodes a message written by {@link #encode}.
+     *
+     * @param encoded the Base64 message body
+     * @return the decoded message
+     * @throws IllegalArgumentException if the body is not valid Base64, has an unknown version or the wrong length
+     */
+    public static PaymentQueueMessage decode(String encoded) {
+        byte[] bytes = DECODER.decode(encoded);
+        if (bytes.length == 0 || bytes[0] != VERSION && bytes[0] != VERSION_1) {
+            throw new IllegalArgumentException("Unsupported payment message version: " + (bytes.length == 0 ? "none" : bytes[0]));
+        }
+        int encodedBytes = bytes[0] == VERSION ? ENCODED_BYTES : VERSION_1_ENCODED_BYTES;
+        if (bytes.length != encodedBytes) {
+            throw new IllegalArgumentException("Payment message must have " + encodedBytes + " bytes, got " + bytes.length);
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, encodedBytes - 1);
+        UUID clientId = getUuid(buffer);
+        UUID paymentId = getUuid(buffer);
+        Money paymentValue = Money.ofCents(buffer.getLong());
+        PaymentStatus paymentStatus = statusOf(buffer.get());
+        long paymentVersion = buffer.hasRemaining() ? buffer.getLong() : 0;
+        return new PaymentQueueMessage(clientId, paymentId, paymentValue, paymentStatus, paymentVersion);
+    }
+
+    private static void putUuid(ByteBuffer buffer, UUID uuid) {
+        buffer.putLong(uuid.getMostSignificantBits());
+        buffer.putLong(uuid.getLeastSignificantBits());
+    }
+
+    private static UUID getUuid(ByteBuffer buffer) {
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    /**
+     * Fixed codes instead of ordinals, so reordering {@link PaymentStatus} does not change the wire format.
+     */
+    private static byte statusCode(PaymentStatus paymentStatus) {
+        return switch (paymentStatus) {
+            case PARTIAL -> 1;
+            case TOTAL -> 2;
+            case SURPLUS -> 3;
+        };
+    }
+
+    private static PaymentStatus statusOf(byte code) {
+        return switch (code) {
+            case 1 -> PaymentStatus.PARTIAL;
+            case 2 -> PaymentStatus.TOTAL;
+            case 3 -> PaymentStatus.SURPLUS;
+            default -> throw new IllegalArgumentException("Unknown payment status code: " + code);
+        };
+    }
+
+}
@@ -0,0 +1,160 @@
+package br.com.desafio.service.messaging;
+
+import br.com.desafio.domain.dto.PaymentQueueMessage;
+import br.com.desafio.domain.enumeration.PaymentStatus;
+import br.com.desafio.exception.BadRequestAlertException;
+import br.com.desafio.service.metrics.PaymentMetrics;
+import br.com.desafio.util.QueueConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import static br.com.desafio.service.messaging.PaymentMessageBatchEntries.MAX_BATCH_SIZE;
+
+/**
+ * Publishes payment messages with the non-blocking SDK v2 {@link SqsAsyncClient}.
+ * <p>
+ * Every SendMessageBatch call is started up front and the caller waits for all of them together, so
+ * publishing {@code n} messages costs about one SQS round trip instead of {@code n / 10}. Entries are built
+ * and failed ones retried with {@link PaymentMessageBatchEntries}; queue URLs come from {@link SqsQueueProvisioner}.
+ * </p>
+ * <p>
+ * {@link #publishAndWait} gives up after {@code payment.sqs.async.publish-timeout}, since the outbox relay
+ * holds its rows locked while it waits. Sends still in flight may complete after that, so a message can be
+ * delivered again when the relay retries the rows, as with any other failed relay.
+ * </p>
+ */
+@Service
+@Profile("!" + InProcessMessageBroker.PROFILE)
+@Slf4j
+public class SqsAsyncMessagePublisher implements PaymentMessagePublisher {
+
+    private final SqsAsyncClient sqsAsyncClient;
+    private final SqsQueueProvisioner sqsQueueProvisioner;
+    private final PaymentMessageBatchEntries paymentMessageBatchEntries;
+    private final PaymentMetrics paymentMetrics;
+    private final Duration publishTimeout;
+
+    public SqsAsyncMessagePublisher(SqsAsyncClient sqsAsyncClient,
+                                    SqsQueueProvisioner sqsQueueProvisioner,
+                                    PaymentMessageBatchEntries paymentMessageBatchEntries,
+                                    PaymentMetrics paymentMetrics,
+                                    @Value("${payment.sqs.async.publish-timeout}") Duration publishTimeout) {
+        this.sqsAsyncClient = sqsAsyncClient;
+        this.sqsQueueProvisioner = sqsQueueProvisioner;
+        this.paymentMessageBatchEntries = paymentMessageBatchEntries;
+        this.paymentMetrics = paymentMetrics;
+        this.publishTimeout = publishTimeout;
+    }
+
+    @Override
+    public void publishAndWait(List<PaymentQueueMessage> paymentQueueMessages) {
+        try {
+            publish(paymentQueueMessages).get(publishTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof BadRequestAlertException badRequestAlertException) {
+                throw badRequestAlertException;
+            }
+            log.error("[SQS-ASYNC-PUBLISHER] An unexpected error occurred while sending payment messages to processing queues", e.getCause());
+            throw new BadRequestAlertException("Unexpected error while sending payment message to processing queue");
+        } catch (TimeoutException e) {
+            log.error("[SQS-ASYNC-PUBLISHER] Timed out after {} while sending {} payment messages to processing queues", publishTimeout, paymentQueueMessages.size());
+            throw new BadRequestAlertException("Unexpected error while sending payment message to processing queue");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BadRequestAlertException("Unexpected error while sending payment message to processing queue");
+        }
+    }
+
+    /**
+     * Starts publishing the messages to the queues that match their status.
+     * <p>
+     * Queues are published concurrently. Within a queue the SendMessageBatch chunks are also sent
+     * concurrently, except on FIFO queues, where they are chained so the messages of a client keep their order.
+     * </p>
+     *
+     * @param paymentQueueMessages the messages to be sent
+     * @return a future completed when every message was sent, or completed exceptionally if any could not be
+     */
+    @Override
+    public CompletableFuture<Void> publish(List<PaymentQueueMessage> paymentQueueMessages) {
+        Map<String, List<PaymentQueueMessage>> messagesByQueue = paymentQueueMessages.stream()
+                .collect(Collectors.groupingBy(message -> QueueConstants.queueNameFor(message.paymentStatus()),
+                        LinkedHashMap::new, Collectors.toList()));
+
+        List<CompletableFuture<Void>> sends = new ArrayList<>(messagesByQueue.size());
+        messagesByQueue.forEach((queueName, queueMessages) -> sends.add(publishToQueue(queueName, queueMessages)));
+        return CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new));
+    }
+
+    private CompletableFuture<Void> publishToQueue(String queueName, List<PaymentQueueMessage> paymentQueueMessages) {
+        log.debug("[SQS-ASYNC-PUBLISHER] Preparing to send {} messages to queue: {}", paymentQueueMessages.size(), queueName);
+
+        PaymentStatus paymentStatus = paymentQueueMessages.get(0).paymentStatus();
+        return sqsQueueProvisioner.queueUrl(queueName).thenCompose(queueUrl -> {
+            List<CompletableFuture<Void>> chunks = new ArrayList<>();
+            CompletableFuture<Void> previous = CompletableFuture.completedFuture(null);
+
+            for (int start = 0; start < paymentQueueMessages.size(); start += MAX_BATCH_SIZE) {
+                List<PaymentQueueMessage> chunk = paymentQueueMessages.subList(start, Math.min(start + MAX_BATCH_SIZE, paymentQueueMessages.size()));
+                List<SendMessageBatchRequestEntry> entries = toBatchEntries(paymentMessageBatchEntries.build(chunk));
+
+                CompletableFuture<Void> send = paymentMessageBatchEntries.isFifo()
+                        ? previous.thenCompose(ignored -> sendBatchWithRetry(queueName, paymentStatus, queueUrl, entries, 1))
+                        : sendBatchWithRetry(queueName, paymentStatus, queueUrl, entries, 1);
+                send = send.whenComplete((result, error) -> paymentMetrics.incrementMessages(queueName, paymentStatus, error == null ? "sent" : "failed", chunk.size()));
+
+                chunks.add(send);
+                previous = send;
+            }
+            return CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new));
+        });
+    }
+
+    private CompletableFuture<Void> sendBatchWithRetry(String queueName, PaymentStatus paymentStatus, String queueUrl,
+                                                       List<SendMessageBatchRequestEntry> entries, int attempt) {
+        return paymentMetrics.recordSendAsync(queueName, paymentStatus,
+                        () -> sqsAsyncClient.sendMessageBatch(request -> request.queueUrl(queueUrl).entries(entries)))
+                .thenCompose(response -> {
+                    Map<String, Boolean> failures = response.failed().stream()
+                            .collect(Collectors.toMap(BatchResultErrorEntry::id, BatchResultErrorEntry::senderFault));
+                    List<SendMessageBatchRequestEntry> pendingEntries = paymentMessageBatchEntries.entriesToRetry(queueName, entries, SendMessageBatchRequestEntry::id, failures, attempt);
+
+                    return pendingEntries.isEmpty()
+                            ? CompletableFuture.completedFuture(null)
+                            : sendBatchWithRetry(queueName, paymentStatus, queueUrl, pendingEntries, attempt + 1);
+                });
+    }
+
+    private List<SendMessageBatchRequestEntry> toBatchEntries(List<PaymentMessageBatchEntries.Entry> entries) {
+        return entries.stream()
+                .map(entry -> SendMessageBatchRequestEntry.builder()
+                        .id(entry.id())
+                        .messageBody(entry.body())
+                        .messageAttributes(Map.of(PaymentMessageBatchEntries.CONTENT_TYPE_ATTRIBUTE, MessageAttributeValue.builder()
+                                .dataType("String")
+                                .stringValue(entry.contentType())
+                                .build()))
+                        .messageGroupId(entry.messageGroupId())
+                        .messageDeduplicationId(entry.messageDeduplicationId())
+                        .build())
+                .toList();
+    }
+
+}
@@ -0,0 +1,165 @@
+package br.com.desafio.service.messaging;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.CreateQueueResponse;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesResponse;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlResponse;
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static br.com.desafio.util.QueueConstants.*;
+
+/**
+ * Creates the payment status queues and resolves their URLs.
+ * <p>
+ * Queues are created in the background once the application has started, all at the same time, so startup
+ * does not wait for SQS; a creation that fails is tried again after
+ * {@code payment.queues.provisioning-retry-delay}. CreateQueue is only called from here, with the queue
+ * attributes: publishers resolve URLs through {@link #queueUrl}, which uses the URL returned by the
+ * provisioning or looks it up with GetQueueUrl, so the publish path never creates or reconfigures a queue.
+ * A publish that runs before its queue exists fails and is retried by the outbox relay.
+ * </p>
+ * <p>
+ * Every queue gets a dead-letter queue named with {@value #DEAD_LETTER_QUEUE_SUFFIX}: a message received
+ * {@code payment.queues.max-receive-count} times without being deleted, such as one the listener cannot read,
+ * is moved there instead of being redelivered forever. The redrive policy is set with SetQueueAttributes, so
+ * queues created before it existed get it too.
+ * </p>
+ */
+@Component
+@Profile("!" + InProcessMessageBroker.PROFILE)
+@RequiredArgsConstructor
+@Slf4j
+public class SqsQueueProvisioner {
+
+    static final List<String> PAYMENT_QUEUES = List.of(PARTIAL_PAYMENTS_QUEUE, TOTAL_PAYMENTS_QUEUE, SURPLUS_PAYMENTS_QUEUE);
+
+    static final String DEAD_LETTER_QUEUE_SUFFIX = "-dlq";
+
+    private final SqsAsyncClient sqsAsyncClient;
+
+    /**
+     * Queue URLs by logical queue name. The future itself is cached, so concurrent callers share a single
+     * GetQueueUrl call; failed calls are evicted and retried by the next caller.
+     */
+    private final Map<String, CompletableFuture<String>> queueUrls = new ConcurrentHashMap<>();
+
+    @Value("${payment.queues.fifo:false}")
+    private boolean fifo;
+
+    @Value("${payment.queues.provisioning-retry-delay:5s}")
+    private Duration provisioningRetryDelay = Duration.ofSeconds(5);
+
+    @Value("${payment.queues.max-receive-count:5}")
+    private int maxReceiveCount = 5;
+
+    /**
+     * Starts creating every payment queue without waiting for the result.
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public void provisionQueues() {
+        PAYMENT_QUEUES.forEach(this::provisionQueue);
+    }
+
+    /**
+     * Resolves the URL of a payment queue, without creating it.
+     *
+     * @param queueName the logical queue name, without the {@code .fifo} suffix
+     * @return a future with the queue URL, completed exceptionally while the queue does not exist
+     */
+    public CompletableFuture<String> queueUrl(String queueName) {
+        CompletableFuture<String> queueUrl = queueUrls.computeIfAbsent(queueName, this::getQueueUrl);
+        queueUrl.whenComplete((url, error) -> {
+            if (error != null) {
+                queueUrls.remove(queueName, queueUrl);
+            }
+        });
+        return queueUrl;
+    }
+
+    private void provisionQueue(String logicalQueueName) {
+        createQueue(logicalQueueName).whenComplete((url, error) -> {
+            if (error == null) {
+                queueUrls.put(logicalQueueName, CompletableFuture.completedFuture(url));
+            } else {
+                CompletableFuture.delayedExecutor(provisioningRetryDelay.toMillis(), TimeUnit.MILLISECONDS)
+                        .execute(() -> provisionQueue(logicalQueueName));
+            }
+        });
+    }
+
+    /**
+     * Creates the dead-letter queue, then the queue itself, and points the redrive policy of the queue at the
+     * dead-letter queue.
+     */
+    private CompletableFuture<String> createQueue(String logicalQueueName) {
+        String queueName = sqsQueueName(logicalQueueName, fifo);
+        String deadLetterQueueName = sqsQueueName(logicalQueueName + DEAD_LETTER_QUEUE_SUFFIX, fifo);
+
+        return createSqsQueue(deadLetterQueueName)
+                .thenCompose(this::queueArn)
+                .thenCompose(deadLetterQueueArn -> createSqsQueue(queueName)
+                        .thenCompose(url -> sqsAsyncClient.setQueueAttributes(request -> request
+                                        .queueUrl(url)
+                                        .attributes(Map.of(QueueAttributeName.REDRIVE_POLICY, redrivePolicy(deadLetterQueueArn))))
+                                .thenApply(response -> url)))
+                .whenComplete((url, error) -> {
+                    if (error != null) {
+                        log.error("[SQS-QUEUE-PROVISIONER] Could not create queue '{}', will retry in {}", queueName, provisioningRetryDelay, error);
+                    } else {
+                        log.info("[SQS-QUEUE-PROVISIONER] Queue '{}' is available at {}, dead letters go to '{}'", queueName, url, deadLetterQueueName);
+                    }
+                });
+    }
+
+    /**
+     * FIFO queues are created with deduplication and throughput limits scoped to the message group, so clients
+     * are throttled independently instead of sharing the queue-wide FIFO limit.
+     */
+    private CompletableFuture<String> createSqsQueue(String queueName) {
+        Map<QueueAttributeName, String> attributes = fifo
+                ? Map.of(QueueAttributeName.FIFO_QUEUE, "true",
+                        QueueAttributeName.DEDUPLICATION_SCOPE, "messageGroup",
+                        QueueAttributeName.FIFO_THROUGHPUT_LIMIT, "perMessageGroupId")
+                : Map.of();
+
+        return sqsAsyncClient.createQueue(request -> request.queueName(queueName).attributes(attributes))
+                .thenApply(CreateQueueResponse::queueUrl);
+    }
+
+    private CompletableFuture<String> queueArn(String queueUrl) {
+        return sqsAsyncClient.getQueueAttributes(request -> request.queueUrl(queueUrl).attributeNames(QueueAttributeName.QUEUE_ARN))
+                .thenApply(GetQueueAttributesResponse::attributes)
+                .thenApply(attributes -> attributes.get(QueueAttributeName.QUEUE_ARN));
+    }
+
+    private String redrivePolicy(String deadLetterQueueArn) {
+        return "{\"deadLetterTargetArn\":\"" + deadLetterQueueArn + "\",\"maxReceiveCount\":\"" + maxReceiveCount + "\"}";
+    }
+
+    private CompletableFuture<String> getQueueUrl(String logicalQueueName) {
+        String queueName = sqsQueueName(logicalQueueName, fifo);
+
+        return sqsAsyncClient.getQueueUrl(request -> request.queueName(queueName))
+                .thenApply(GetQueueUrlResponse::queueUrl)
+                .whenComplete((url, error) -> {
+                    if (error != null) {
+                        log.warn("[SQS-QUEUE-PROVISIONER] Could not resolve the URL of queue '{}', will retry on next use", queueName, error);
+                    }
+                });
+    }
+
+}
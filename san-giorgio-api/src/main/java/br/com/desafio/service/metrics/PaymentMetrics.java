@@ -0,0 +1,238 @@
+package br.com.desafio.service.metrics;
+
+import br.com.desafio.domain.enumeration.PaymentStatus;
+import br.com.desafio.service.admission.LatencyCircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+@Component
+public class PaymentMetrics {
+
+    public static final String STAGE_CLIENT_CHECK = "client_check";
+    public static final String STAGE_PAYMENT_LOOKUP = "payment_lookup";
+    public static final String STAGE_CLASSIFICATION = "classification";
+    public static final String STAGE_SAVE = "save";
+    public static final String STAGE_OUTBOX = "outbox";
+
+    public static final String LISTENER_MODE_BATCH = "batch";
+
+    private static final String CONFIRM_TIMER = "payment.confirm";
+    private static final String CONFIRM_STAGE_TIMER = "payment.confirm.stage";
+    private static final String CONFIRM_BATCH_SIZE = "payment.confirm.batch.size";
+    private static final String CONFIRM_STATUS_COUNTER = "payment.confirm.status";
+    private static final String MESSAGING_SEND_TIMER = "payment.messaging.send";
+    private static final String MESSAGING_MESSAGES_COUNTER = "payment.messaging.messages";
+    private static final String LISTENER_TIMER = "payment.listener.process";
+    private static final String EXCEPTION_COUNTER = "payment.exceptions";
+    private static final String IDEMPOTENCY_COUNTER = "payment.idempotency.requests";
+    private static final String ADMISSION_IN_FLIGHT_GAUGE = "payment.admission.in_flight";
+    private static final String ADMISSION_REJECTED_COUNTER = "payment.admission.rejected";
+    private static final String CIRCUIT_BREAKER_STATE_GAUGE = "payment.circuit_breaker.state";
+
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary confirmBatchSize;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public PaymentMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.confirmBatchSize = DistributionSummary.builder(CONFIRM_BATCH_SIZE)
+                .description("Number of payments per confirmation request")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts timing a whole confirmation; finish it with {@link #stopConfirmation}.
+     *
+     * @return the running sample
+     */
+    public Timer.Sample startConfirmation() {
+        return Timer.start(meterRegistry);
+    }
+
+    /**
+     * Records a finished confirmation with its outcome and number of payments.
+     *
+     * @param sample       the sample returned by {@link #startConfirmation()}
+     * @param outcome      {@code success} or the simple name of the exception that ended it
+     * @param paymentCount the number of payments in the request
+     */
+    public void stopConfirmation(Timer.Sample sample, String outcome, int paymentCount) {
+        sample.stop(timer(CONFIRM_TIMER, "Time to confirm a client's payments", "outcome", outcome));
+        confirmBatchSize.record(paymentCount);
+    }
+
+    /**
+     * Times one stage of a confirmation (see the {@code STAGE_*} constants).
+     *
+     * @param stage    the stage name
+     * @param supplier the work done in the stage
+     * @return the value returned by the supplier
+     */
+    public <T> T recordStage(String stage, Supplier<T> supplier) {
+        return timer(CONFIRM_STAGE_TIMER, "Time spent in each confirmation stage", "stage", stage).record(supplier);
+    }
+
+    /**
+     * Times one stage of a confirmation that returns nothing (see the {@code STAGE_*} constants).
+     *
+     * @param stage    the stage name
+     * @param runnable the work done in the stage
+     */
+    public void runStage(String stage, Runnable runnable) {
+        timer(CONFIRM_STAGE_TIMER, "Time spent in each confirmation stage", "stage", stage).record(runnable);
+    }
+
+    /**
+     * Counts a confirmed payment by the status it was classified with.
+     *
+     * @param status the payment status
+     */
+    public void incrementStatus(PaymentStatus status) {
+        counter(CONFIRM_STATUS_COUNTER, "status", status.name()).increment();
+    }
+
+    /**
+     * Times one SQS send call to a payment status queue.
+     *
+     * @param queueName the target queue
+     * @param status    the payment status routed to the queue
+     * @param supplier  the send call
+     * @return the value returned by the send call
+     */
+    public <T> T recordSend(String queueName, PaymentStatus status, Supplier<T> supplier) {
+        return sendTimer(queueName, status).record(supplier);
+    }
+
+    /**
+     * Times one asynchronous SQS send call to a payment status queue, until its future completes.
+     *
+     * @param queueName the target queue
+     * @param status    the payment status routed to the queue
+     * @param supplier  starts the send call
+     * @return the future returned by the send call
+     */
+    public <T> CompletableFuture<T> recordSendAsync(String queueName, PaymentStatus status, Supplier<CompletableFuture<T>> supplier) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        return supplier.get().whenComplete((result, error) -> sample.stop(sendTimer(queueName, status)));
+    }
+
+    /**
+     * Times one SQS send call to a payment status queue that returns nothing.
+     *
+     * @param queueName the target queue
+     * @param status    the payment status routed to the queue
+     * @param runnable  the send call
+     */
+    public void runSend(String queueName, PaymentStatus status, Runnable runnable) {
+        sendTimer(queueName, status).record(runnable);
+    }
+
+    /**
+     * Counts messages handed to SQS.
+     *
+     * @param queueName the target queue
+     * @param status    the payment status routed to the queue
+     * @param result    {@code sent} or {@code failed}; the in-process broker also reports messages whose handler
+     *                  kept failing as {@code dead_lettered}, or {@code dropped} when its dead-letter buffer is full
+     * @param count     the number of messages
+     */
+    public void incrementMessages(String queueName, PaymentStatus status, String result, int count) {
+        counter(MESSAGING_MESSAGES_COUNTER, "queue", queueName, "status", status.name(), "result", result).increment(count);
+    }
+
+    /**
+     * Times the processing of messages received by {@link br.com.desafio.listener.PaymentStatusListener}.
+     *
+     * @param queueName the queue the messages came from
+     * @param mode      the consumption mode, {@link #LISTENER_MODE_BATCH}
+     * @param runnable  the processing
+     */
+    public void recordListener(String queueName, String mode, Runnable runnable) {
+        timer(LISTENER_TIMER, "Time to process messages from a payment status queue", "queue", queueName, "mode", mode).record(runnable);
+    }
+
+    /**
+     * Counts an alert exception returned to an API client.
+     *
+     * @param exception the exception
+     */
+    public void incrementException(RuntimeException exception) {
+        counter(EXCEPTION_COUNTER, "exception", exception.getClass().getSimpleName()).increment();
+    }
+
+    /**
+     * Counts a confirmation request sent with an {@code Idempotency-Key} header.
+     *
+     * @param outcome {@code executed} for the first request with the key, otherwise where the replayed response came from
+     */
+    public void incrementIdempotency(String outcome) {
+        counter(IDEMPOTENCY_COUNTER, "outcome", outcome).increment();
+    }
+
+    /**
+     * Exports the number of synchronous confirmations currently admitted.
+     *
+     * @param inFlight reads the current number
+     */
+    public void registerAdmissionInFlight(IntSupplier inFlight) {
+        Gauge.builder(ADMISSION_IN_FLIGHT_GAUGE, inFlight::getAsInt)
+                .description("Synchronous confirmations currently in progress")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Counts a confirmation request shed by admission control.
+     *
+     * @param reason {@code in_flight} when the in-flight limit was reached, otherwise the name of the open circuit breaker
+     */
+    public void incrementAdmissionRejected(String reason) {
+        counter(ADMISSION_REJECTED_COUNTER, "reason", reason).increment();
+    }
+
+    /**
+     * Exports the state of a circuit breaker: 0 closed, 1 half-open, 2 open.
+     *
+     * @param circuitBreaker the breaker, tagged with its name as the dependency
+     */
+    public void registerCircuitBreaker(LatencyCircuitBreaker circuitBreaker) {
+        Gauge.builder(CIRCUIT_BREAKER_STATE_GAUGE, circuitBreaker, breaker -> breaker.state().ordinal())
+                .description("Circuit breaker state: 0 closed, 1 half-open, 2 open")
+                .tag("dependency", circuitBreaker.getName())
+                .register(meterRegistry);
+    }
+
+    private Timer sendTimer(String queueName, PaymentStatus status) {
+        return timer(MESSAGING_SEND_TIMER, "Time of each SQS send call", "queue", queueName, "status", status.name());
+    }
+
+    private Timer timer(String name, String description, String... tags) {
+        return timers.computeIfAbsent(key(name, tags), key -> Timer.builder(name)
+                .description(description)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    private Counter counter(String name, String... tags) {
+        return counters.computeIfAbsent(key(name, tags), key -> Counter.builder(name)
+                .tags(tags)
+                .register(meterRegistry));
+    }
+
+    private static String key(String name, String... tags) {
+        return name + ":" + String.join(",", tags);
+    }
+
+}
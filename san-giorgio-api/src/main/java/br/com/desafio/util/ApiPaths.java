@@ -6,5 +6,13 @@ public final class ApiPaths {
 
     public static final String API_CONTEXT_PATH = "/api/v1";
     public static final String RESOURCE_PAYMENTS = "/payments";
+    public static final String RESOURCE_PAYMENT_JOBS = RESOURCE_PAYMENTS + "/jobs";
+    public static final String RESOURCE_PAYMENTS_BULK = RESOURCE_PAYMENTS + "/bulk";
+    public static final String RESOURCE_CLIENTS = "/clients";
+    public static final String RESOURCE_CLIENT_SUMMARY = RESOURCE_CLIENTS + "/{id}/summary";
+    public static final String RESOURCE_CLIENT_PAYMENTS = RESOURCE_CLIENTS + "/{id}/payments";
+    public static final String RESOURCE_CLIENT_PAYMENTS_EXPORT = RESOURCE_CLIENT_PAYMENTS + "/export";
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
 
 }
@@ -1,5 +1,7 @@
 package br.com.desafio.util;
 
+import br.com.desafio.domain.enumeration.PaymentStatus;
+
 public final class QueueConstants {
 
     private QueueConstants() {}
@@ -7,4 +9,34 @@ public final class QueueConstants {
     public static final String PARTIAL_PAYMENTS_QUEUE = "partial-payments";
     public static final String TOTAL_PAYMENTS_QUEUE = "total-payments";
     public static final String SURPLUS_PAYMENTS_QUEUE = "surplus-payments";
+
+    /**
+     * Suffix SQS requires on the names of FIFO queues.
+     */
+    public static final String FIFO_SUFFIX = ".fifo";
+
+    /**
+     * Resolves the SQS queue that receives payments with the given status.
+     *
+     * @param paymentStatus the payment status
+     * @return the name of the target queue
+     */
+    public static String queueNameFor(PaymentStatus paymentStatus) {
+        return switch (paymentStatus) {
+            case PARTIAL -> PARTIAL_PAYMENTS_QUEUE;
+            case TOTAL -> TOTAL_PAYMENTS_QUEUE;
+            case SURPLUS -> SURPLUS_PAYMENTS_QUEUE;
+        };
+    }
+
+    /**
+     * Resolves the name of the SQS queue backing a logical queue.
+     *
+     * @param queueName the logical queue name, e.g. {@link #PARTIAL_PAYMENTS_QUEUE}
+     * @param fifo      whether payment queues are FIFO queues ({@code payment.queues.fifo})
+     * @return the queue name, with {@value #FIFO_SUFFIX} appended for FIFO queues
+     */
+    public static String sqsQueueName(String queueName, boolean fifo) {
+        return fifo ? queueName + FIFO_SUFFIX : queueName;
+    }
 }
@@ -0,0 +1,14 @@
+-- One-time cutover of a database whose schema was generated by ddl-auto: update.
+-- Run it once, with the application stopped, before the first start of a version that manages the schema with Flyway.
+-- It moves the generated tables to the legacy schema, leaving public empty: on the next start Flyway creates the
+-- versioned schema and V7 copies the rows from the legacy tables. Drop the legacy schema once the data is checked.
+BEGIN;
+
+CREATE SCHEMA legacy;
+
+ALTER TABLE public.payments SET SCHEMA legacy;
+ALTER TABLE public.clients SET SCHEMA legacy;
+ALTER TABLE IF EXISTS public.payment_outbox SET SCHEMA legacy;
+ALTER TABLE IF EXISTS public.idempotency_keys SET SCHEMA legacy;
+
+COMMIT;
@@ -0,0 +1,57 @@
+CREATE TABLE clients (
+    client_id  UUID         NOT NULL,
+    name       VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    deleted_at TIMESTAMP(6),
+    version    BIGINT,
+    CONSTRAINT pk_clients PRIMARY KEY (client_id)
+);
+
+-- Partitioned by month of creation; partitions are created and detached by the functions in V2.
+-- PostgreSQL requires the partition key in the primary key, so payment_id is unique per partition.
+CREATE TABLE payments (
+    payment_id     UUID          NOT NULL,
+    client_id      UUID          NOT NULL,
+    payment_value  NUMERIC(8, 2) NOT NULL,
+    payment_status VARCHAR(255),
+    created_at     TIMESTAMP(6)  NOT NULL DEFAULT now(),
+    updated_at     TIMESTAMP(6),
+    deleted_at     TIMESTAMP(6),
+    version        BIGINT,
+    CONSTRAINT pk_payments PRIMARY KEY (payment_id, created_at),
+    CONSTRAINT fk_payments_client FOREIGN KEY (client_id) REFERENCES clients (client_id),
+    CONSTRAINT ck_payments_status CHECK (payment_status IN ('PARTIAL', 'TOTAL', 'SURPLUS'))
+) PARTITION BY RANGE (created_at);
+
+-- Confirmation lookup: client_id = ? AND payment_id IN (...), answered from the index alone.
+CREATE INDEX ix_payments_client_id_payment_id ON payments (client_id, payment_id)
+    INCLUDE (payment_value, version)
+    WHERE deleted_at IS NULL;
+
+CREATE TABLE payment_outbox (
+    outbox_id      UUID          NOT NULL,
+    queue_name     VARCHAR(255)  NOT NULL,
+    client_id      UUID          NOT NULL,
+    payment_id     UUID          NOT NULL,
+    payment_value  NUMERIC(8, 2) NOT NULL,
+    payment_status VARCHAR(255)  NOT NULL,
+    created_at     TIMESTAMP(6)  NOT NULL,
+    CONSTRAINT pk_payment_outbox PRIMARY KEY (outbox_id),
+    CONSTRAINT ck_payment_outbox_status CHECK (payment_status IN ('PARTIAL', 'TOTAL', 'SURPLUS'))
+);
+
+-- Relay: ORDER BY created_at LIMIT ? FOR UPDATE SKIP LOCKED.
+CREATE INDEX ix_payment_outbox_created_at ON payment_outbox (created_at);
+
+CREATE TABLE idempotency_keys (
+    idempotency_key  VARCHAR(255) NOT NULL,
+    request_hash     VARCHAR(64)  NOT NULL,
+    payment_statuses TEXT         NOT NULL,
+    created_at       TIMESTAMP(6) NOT NULL,
+    expires_at       TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_idempotency_keys PRIMARY KEY (idempotency_key)
+);
+
+-- Cleanup: DELETE ... WHERE expires_at < ?.
+CREATE INDEX ix_idempotency_keys_expires_at ON idempotency_keys (expires_at);
@@ -0,0 +1,57 @@
+-- Monthly partitions of payments are named payments_YYYY_MM and cover [first day of the month, first day of the next month).
+
+-- Creates the partitions for the current month and the next months_ahead months that do not exist yet.
+-- Returns the number of partitions created.
+CREATE OR REPLACE FUNCTION create_payment_partitions(months_ahead INTEGER)
+RETURNS INTEGER
+LANGUAGE plpgsql
+AS $$
+DECLARE
+    current_month   DATE := date_trunc('month', now())::DATE;
+    partition_start DATE;
+    partition_name  TEXT;
+    created         INTEGER := 0;
+BEGIN
+    FOR i IN 0..months_ahead LOOP
+        partition_start := (current_month + make_interval(months => i))::DATE;
+        partition_name := 'payments_' || to_char(partition_start, 'YYYY_MM');
+
+        IF to_regclass(partition_name) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I PARTITION OF payments FOR VALUES FROM (%L) TO (%L)',
+                           partition_name, partition_start, (partition_start + INTERVAL '1 month')::DATE);
+            created := created + 1;
+        END IF;
+    END LOOP;
+
+    RETURN created;
+END;
+$$;
+
+-- Detaches the partitions whose whole month is older than retention_months months before the current month.
+-- Detached partitions stay in the database as plain tables, to be archived or dropped separately.
+-- Returns the names of the detached partitions.
+CREATE OR REPLACE FUNCTION detach_payment_partitions(retention_months INTEGER)
+RETURNS SETOF TEXT
+LANGUAGE plpgsql
+AS $$
+DECLARE
+    oldest_kept DATE := (date_trunc('month', now()) - make_interval(months => retention_months))::DATE;
+    expired     RECORD;
+BEGIN
+    FOR expired IN
+        SELECT child.relname AS partition_name
+        FROM pg_inherits
+        JOIN pg_class parent ON parent.oid = pg_inherits.inhparent
+        JOIN pg_class child ON child.oid = pg_inherits.inhrelid
+        WHERE parent.relname = 'payments'
+          AND child.relname ~ '^payments_[0-9]{4}_[0-9]{2}$'
+          AND to_date(substring(child.relname FROM 10), 'YYYY_MM') < oldest_kept
+        ORDER BY child.relname
+    LOOP
+        EXECUTE format('ALTER TABLE payments DETACH PARTITION %I', expired.partition_name);
+        RETURN NEXT expired.partition_name;
+    END LOOP;
+END;
+$$;
+
+SELECT create_payment_partitions(3);
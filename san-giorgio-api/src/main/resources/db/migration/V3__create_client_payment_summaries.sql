@@ -0,0 +1,24 @@
+-- Read model kept by PaymentStatusListener: counts and amounts of each client's payments by status,
+-- read with a single primary key lookup.
+CREATE TABLE client_payment_summaries (
+    client_id      UUID           NOT NULL,
+    partial_count  BIGINT         NOT NULL,
+    partial_amount NUMERIC(19, 2) NOT NULL,
+    total_count    BIGINT         NOT NULL,
+    total_amount   NUMERIC(19, 2) NOT NULL,
+    surplus_count  BIGINT         NOT NULL,
+    surplus_amount NUMERIC(19, 2) NOT NULL,
+    updated_at     TIMESTAMP(6)   NOT NULL,
+    CONSTRAINT pk_client_payment_summaries PRIMARY KEY (client_id)
+);
+
+-- Status and value each payment is counted with in client_payment_summaries. A redelivered message matches
+-- its entry and is skipped; a payment confirmed again with another status is moved between the counters.
+CREATE TABLE client_payment_summary_entries (
+    payment_id     UUID          NOT NULL,
+    client_id      UUID          NOT NULL,
+    payment_value  NUMERIC(8, 2) NOT NULL,
+    payment_status VARCHAR(255)  NOT NULL,
+    CONSTRAINT pk_client_payment_summary_entries PRIMARY KEY (payment_id),
+    CONSTRAINT ck_client_payment_summary_entries_status CHECK (payment_status IN ('PARTIAL', 'TOTAL', 'SURPLUS'))
+);
@@ -0,0 +1,5 @@
+-- Client payment listing: client_id = ? AND (created_at, payment_id) > (?, ?) ORDER BY created_at, payment_id,
+-- answered from the index alone and starting right after the cursor, so deep pages cost the same as the first.
+CREATE INDEX ix_payments_client_id_created_at ON payments (client_id, created_at, payment_id)
+    INCLUDE (payment_value, payment_status)
+    WHERE deleted_at IS NULL;
@@ -0,0 +1,6 @@
+-- Version of the payment each message and summary entry was produced from. The status queues do not keep the
+-- order between each other, so the summary only applies a message newer than the entry it already counted.
+-- Rows written before this migration get version 0.
+ALTER TABLE payment_outbox ADD COLUMN payment_version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE client_payment_summary_entries ADD COLUMN payment_version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,44 @@
+-- payments is partitioned by created_at, so its primary key (payment_id, created_at) only keeps payment_id unique
+-- inside a partition. payment_keys is not partitioned: its primary key keeps payment_id unique across all of them,
+-- and its created_at tells lookups by payment_id the one partition to read instead of probing every partition.
+-- Keys of detached partitions are kept, so their payment IDs are never reused.
+CREATE TABLE payment_keys (
+    payment_id UUID         NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_payment_keys PRIMARY KEY (payment_id)
+);
+
+INSERT INTO payment_keys (payment_id, created_at)
+SELECT payment_id, created_at FROM payments;
+
+-- Registers the key of every new payment; inserting a payment_id that is already taken fails with a unique violation.
+CREATE OR REPLACE FUNCTION register_payment_key()
+RETURNS TRIGGER
+LANGUAGE plpgsql
+AS $$
+BEGIN
+    INSERT INTO payment_keys (payment_id, created_at) VALUES (NEW.payment_id, NEW.created_at);
+    RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER tr_payments_register_key
+    AFTER INSERT ON payments
+    FOR EACH ROW EXECUTE FUNCTION register_payment_key();
+
+-- The key of a payment cannot change once registered.
+CREATE OR REPLACE FUNCTION reject_payment_key_update()
+RETURNS TRIGGER
+LANGUAGE plpgsql
+AS $$
+BEGIN
+    IF NEW.payment_id IS DISTINCT FROM OLD.payment_id OR NEW.created_at IS DISTINCT FROM OLD.created_at THEN
+        RAISE EXCEPTION 'payment_id and created_at of payment % cannot be changed', OLD.payment_id;
+    END IF;
+    RETURN NEW;
+END;
+$$;
+
+CREATE TRIGGER tr_payments_reject_key_update
+    BEFORE UPDATE OF payment_id, created_at ON payments
+    FOR EACH ROW EXECUTE FUNCTION reject_payment_key_update();
@@ -0,0 +1,43 @@
+-- Imports a database whose schema was generated by ddl-auto: update. Its tables are moved to the legacy schema by
+-- db/cutover/move_ddl_auto_schema.sql before the first start with Flyway; this migration copies their rows into the
+-- versioned tables, creating the monthly partitions the old payments need. Without a legacy schema it does nothing.
+DO $$
+DECLARE
+    legacy_month DATE;
+BEGIN
+    IF to_regclass('legacy.payments') IS NULL THEN
+        RETURN;
+    END IF;
+
+    INSERT INTO clients (client_id, name, created_at, updated_at, deleted_at, version)
+    SELECT client_id, name, created_at, updated_at, deleted_at, version
+    FROM legacy.clients;
+
+    -- The generated created_at column is nullable; payments without it are placed in the current month.
+    FOR legacy_month IN
+        SELECT DISTINCT date_trunc('month', COALESCE(created_at, now()))::DATE FROM legacy.payments
+    LOOP
+        IF to_regclass('payments_' || to_char(legacy_month, 'YYYY_MM')) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I PARTITION OF payments FOR VALUES FROM (%L) TO (%L)',
+                           'payments_' || to_char(legacy_month, 'YYYY_MM'), legacy_month, (legacy_month + INTERVAL '1 month')::DATE);
+        END IF;
+    END LOOP;
+
+    -- payment_keys is filled by the trigger created in V6.
+    INSERT INTO payments (payment_id, client_id, payment_value, payment_status, created_at, updated_at, deleted_at, version)
+    SELECT payment_id, client_id, payment_value, payment_status, COALESCE(created_at, now()), updated_at, deleted_at, version
+    FROM legacy.payments;
+
+    IF to_regclass('legacy.payment_outbox') IS NOT NULL THEN
+        INSERT INTO payment_outbox (outbox_id, queue_name, client_id, payment_id, payment_value, payment_status, created_at)
+        SELECT outbox_id, queue_name, client_id, payment_id, payment_value, payment_status, created_at
+        FROM legacy.payment_outbox;
+    END IF;
+
+    IF to_regclass('legacy.idempotency_keys') IS NOT NULL THEN
+        INSERT INTO idempotency_keys (idempotency_key, request_hash, payment_statuses, created_at, expires_at)
+        SELECT idempotency_key, request_hash, payment_statuses, created_at, expires_at
+        FROM legacy.idempotency_keys;
+    END IF;
+END;
+$$;
@@ -0,0 +1,43 @@
+package br.com.desafio.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AwsSqsConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withInitializer(context -> context.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withUserConfiguration(AwsSqsConfig.class)
+            .withPropertyValues("spring.aws.sqs.endpoint=http://localhost:4566",
+                    "spring.aws.sqs.region=us-east-1",
+                    "spring.aws.sqs.access-key=test",
+                    "spring.aws.sqs.secret-key=test",
+                    "payment.sqs.async.max-concurrency=10",
+                    "payment.sqs.async.max-pending-connection-acquires=100",
+                    "payment.sqs.async.connection-acquisition-timeout=1s",
+                    "payment.sqs.async.connection-max-idle-time=60s");
+
+    @DisplayName("Should start with FIFO queues consumed in batches")
+    @Test
+    void shouldStartWithFifoBatchConsumption() {
+        contextRunner
+                .withPropertyValues("payment.queues.fifo=true")
+                .run(context -> assertNull(context.getStartupFailure()));
+    }
+
+    @DisplayName("Should fail startup when FIFO queues are used without batch consumption")
+    @Test
+    void shouldRejectFifoWithoutBatchConsumption() {
+        contextRunner
+                .withPropertyValues("payment.queues.fifo=true", "payment.listener.batch.enabled=false")
+                .run(context -> assertNotNull(context.getStartupFailure()));
+        contextRunner
+                .withPropertyValues("payment.listener.batch.enabled=false")
+                .run(context -> assertNull(context.getStartupFailure()));
+    }
+
+}
@@ -0,0 +1,84 @@
+package br.com.desafio.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicaDataSourceConfigTest {
+
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        primary = embeddedDatabase("primary");
+        replica = embeddedDatabase("replica");
+
+        DataSource dataSource = new ReplicaDataSourceConfig().dataSource(primary, replica);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    @DisplayName("Should run read-only transactions on the replica")
+    @Test
+    void shouldRouteReadOnlyTransactionsToReplica() {
+        assertEquals("replica", readOnly.execute(status -> databaseName()));
+    }
+
+    @DisplayName("Should run read-write transactions and statements outside transactions on the primary")
+    @Test
+    void shouldRouteWritesToPrimary() {
+        assertEquals("primary", readWrite.execute(status -> databaseName()));
+        assertEquals("primary", databaseName());
+    }
+
+    @DisplayName("Should keep reads that join a read-write transaction on the primary")
+    @Test
+    void shouldKeepReadsInsideWritesOnPrimary() {
+        String name = readWrite.execute(status -> {
+            jdbcTemplate.update("UPDATE database_name SET name = name");
+            return readOnly.execute(inner -> databaseName());
+        });
+
+        assertEquals("primary", name);
+    }
+
+    private String databaseName() {
+        return jdbcTemplate.queryForObject("SELECT name FROM database_name", String.class);
+    }
+
+    private static EmbeddedDatabase embeddedDatabase(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName(name + "-" + UUID.randomUUID())
+                .build();
+        new JdbcTemplate(database).execute("CREATE TABLE database_name (name VARCHAR(16))");
+        new JdbcTemplate(database).update("INSERT INTO database_name (name) VALUES (?)", name);
+        return database;
+    }
+
+}
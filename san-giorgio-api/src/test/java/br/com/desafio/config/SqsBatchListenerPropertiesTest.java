@@ -0,0 +1,58 @@
+package br.com.desafio.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Configuration;
+
+import static br.com.desafio.util.QueueConstants.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqsBatchListenerPropertiesTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(ValidationAutoConfiguration.class))
+            .withUserConfiguration(PropertiesConfiguration.class);
+
+    @DisplayName("Should bind settings within the limits of ReceiveMessage")
+    @Test
+    void shouldBindValidSettings() {
+        contextRunner
+                .withPropertyValues("payment.listener.batch.defaults.max-messages=1",
+                        "payment.listener.batch.queues.total-payments.wait-time-seconds=0")
+                .run(context -> {
+                    assertNull(context.getStartupFailure());
+                    SqsBatchListenerProperties properties = context.getBean(SqsBatchListenerProperties.class);
+                    assertEquals(1, properties.forQueue(PARTIAL_PAYMENTS_QUEUE).getMaxMessages());
+                    assertEquals(0, properties.forQueue(TOTAL_PAYMENTS_QUEUE).getWaitTimeSeconds());
+                });
+    }
+
+    @DisplayName("Should fail startup when the default settings are out of range")
+    @Test
+    void shouldRejectInvalidDefaults() {
+        contextRunner
+                .withPropertyValues("payment.listener.batch.defaults.max-messages=11")
+                .run(context -> assertNotNull(context.getStartupFailure()));
+    }
+
+    @DisplayName("Should fail startup when the settings of a queue are out of range")
+    @Test
+    void shouldRejectInvalidQueueSettings() {
+        contextRunner
+                .withPropertyValues("payment.listener.batch.queues.partial-payments.wait-time-seconds=21")
+                .run(context -> assertNotNull(context.getStartupFailure()));
+        contextRunner
+                .withPropertyValues("payment.listener.batch.queues.partial-payments.max-messages=0")
+                .run(context -> assertNotNull(context.getStartupFailure()));
+    }
+
+    @Configuration
+    @EnableConfigurationProperties(SqsBatchListenerProperties.class)
+    static class PropertiesConfiguration {
+    }
+
+}
@@ -0,0 +1,144 @@
+package br.com.desafio.controller;
+
+import br.com.desafio.domain.dto.ClientPaymentsDTO;
+import br.com.desafio.domain.dto.ConfirmationJobDTO;
+import br.com.desafio.domain.enumeration.ConfirmationJobStatus;
+import br.com.desafio.exception.GlobalExceptionHandler;
+import br.com.desafio.exception.NotFoundAlertException;
+import br.com.desafio.exception.ServiceUnavailableAlertException;
+import br.com.desafio.service.ConfirmationJobService;
+import br.com.desafio.service.IdempotencyService;
+import br.com.desafio.service.PaymentService;
+import br.com.desafio.service.admission.ConfirmationAdmissionControl;
+import br.com.desafio.service.metrics.PaymentMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static br.com.desafio.util.ApiPaths.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConfirmPaymentControllerTest {
+
+    @Mock
+    private PaymentService paymentService;
+
+    @Mock
+    private ConfirmationJobService confirmationJobService;
+
+    @Mock
+    private IdempotencyService idempotencyService;
+
+    @Mock
+    private ConfirmationAdmissionControl confirmationAdmissionControl;
+
+    private MockMvc mockMvc;
+    private UUID clientId;
+    private String requestBody;
+
+    @BeforeEach
+    void setUp() {
+        ConfirmPaymentController controller = new ConfirmPaymentController(paymentService, confirmationJobService, idempotencyService,
+                confirmationAdmissionControl);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler(new PaymentMetrics(new SimpleMeterRegistry())))
+                .build();
+
+        clientId = UUID.randomUUID();
+        requestBody = """
+                {"client_id": "%s", "payments": [{"payment_id": "%s", "payment_value": 100.00}]}
+                """.formatted(clientId, UUID.randomUUID());
+    }
+
+    @DisplayName("Should accept an asynchronous confirmation with the job and its location")
+    @Test
+    void shouldAcceptAsyncConfirmation() throws Exception {
+        UUID jobId = UUID.randomUUID();
+        when(confirmationJobService.submit(any(ClientPaymentsDTO.class))).thenReturn(ConfirmationJobDTO.builder()
+                .jobId(jobId)
+                .clientId(clientId)
+                .status(ConfirmationJobStatus.PENDING)
+                .createdAt(LocalDateTime.now())
+                .build());
+
+        mockMvc.perform(post(API_CONTEXT_PATH + RESOURCE_PAYMENTS).param("async", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, "http://localhost" + API_CONTEXT_PATH + RESOURCE_PAYMENT_JOBS + "/" + jobId))
+                .andExpect(jsonPath("$.job_id").value(jobId.toString()))
+                .andExpect(jsonPath("$.status").value("PENDING"));
+
+        verifyNoInteractions(paymentService, confirmationAdmissionControl);
+    }
+
+    @DisplayName("Should answer 503 with Retry-After when the confirmation executor is saturated")
+    @Test
+    void shouldRejectAsyncConfirmationWhenSaturated() throws Exception {
+        when(confirmationJobService.submit(any(ClientPaymentsDTO.class)))
+                .thenThrow(new ServiceUnavailableAlertException("Too many confirmations in progress, try again later", 5));
+
+        mockMvc.perform(post(API_CONTEXT_PATH + RESOURCE_PAYMENTS).param("async", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "5"));
+    }
+
+    @DisplayName("Should reject an asynchronous confirmation without payments before submitting it")
+    @Test
+    void shouldValidateAsyncConfirmation() throws Exception {
+        mockMvc.perform(post(API_CONTEXT_PATH + RESOURCE_PAYMENTS).param("async", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"client_id\": \"" + clientId + "\", \"payments\": []}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(confirmationJobService);
+    }
+
+    @DisplayName("Should return the current state of a confirmation job")
+    @Test
+    void shouldGetConfirmationJob() throws Exception {
+        UUID jobId = UUID.randomUUID();
+        when(confirmationJobService.getById(jobId)).thenReturn(ConfirmationJobDTO.builder()
+                .jobId(jobId)
+                .clientId(clientId)
+                .status(ConfirmationJobStatus.FAILED)
+                .error("Client not found for ID: " + clientId)
+                .build());
+
+        mockMvc.perform(get(API_CONTEXT_PATH + RESOURCE_PAYMENT_JOBS + "/{id}", jobId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("FAILED"))
+                .andExpect(jsonPath("$.error").value("Client not found for ID: " + clientId))
+                .andExpect(jsonPath("$.payments").doesNotExist());
+    }
+
+    @DisplayName("Should answer 404 for an unknown or expired confirmation job")
+    @Test
+    void shouldReturnNotFoundForExpiredJob() throws Exception {
+        UUID jobId = UUID.randomUUID();
+        when(confirmationJobService.getById(jobId)).thenThrow(new NotFoundAlertException("Confirmation job not found for ID: " + jobId));
+
+        mockMvc.perform(get(API_CONTEXT_PATH + RESOURCE_PAYMENT_JOBS + "/{id}", jobId))
+                .andExpect(status().isNotFound())
+                .andExpect(content().string("Confirmation job not found for ID: " + jobId));
+    }
+
+}
@@ -0,0 +1,77 @@
+package br.com.desafio.domain;
+
+import br.com.desafio.domain.dto.PaymentQueueMessage;
+import br.com.desafio.domain.enumeration.PaymentStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @DisplayName("Should parse decimal text into cents")
+    @ParameterizedTest(name = "{index} => text={0}, cents={1}")
+    @CsvSource({
+            "100, 10000",
+            "100.5, 10050",
+            "100.50, 10050",
+            "0.01, 1",
+            ".99, 99",
+            "-12.34, -1234",
+            "+7, 700",
+            "1.230, 123",
+            "1.5E2, 15000",
+            "12345678901234567.89, 1234567890123456789"
+    })
+    void shouldParseDecimalText(String text, long cents) {
+        assertEquals(cents, Money.parse(text).cents());
+    }
+
+    @DisplayName("Should reject amounts with more than two significant decimal places or out of range")
+    @Test
+    void shouldRejectInvalidAmounts() {
+        assertThrows(NumberFormatException.class, () -> Money.parse("1.234"));
+        assertThrows(NumberFormatException.class, () -> Money.parse("123456789012345678.90"));
+        assertThrows(NumberFormatException.class, () -> Money.parse("abc"));
+        assertThrows(ArithmeticException.class, () -> Money.of(new BigDecimal("0.001")));
+    }
+
+    @DisplayName("Should format with exactly two decimal places")
+    @ParameterizedTest(name = "{index} => cents={0}, text={1}")
+    @CsvSource({
+            "0, 0.00",
+            "5, 0.05",
+            "-5, -0.05",
+            "123456, 1234.56",
+            "-9223372036854775808, -92233720368547758.08"
+    })
+    void shouldFormatWithTwoDecimals(long cents, String text) {
+        Money money = Money.ofCents(cents);
+        assertEquals(text, money.toString());
+        assertEquals(new BigDecimal(text), money.toBigDecimal());
+    }
+
+    @DisplayName("Should round-trip through JSON as a plain number")
+    @Test
+    void shouldRoundTripThroughJson() throws Exception {
+        PaymentQueueMessage message = new PaymentQueueMessage(UUID.randomUUID(), UUID.randomUUID(), Money.ofCents(123450), PaymentStatus.TOTAL, 0L);
+
+        String json = objectMapper.writeValueAsString(message);
+
+        assertTrue(json.contains("\"payment_value\":1234.50"));
+        assertEquals(message, objectMapper.readValue(json, PaymentQueueMessage.class));
+        assertEquals(Money.ofCents(1000), objectMapper.readValue("10", Money.class));
+        assertEquals(Money.ofCents(1001), objectMapper.readValue("\"10.01\"", Money.class));
+        assertThrows(InvalidFormatException.class, () -> objectMapper.readValue("10.001", Money.class));
+    }
+
+}
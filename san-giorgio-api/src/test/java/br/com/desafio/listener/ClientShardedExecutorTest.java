@@ -0,0 +1,85 @@
+package br.com.desafio.listener;
+
+import br.com.desafio.config.ExecutionThreads;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientShardedExecutorTest {
+
+    private ClientShardedExecutor clientShardedExecutor;
+
+    @BeforeEach
+    void setUp() {
+        clientShardedExecutor = new ClientShardedExecutor(4, ExecutionThreads.platformThreadFactory("test-shard-"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        clientShardedExecutor.close();
+    }
+
+    @DisplayName("Should handle the messages of each client in order on a single worker")
+    @Test
+    void shouldKeepOrderPerClient() {
+        List<UUID> clients = IntStream.range(0, 16).mapToObj(i -> UUID.randomUUID()).toList();
+        List<Item> items = new ArrayList<>();
+        for (int sequence = 0; sequence < 50; sequence++) {
+            for (UUID clientId : clients) {
+                items.add(new Item(clientId, sequence));
+            }
+        }
+
+        Map<UUID, List<Integer>> handledByClient = new ConcurrentHashMap<>();
+        Map<UUID, Set<String>> threadsByClient = new ConcurrentHashMap<>();
+        clientShardedExecutor.executeInBatches(items, Item::clientId, shardItems -> shardItems.forEach(item -> {
+            handledByClient.computeIfAbsent(item.clientId(), id -> new CopyOnWriteArrayList<>()).add(item.sequence());
+            threadsByClient.computeIfAbsent(item.clientId(), id -> ConcurrentHashMap.newKeySet()).add(Thread.currentThread().getName());
+        }));
+
+        List<Integer> expected = IntStream.range(0, 50).boxed().toList();
+        clients.forEach(clientId -> {
+            assertEquals(expected, handledByClient.get(clientId));
+            assertEquals(1, threadsByClient.get(clientId).size());
+        });
+    }
+
+    @DisplayName("Should rethrow a failure only after the other workers finished their messages")
+    @Test
+    void shouldRethrowFailureAfterOtherWorkersFinish() {
+        UUID failingClient = UUID.randomUUID();
+        UUID otherClient = IntStream.range(0, 100).mapToObj(i -> UUID.randomUUID())
+                .filter(clientId -> clientShardedExecutor.shardFor(clientId) != clientShardedExecutor.shardFor(failingClient))
+                .findFirst()
+                .orElseThrow();
+        List<Integer> handled = new CopyOnWriteArrayList<>();
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> clientShardedExecutor.executeInBatches(
+                List.of(new Item(failingClient, 0), new Item(otherClient, 1), new Item(otherClient, 2)),
+                Item::clientId,
+                shardItems -> shardItems.forEach(item -> {
+                    if (item.clientId().equals(failingClient)) {
+                        throw new IllegalStateException("boom");
+                    }
+                    handled.add(item.sequence());
+                })));
+
+        assertEquals("boom", exception.getMessage());
+        assertEquals(List.of(1, 2), handled);
+    }
+
+    private record Item(UUID clientId, int sequence) {}
+
+}
@@ -0,0 +1,122 @@
+package br.com.desafio.listener;
+
+import br.com.desafio.config.ExecutionThreads;
+import br.com.desafio.config.SqsBatchListenerProperties;
+import br.com.desafio.domain.Money;
+import br.com.desafio.domain.dto.PaymentQueueMessage;
+import br.com.desafio.domain.enumeration.PaymentStatus;
+import br.com.desafio.service.messaging.InMemoryAmazonSQSAsync;
+import br.com.desafio.service.messaging.PaymentQueueMessageCodec;
+import com.amazonaws.services.sqs.model.MessageAttributeValue;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static br.com.desafio.util.QueueConstants.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SqsBatchMessagePollerTest {
+
+    @Mock
+    private PaymentStatusListener paymentStatusListener;
+
+    private InMemoryAmazonSQSAsync amazonSQSAsync;
+    private ObjectMapper objectMapper;
+    private SqsBatchMessagePoller sqsBatchMessagePoller;
+
+    @BeforeEach
+    void setUp() {
+        amazonSQSAsync = new InMemoryAmazonSQSAsync();
+        objectMapper = new ObjectMapper();
+
+        SqsBatchListenerProperties properties = new SqsBatchListenerProperties();
+        properties.getDefaults().setWaitTimeSeconds(0);
+        properties.getDefaults().setVisibilityTimeoutSeconds(0);
+
+        sqsBatchMessagePoller = new SqsBatchMessagePoller(amazonSQSAsync, objectMapper, properties, paymentStatusListener,
+                new ExecutionThreads(new MockEnvironment()), false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (sqsBatchMessagePoller.isRunning()) {
+            sqsBatchMessagePoller.stop();
+        }
+    }
+
+    @DisplayName("Should hand JSON and binary messages to the handler as one batch and delete them")
+    @Test
+    void shouldHandleAndDeleteBatch() throws Exception {
+        PaymentQueueMessage json = message(PaymentStatus.TOTAL);
+        PaymentQueueMessage binary = message(PaymentStatus.TOTAL);
+        String jsonId = amazonSQSAsync.enqueue(TOTAL_PAYMENTS_QUEUE, objectMapper.writeValueAsString(json), Map.of());
+        String binaryId = amazonSQSAsync.enqueue(TOTAL_PAYMENTS_QUEUE, PaymentQueueMessageCodec.encode(binary), Map.of("contentType",
+                new MessageAttributeValue().withDataType("String").withStringValue(PaymentQueueMessageCodec.CONTENT_TYPE)));
+
+        sqsBatchMessagePoller.start();
+        await(() -> amazonSQSAsync.deletedMessageIds().size() == 2);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PaymentQueueMessage>> batch = ArgumentCaptor.forClass(List.class);
+        verify(paymentStatusListener).handleTotalPayments(batch.capture());
+        assertEquals(List.of(json, binary), batch.getValue());
+        assertEquals(List.of(jsonId, binaryId), amazonSQSAsync.deletedMessageIds());
+        verify(paymentStatusListener, never()).handlePartialPayments(any());
+    }
+
+    @DisplayName("Should leave a batch undeleted for redelivery when the handler fails")
+    @Test
+    void shouldNotDeleteWhenHandlerFails() throws Exception {
+        doThrow(new IllegalStateException("database unavailable")).when(paymentStatusListener).handlePartialPayments(any());
+        amazonSQSAsync.enqueue(PARTIAL_PAYMENTS_QUEUE, objectMapper.writeValueAsString(message(PaymentStatus.PARTIAL)), Map.of());
+
+        sqsBatchMessagePoller.start();
+
+        verify(paymentStatusListener, timeout(5000).atLeast(2)).handlePartialPayments(any());
+        assertTrue(amazonSQSAsync.receiveCount() >= 2);
+        assertTrue(amazonSQSAsync.deletedMessageIds().isEmpty());
+    }
+
+    @DisplayName("Should handle and delete readable messages and leave unreadable ones for the dead-letter queue")
+    @Test
+    void shouldNotDeleteUnreadableMessages() throws Exception {
+        PaymentQueueMessage readable = message(PaymentStatus.SURPLUS);
+        String unreadableId = amazonSQSAsync.enqueue(SURPLUS_PAYMENTS_QUEUE, "{not json", Map.of());
+        String readableId = amazonSQSAsync.enqueue(SURPLUS_PAYMENTS_QUEUE, objectMapper.writeValueAsString(readable), Map.of());
+
+        sqsBatchMessagePoller.start();
+        await(() -> amazonSQSAsync.deletedMessageIds().contains(readableId));
+        sqsBatchMessagePoller.stop();
+
+        verify(paymentStatusListener).handleSurplusPayments(List.of(readable));
+        assertFalse(amazonSQSAsync.deletedMessageIds().contains(unreadableId));
+    }
+
+    private static PaymentQueueMessage message(PaymentStatus paymentStatus) {
+        return new PaymentQueueMessage(UUID.randomUUID(), UUID.randomUUID(), Money.ofCents(1_000), paymentStatus, 1);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+}
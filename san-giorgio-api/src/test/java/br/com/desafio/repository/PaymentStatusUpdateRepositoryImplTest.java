@@ -0,0 +1,160 @@
+package br.com.desafio.repository;
+
+import br.com.desafio.domain.dto.PaymentStatusUpdate;
+import br.com.desafio.domain.enumeration.PaymentStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the native update statements against H2 in PostgreSQL mode. Each test commits its own transactions, so
+ * concurrent transactions see each other's row locks.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:payment-status-updates;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PaymentStatusUpdateRepositoryImplTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 15, 10, 30);
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private UUID clientId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        clientId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO clients (client_id, name, version) VALUES (?, ?, 0)", clientId, "Client");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM payment_keys");
+        jdbcTemplate.update("DELETE FROM payments");
+        jdbcTemplate.update("DELETE FROM clients");
+    }
+
+    @DisplayName("Should update batches larger than one statement in chunks")
+    @Test
+    void shouldUpdateInChunks() {
+        int size = 2 * PaymentStatusUpdateRepositoryImpl.MAX_ROWS_PER_STATEMENT + 500;
+        List<PaymentStatusUpdate> updates = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            updates.add(new PaymentStatusUpdate(insertPayment(0L), CREATED_AT, 0L, PaymentStatus.TOTAL));
+        }
+
+        List<UUID> conflicts = updateStatuses(updates);
+
+        assertTrue(conflicts.isEmpty());
+        assertEquals(size, jdbcTemplate.queryForObject("SELECT count(*) FROM payments WHERE payment_status = 'TOTAL' AND version = 1", Integer.class));
+    }
+
+    @DisplayName("Should report stale and missing versions as conflicts and update the other payments")
+    @Test
+    void shouldReportStaleVersionsAsConflicts() {
+        UUID currentPaymentId = insertPayment(0L);
+        UUID stalePaymentId = insertPayment(2L);
+        UUID unversionedPaymentId = insertPayment(0L);
+
+        List<UUID> conflicts = updateStatuses(List.of(
+                new PaymentStatusUpdate(currentPaymentId, CREATED_AT, 0L, PaymentStatus.PARTIAL),
+                new PaymentStatusUpdate(stalePaymentId, CREATED_AT, 1L, PaymentStatus.PARTIAL),
+                new PaymentStatusUpdate(unversionedPaymentId, CREATED_AT, null, PaymentStatus.PARTIAL)));
+
+        assertEquals(List.of(stalePaymentId, unversionedPaymentId), conflicts);
+        assertEquals("PARTIAL", status(currentPaymentId));
+        assertNull(status(stalePaymentId));
+        assertEquals(2L, version(stalePaymentId));
+    }
+
+    @DisplayName("Should report a payment updated by a concurrent transaction as a conflict")
+    @Test
+    void shouldReportConcurrentUpdatesAsConflicts() throws Exception {
+        UUID paymentId = insertPayment(0L);
+        CountDownLatch updated = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+
+        CompletableFuture<List<UUID>> first = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+            List<UUID> conflicts = paymentRepository.updateStatuses(List.of(new PaymentStatusUpdate(paymentId, CREATED_AT, 0L, PaymentStatus.TOTAL)));
+            updated.countDown();
+            try {
+                assertTrue(commit.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return conflicts;
+        }));
+        assertTrue(updated.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<List<UUID>> second = CompletableFuture.supplyAsync(() ->
+                updateStatuses(List.of(new PaymentStatusUpdate(paymentId, CREATED_AT, 0L, PaymentStatus.SURPLUS))));
+        Thread.sleep(200);
+        commit.countDown();
+
+        assertTrue(first.get(10, TimeUnit.SECONDS).isEmpty());
+        assertEquals(List.of(paymentId), second.get(10, TimeUnit.SECONDS));
+        assertEquals("TOTAL", status(paymentId));
+        assertEquals(1L, version(paymentId));
+    }
+
+    private List<UUID> updateStatuses(List<PaymentStatusUpdate> updates) {
+        return transactionTemplate.execute(status -> paymentRepository.updateStatuses(updates));
+    }
+
+    private UUID insertPayment(long version) {
+        UUID paymentId = UUID.randomUUID();
+        Timestamp createdAt = Timestamp.valueOf(CREATED_AT);
+        jdbcTemplate.update("INSERT INTO payments (payment_id, client_id, payment_value, created_at, version) VALUES (?, ?, 10.00, ?, ?)",
+                paymentId, clientId, createdAt, version);
+        jdbcTemplate.update("INSERT INTO payment_keys (payment_id, created_at) VALUES (?, ?)", paymentId, createdAt);
+        return paymentId;
+    }
+
+    private String status(UUID paymentId) {
+        return jdbcTemplate.queryForObject("SELECT payment_status FROM payments WHERE payment_id = ?", String.class, paymentId);
+    }
+
+    private Long version(UUID paymentId) {
+        return jdbcTemplate.queryForObject("SELECT version FROM payments WHERE payment_id = ?", Long.class, paymentId);
+    }
+
+}
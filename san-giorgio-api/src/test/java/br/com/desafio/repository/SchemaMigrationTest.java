@@ -0,0 +1,142 @@
+package br.com.desafio.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the Flyway migrations against PostgreSQL, which the H2 schema of the load test cannot stand in for.
+ * Skipped where Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class SchemaMigrationTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        execute("DROP SCHEMA IF EXISTS legacy CASCADE; DROP SCHEMA public CASCADE; CREATE SCHEMA public");
+    }
+
+    @DisplayName("Should create the partitioned schema and keep payment IDs unique across partitions")
+    @Test
+    void shouldKeepPaymentIdsUniqueAcrossPartitions() throws SQLException {
+        assertEquals(7, migrate());
+
+        UUID clientId = UUID.randomUUID();
+        UUID paymentId = UUID.randomUUID();
+        execute("INSERT INTO clients (client_id, name) VALUES ('" + clientId + "', 'Client')");
+        execute("INSERT INTO payments (payment_id, client_id, payment_value) VALUES ('" + paymentId + "', '" + clientId + "', 10.00)");
+
+        SQLException duplicate = assertThrows(SQLException.class, () -> execute("INSERT INTO payments (payment_id, client_id, payment_value, created_at) "
+                + "VALUES ('" + paymentId + "', '" + clientId + "', 10.00, now() + INTERVAL '1 month')"));
+        assertEquals("23505", duplicate.getSQLState());
+        assertThrows(SQLException.class, () -> execute("UPDATE payments SET created_at = now() + INTERVAL '1 month' WHERE payment_id = '" + paymentId + "'"));
+
+        assertEquals(1, count("SELECT count(*) FROM payment_keys k JOIN payments p ON p.payment_id = k.payment_id AND p.created_at = k.created_at "
+                + "WHERE k.payment_id = '" + paymentId + "'"));
+    }
+
+    @DisplayName("Should read a single partition when the creation date of the payment is known")
+    @Test
+    void shouldPruneLookupsByCreationDate() throws SQLException {
+        migrate();
+        LocalDate currentMonth = LocalDate.now().withDayOfMonth(1);
+
+        String plan = plan("EXPLAIN SELECT payment_id FROM payments WHERE (payment_id, created_at) IN (('" + UUID.randomUUID() + "', '"
+                + currentMonth.atTime(12, 0) + "'))");
+
+        assertTrue(plan.contains("payments_" + currentMonth.format(PARTITION_SUFFIX)), plan);
+        assertFalse(plan.contains("payments_" + currentMonth.plusMonths(1).format(PARTITION_SUFFIX)), plan);
+    }
+
+    @DisplayName("Should import the rows of a ddl-auto schema moved aside by the cutover script")
+    @Test
+    void shouldImportDdlAutoSchema() throws Exception {
+        UUID clientId = UUID.randomUUID();
+        UUID oldPaymentId = UUID.randomUUID();
+        UUID undatedPaymentId = UUID.randomUUID();
+        LocalDate oldMonth = LocalDate.now().withDayOfMonth(1).minusYears(2);
+        execute("CREATE TABLE clients (client_id UUID NOT NULL PRIMARY KEY, name VARCHAR(255) NOT NULL, created_at TIMESTAMP(6), "
+                + "updated_at TIMESTAMP(6), deleted_at TIMESTAMP(6), version BIGINT)");
+        execute("CREATE TABLE payments (payment_id UUID NOT NULL PRIMARY KEY, client_id UUID NOT NULL REFERENCES clients, "
+                + "payment_value NUMERIC(8, 2) NOT NULL, payment_status VARCHAR(255), created_at TIMESTAMP(6), updated_at TIMESTAMP(6), "
+                + "deleted_at TIMESTAMP(6), version BIGINT)");
+        execute("CREATE TABLE payment_outbox (outbox_id UUID NOT NULL PRIMARY KEY, queue_name VARCHAR(255) NOT NULL, client_id UUID NOT NULL, "
+                + "payment_id UUID NOT NULL, payment_value NUMERIC(8, 2) NOT NULL, payment_status VARCHAR(255) NOT NULL, created_at TIMESTAMP(6) NOT NULL)");
+        execute("INSERT INTO clients (client_id, name, version) VALUES ('" + clientId + "', 'Client', 0)");
+        execute("INSERT INTO payments (payment_id, client_id, payment_value, payment_status, created_at, version) VALUES "
+                + "('" + oldPaymentId + "', '" + clientId + "', 10.00, 'TOTAL', '" + oldMonth.atTime(8, 0) + "', 1), "
+                + "('" + undatedPaymentId + "', '" + clientId + "', 20.00, NULL, NULL, 0)");
+        execute("INSERT INTO payment_outbox VALUES ('" + UUID.randomUUID() + "', 'total-payments', '" + clientId + "', '" + oldPaymentId
+                + "', 10.00, 'TOTAL', now())");
+
+        try (InputStream script = getClass().getResourceAsStream("/db/cutover/move_ddl_auto_schema.sql")) {
+            execute(new String(script.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        migrate();
+
+        assertEquals(1, count("SELECT count(*) FROM clients"));
+        assertEquals(2, count("SELECT count(*) FROM payment_keys"));
+        assertEquals(1, count("SELECT count(*) FROM payments_" + oldMonth.format(PARTITION_SUFFIX) + " WHERE payment_id = '" + oldPaymentId + "'"));
+        assertEquals(1, count("SELECT count(*) FROM payments WHERE payment_id = '" + undatedPaymentId + "' AND created_at IS NOT NULL"));
+        assertEquals(1, count("SELECT count(*) FROM payment_outbox WHERE payment_version = 0"));
+    }
+
+    private static int migrate() {
+        return Flyway.configure()
+                .dataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate()
+                .migrationsExecuted;
+    }
+
+    private static void execute(String sql) throws SQLException {
+        try (Connection connection = connection(); Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static long count(String sql) throws SQLException {
+        try (Connection connection = connection(); Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static String plan(String sql) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (Connection connection = connection(); Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(sql)) {
+            while (resultSet.next()) {
+                plan.append(resultSet.getString(1)).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+
+    private static Connection connection() throws SQLException {
+        return DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+    }
+
+}
@@ -0,0 +1,162 @@
+package br.com.desafio.service;
+
+import br.com.desafio.config.AdmissionControlConfig;
+import br.com.desafio.config.AdmissionControlProperties;
+import br.com.desafio.domain.dto.ClientPaymentsDTO;
+import br.com.desafio.domain.enumeration.PaymentStatus;
+import br.com.desafio.exception.NotFoundAlertException;
+import br.com.desafio.service.admission.ConfirmationAdmissionControl;
+import br.com.desafio.service.admission.LatencyCircuitBreaker;
+import br.com.desafio.service.metrics.PaymentMetrics;
+import br.com.desafio.service.usecase.ConfirmPaymentUseCase;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkConfirmationServiceTest {
+
+    @Mock
+    private ConfirmPaymentUseCase confirmPaymentUseCase;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ConfirmationAdmissionControl confirmationAdmissionControl;
+    private BulkConfirmationService bulkConfirmationService;
+
+    @BeforeEach
+    void setUp() {
+        AdmissionControlProperties properties = new AdmissionControlProperties();
+        properties.setMaxInFlight(1);
+        LatencyCircuitBreaker repositoryCircuitBreaker = new LatencyCircuitBreaker(AdmissionControlConfig.REPOSITORY_CIRCUIT_BREAKER,
+                properties.forDependency(AdmissionControlConfig.REPOSITORY_CIRCUIT_BREAKER));
+        confirmationAdmissionControl = new ConfirmationAdmissionControl(properties, repositoryCircuitBreaker, new PaymentMetrics(new SimpleMeterRegistry()));
+        bulkConfirmationService = new BulkConfirmationService(confirmPaymentUseCase, confirmationAdmissionControl, objectMapper);
+        ReflectionTestUtils.setField(bulkConfirmationService, "chunkSize", 2);
+    }
+
+    @DisplayName("Should confirm lines in chunks grouped by client and stream one result per line")
+    @Test
+    void shouldConfirmLinesInChunks() throws Exception {
+        UUID clientA = UUID.randomUUID();
+        UUID clientB = UUID.randomUUID();
+        when(confirmPaymentUseCase.confirm(any(ClientPaymentsDTO.class))).thenAnswer(invocation -> {
+            ClientPaymentsDTO request = invocation.getArgument(0);
+            request.getPayments().forEach(payment -> payment.setPaymentStatus(PaymentStatus.TOTAL));
+            return request;
+        });
+
+        List<JsonNode> results = confirm(
+                line(clientA, UUID.randomUUID(), "10.00"),
+                line(clientB, UUID.randomUUID(), "20.00"),
+                line(clientA, UUID.randomUUID(), "30.00"));
+
+        assertEquals(3, results.size());
+        results.forEach(result -> assertEquals("TOTAL", result.get("payment_status").asText()));
+        assertEquals(3, results.get(2).get("line").asInt());
+        verify(confirmPaymentUseCase, times(3)).confirm(any(ClientPaymentsDTO.class));
+    }
+
+    @DisplayName("Should report invalid lines and failed groups without stopping the stream")
+    @Test
+    void shouldReportErrorsPerLine() throws Exception {
+        UUID unknownClient = UUID.randomUUID();
+        when(confirmPaymentUseCase.confirm(argThat(request -> request != null && unknownClient.equals(request.getClientId()))))
+                .thenThrow(new NotFoundAlertException("Client not found with ID: " + unknownClient));
+
+        List<JsonNode> results = confirm(
+                "{not json",
+                line(UUID.randomUUID(), UUID.randomUUID(), "-1"),
+                line(unknownClient, UUID.randomUUID(), "5.00"));
+
+        assertEquals(3, results.size());
+        assertTrue(results.get(0).get("error").asText().startsWith("Malformed line"));
+        assertEquals("Payment value must be positive", results.get(1).get("error").asText());
+        assertEquals("Client not found with ID: " + unknownClient, results.get(2).get("error").asText());
+    }
+
+    @DisplayName("Should report an unexpected failure on the lines of its group and confirm the next groups")
+    @Test
+    void shouldReportUnexpectedFailuresPerGroup() throws Exception {
+        UUID failingClient = UUID.randomUUID();
+        when(confirmPaymentUseCase.confirm(any(ClientPaymentsDTO.class))).thenAnswer(invocation -> {
+            ClientPaymentsDTO request = invocation.getArgument(0);
+            if (failingClient.equals(request.getClientId())) {
+                throw new IllegalStateException("Connection reset");
+            }
+            request.getPayments().forEach(payment -> payment.setPaymentStatus(PaymentStatus.PARTIAL));
+            return request;
+        });
+
+        List<JsonNode> results = confirm(
+                line(failingClient, UUID.randomUUID(), "5.00"),
+                line(failingClient, UUID.randomUUID(), "6.00"),
+                line(UUID.randomUUID(), UUID.randomUUID(), "7.00"));
+
+        assertEquals(3, results.size());
+        assertEquals(BulkConfirmationService.UNEXPECTED_ERROR, results.get(0).get("error").asText());
+        assertEquals(BulkConfirmationService.UNEXPECTED_ERROR, results.get(1).get("error").asText());
+        assertEquals("PARTIAL", results.get(2).get("payment_status").asText());
+    }
+
+    @DisplayName("Should report the lines of a group rejected by admission control")
+    @Test
+    void shouldReportGroupsRejectedByAdmissionControl() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> running = CompletableFuture.runAsync(() -> confirmationAdmissionControl.admit(() -> {
+            started.countDown();
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        List<JsonNode> results = confirm(line(UUID.randomUUID(), UUID.randomUUID(), "5.00"));
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+
+        assertEquals("Too many confirmations in progress, try again later", results.get(0).get("error").asText());
+        verifyNoInteractions(confirmPaymentUseCase);
+    }
+
+    private List<JsonNode> confirm(String... lines) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        bulkConfirmationService.confirm(new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8)), output);
+
+        List<JsonNode> results = new ArrayList<>();
+        for (String line : output.toString(StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isBlank()) {
+                results.add(objectMapper.readTree(line));
+            }
+        }
+        return results;
+    }
+
+    private String line(UUID clientId, UUID paymentId, String paymentValue) {
+        return "{\"client_id\":\"" + clientId + "\",\"payment_id\":\"" + paymentId + "\",\"payment_value\":" + paymentValue + "}";
+    }
+
+}
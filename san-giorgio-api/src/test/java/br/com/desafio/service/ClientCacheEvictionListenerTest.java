@@ -0,0 +1,96 @@
+package br.com.desafio.service;
+
+import br.com.desafio.domain.Client;
+import br.com.desafio.repository.ClientRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Writes clients through the repository and checks that the entity listener drops their cached existence
+ * once each transaction commits.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:client-cache-eviction;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ClientService.class, ClientExistenceCache.class, ClientCacheEvictionListener.class, ClientCacheEvictionListenerTest.MetricsConfiguration.class})
+class ClientCacheEvictionListenerTest {
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private ClientExistenceCache clientExistenceCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @DisplayName("Should drop a not-found answer cached while the client was being created")
+    @Test
+    void shouldEvictOnCreate() {
+        UUID clientId = transactionTemplate.execute(status -> {
+            UUID id = clientRepository.saveAndFlush(Client.builder().name("Client").build()).getClientId();
+            assertFalse(clientExistenceCache.exists(id, ignored -> false));
+            return id;
+        });
+
+        assertDoesNotThrow(() -> clientService.ensureExistsById(clientId));
+    }
+
+    @DisplayName("Should drop the cached existence of a client when it is soft-deleted")
+    @Test
+    void shouldEvictOnSoftDelete() {
+        UUID clientId = transactionTemplate.execute(status -> clientRepository.save(Client.builder().name("Client").build()).getClientId());
+        clientService.ensureExistsById(clientId);
+
+        transactionTemplate.executeWithoutResult(status -> clientRepository.deleteById(clientId));
+
+        AtomicInteger loads = new AtomicInteger();
+        clientExistenceCache.exists(clientId, ignored -> loads.incrementAndGet() > 0);
+        assertEquals(1, loads.get());
+    }
+
+    @TestConfiguration
+    static class MetricsConfiguration {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+}
@@ -0,0 +1,150 @@
+package br.com.desafio.service;
+
+import br.com.desafio.domain.ClientPaymentSummaryEntry;
+import br.com.desafio.domain.Money;
+import br.com.desafio.domain.dto.ClientPaymentSummaryDelta;
+import br.com.desafio.domain.dto.PaymentQueueMessage;
+import br.com.desafio.domain.enumeration.PaymentStatus;
+import br.com.desafio.repository.ClientPaymentSummaryEntryRepository;
+import br.com.desafio.repository.ClientPaymentSummaryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ClientPaymentSummaryServiceTest {
+
+    @Mock
+    private ClientPaymentSummaryRepository clientPaymentSummaryRepository;
+
+    @Mock
+    private ClientPaymentSummaryEntryRepository clientPaymentSummaryEntryRepository;
+
+    @Mock
+    private ClientService clientService;
+
+    private ClientPaymentSummaryService clientPaymentSummaryService;
+    private UUID clientId;
+
+    @BeforeEach
+    void setUp() {
+        clientPaymentSummaryService = new ClientPaymentSummaryService(clientPaymentSummaryRepository, clientPaymentSummaryEntryRepository, clientService);
+        clientId = UUID.randomUUID();
+    }
+
+    @DisplayName("Should count new payments and move a payment confirmed again to its new status")
+    @Test
+    void shouldApplyDeltas() {
+        UUID reconfirmedPaymentId = UUID.randomUUID();
+        when(clientPaymentSummaryEntryRepository.findAllForUpdate(anyCollection())).thenReturn(List.of(
+                entry(reconfirmedPaymentId, PaymentStatus.PARTIAL, Money.ofCents(5_000), 0)));
+
+        clientPaymentSummaryService.apply(List.of(
+                new PaymentQueueMessage(clientId, UUID.randomUUID(), Money.ofCents(1_000), PaymentStatus.TOTAL, 0),
+                new PaymentQueueMessage(clientId, reconfirmedPaymentId, Money.ofCents(5_000), PaymentStatus.TOTAL, 1),
+                new PaymentQueueMessage(clientId, UUID.randomUUID(), Money.ofCents(250), PaymentStatus.SURPLUS, 0)));
+
+        ClientPaymentSummaryDelta delta = appliedDeltas().get(0);
+        assertEquals(clientId, delta.getClientId());
+        assertEquals(-1, delta.getPartialCount());
+        assertEquals(-5_000, delta.getPartialCents());
+        assertEquals(2, delta.getTotalCount());
+        assertEquals(6_000, delta.getTotalCents());
+        assertEquals(1, delta.getSurplusCount());
+        assertEquals(250, delta.getSurplusCents());
+    }
+
+    @DisplayName("Should skip redelivered messages, also when repeated within the same batch")
+    @Test
+    void shouldSkipRedeliveredMessages() {
+        UUID countedPaymentId = UUID.randomUUID();
+        UUID newPaymentId = UUID.randomUUID();
+        when(clientPaymentSummaryEntryRepository.findAllForUpdate(anyCollection())).thenReturn(List.of(
+                entry(countedPaymentId, PaymentStatus.TOTAL, Money.ofCents(1_000), 0)));
+
+        clientPaymentSummaryService.apply(List.of(
+                new PaymentQueueMessage(clientId, countedPaymentId, Money.ofCents(1_000), PaymentStatus.TOTAL, 0),
+                new PaymentQueueMessage(clientId, newPaymentId, Money.ofCents(700), PaymentStatus.PARTIAL, 0),
+                new PaymentQueueMessage(clientId, newPaymentId, Money.ofCents(700), PaymentStatus.PARTIAL, 0)));
+
+        ClientPaymentSummaryDelta delta = appliedDeltas().get(0);
+        assertEquals(1, delta.getPartialCount());
+        assertEquals(700, delta.getPartialCents());
+        assertEquals(0, delta.getTotalCount());
+
+        reset(clientPaymentSummaryRepository, clientPaymentSummaryEntryRepository);
+        when(clientPaymentSummaryEntryRepository.findAllForUpdate(anyCollection())).thenReturn(List.of(
+                entry(countedPaymentId, PaymentStatus.TOTAL, Money.ofCents(1_000), 0)));
+
+        clientPaymentSummaryService.apply(List.of(new PaymentQueueMessage(clientId, countedPaymentId, Money.ofCents(1_000), PaymentStatus.TOTAL, 0)));
+
+        verify(clientPaymentSummaryRepository, never()).mergeEntries(any());
+        verify(clientPaymentSummaryRepository, never()).applyDeltas(any());
+    }
+
+    @DisplayName("Should skip a stale message redelivered after a newer one and apply the next version")
+    @Test
+    void shouldSkipStaleMessages() {
+        UUID paymentId = UUID.randomUUID();
+        when(clientPaymentSummaryEntryRepository.findAllForUpdate(anyCollection())).thenReturn(List.of(
+                entry(paymentId, PaymentStatus.TOTAL, Money.ofCents(1_000), 3)));
+
+        clientPaymentSummaryService.apply(List.of(new PaymentQueueMessage(clientId, paymentId, Money.ofCents(400), PaymentStatus.PARTIAL, 2)));
+
+        verify(clientPaymentSummaryRepository, never()).mergeEntries(any());
+        verify(clientPaymentSummaryRepository, never()).applyDeltas(any());
+
+        clientPaymentSummaryService.apply(List.of(
+                new PaymentQueueMessage(clientId, paymentId, Money.ofCents(400), PaymentStatus.PARTIAL, 2),
+                new PaymentQueueMessage(clientId, paymentId, Money.ofCents(1_500), PaymentStatus.SURPLUS, 4)));
+
+        ClientPaymentSummaryDelta delta = appliedDeltas().get(0);
+        assertEquals(0, delta.getPartialCount());
+        assertEquals(-1, delta.getTotalCount());
+        assertEquals(-1_000, delta.getTotalCents());
+        assertEquals(1, delta.getSurplusCount());
+        assertEquals(1_500, delta.getSurplusCents());
+        assertEquals(4, mergedEntries().get(0).getPaymentVersion());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ClientPaymentSummaryDelta> appliedDeltas() {
+        ArgumentCaptor<Collection<ClientPaymentSummaryDelta>> deltas = ArgumentCaptor.forClass(Collection.class);
+        verify(clientPaymentSummaryRepository).applyDeltas(deltas.capture());
+        assertEquals(1, deltas.getValue().size());
+        return new ArrayList<>(deltas.getValue());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ClientPaymentSummaryEntry> mergedEntries() {
+        ArgumentCaptor<Collection<ClientPaymentSummaryEntry>> entries = ArgumentCaptor.forClass(Collection.class);
+        verify(clientPaymentSummaryRepository).mergeEntries(entries.capture());
+        assertEquals(1, entries.getValue().size());
+        return new ArrayList<>(entries.getValue());
+    }
+
+    private ClientPaymentSummaryEntry entry(UUID paymentId, PaymentStatus paymentStatus, Money paymentValue, long paymentVersion) {
+        return ClientPaymentSummaryEntry.builder()
+                .paymentId(paymentId)
+                .clientId(clientId)
+                .paymentStatus(paymentStatus)
+                .paymentValue(paymentValue)
+                .paymentVersion(paymentVersion)
+                .build();
+    }
+
+}
@@ -0,0 +1,95 @@
+package br.com.desafio.service;
+
+import br.com.desafio.exception.NotFoundAlertException;
+import br.com.desafio.repository.ClientRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ClientServiceTest {
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    private ClientExistenceCache clientExistenceCache;
+    private ClientService clientService;
+    private SimpleMeterRegistry meterRegistry;
+    private UUID clientId;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clientExistenceCache = new ClientExistenceCache(100, Duration.ofMinutes(10), Duration.ofSeconds(30), meterRegistry);
+        clientService = new ClientService(clientRepository, clientExistenceCache);
+        clientId = UUID.randomUUID();
+    }
+
+    @DisplayName("Should query the repository only once for an existing client")
+    @Test
+    void shouldCacheExistingClient() {
+        when(clientRepository.existsById(clientId)).thenReturn(true);
+
+        clientService.ensureExistsById(clientId);
+        clientService.ensureExistsById(clientId);
+
+        verify(clientRepository, times(1)).existsById(clientId);
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "client.existence.found").tag("result", "hit").functionCounter().count());
+    }
+
+    @DisplayName("Should query the repository only once for a missing client")
+    @Test
+    void shouldCacheMissingClient() {
+        when(clientRepository.existsById(clientId)).thenReturn(false);
+
+        assertThrows(NotFoundAlertException.class, () -> clientService.ensureExistsById(clientId));
+        assertThrows(NotFoundAlertException.class, () -> clientService.ensureExistsById(clientId));
+
+        verify(clientRepository, times(1)).existsById(clientId);
+    }
+
+    @DisplayName("Should query the repository again after the client is invalidated")
+    @Test
+    void shouldReloadAfterInvalidation() {
+        when(clientRepository.existsById(clientId)).thenReturn(false, true);
+
+        assertThrows(NotFoundAlertException.class, () -> clientService.ensureExistsById(clientId));
+        clientExistenceCache.invalidate(clientId);
+        clientService.ensureExistsById(clientId);
+
+        verify(clientRepository, times(2)).existsById(clientId);
+    }
+
+    @DisplayName("Should evict the client again when the transaction that changed it commits")
+    @Test
+    void shouldEvictAfterCommit() {
+        when(clientRepository.existsById(clientId)).thenReturn(false, false, true);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            clientService.evictAfterCommit(clientId);
+            assertThrows(NotFoundAlertException.class, () -> clientService.ensureExistsById(clientId));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThrows(NotFoundAlertException.class, () -> clientService.ensureExistsById(clientId));
+        clientService.evictAfterCommit(clientId);
+        clientService.ensureExistsById(clientId);
+
+        verify(clientRepository, times(3)).existsById(clientId);
+    }
+
+}
@@ -0,0 +1,183 @@
+package br.com.desafio.service;
+
+import br.com.desafio.domain.Money;
+import br.com.desafio.domain.dto.ClientPaymentsDTO;
+import br.com.desafio.domain.dto.ConfirmationJobDTO;
+import br.com.desafio.domain.dto.PaymentDTO;
+import br.com.desafio.domain.enumeration.ConfirmationJobStatus;
+import br.com.desafio.domain.enumeration.PaymentStatus;
+import br.com.desafio.exception.NotFoundAlertException;
+import br.com.desafio.exception.ServiceUnavailableAlertException;
+import br.com.desafio.exception.TooManyRequestsAlertException;
+import br.com.desafio.service.admission.ConfirmationAdmissionControl;
+import br.com.desafio.service.usecase.ConfirmPaymentUseCase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConfirmationJobServiceTest {
+
+    private static final TaskExecutor SAME_THREAD = Runnable::run;
+
+    @Mock
+    private ConfirmPaymentUseCase confirmPaymentUseCase;
+
+    @Mock
+    private ConfirmationAdmissionControl confirmationAdmissionControl;
+
+    private UUID clientId;
+    private ClientPaymentsDTO clientPaymentsDTO;
+
+    @BeforeEach
+    void setUp() {
+        clientId = UUID.randomUUID();
+        clientPaymentsDTO = new ClientPaymentsDTO(clientId, List.of(new PaymentDTO(UUID.randomUUID(), Money.ofCents(10_000), null)));
+        lenient().when(confirmationAdmissionControl.admit(any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+    }
+
+    @DisplayName("Should register a pending job and complete it with the payment results")
+    @Test
+    void shouldCompleteJob() {
+        List<PaymentDTO> results = List.of(new PaymentDTO(UUID.randomUUID(), Money.ofCents(10_000), PaymentStatus.TOTAL));
+        when(confirmPaymentUseCase.confirm(clientPaymentsDTO)).thenReturn(new ClientPaymentsDTO(clientId, results));
+        ConfirmationJobService confirmationJobService = confirmationJobService(SAME_THREAD);
+
+        ConfirmationJobDTO submitted = confirmationJobService.submit(clientPaymentsDTO);
+
+        assertEquals(ConfirmationJobStatus.PENDING, submitted.getStatus());
+        assertEquals(clientId, submitted.getClientId());
+        ConfirmationJobDTO job = confirmationJobService.getById(submitted.getJobId());
+        assertEquals(ConfirmationJobStatus.COMPLETED, job.getStatus());
+        assertEquals(results, job.getPayments());
+        assertNotNull(job.getCompletedAt());
+        assertNull(job.getError());
+    }
+
+    @DisplayName("Should mark the job as failed with the error of the confirmation")
+    @Test
+    void shouldFailJob() {
+        when(confirmPaymentUseCase.confirm(clientPaymentsDTO)).thenThrow(new NotFoundAlertException("Client not found for ID: " + clientId));
+        ConfirmationJobService confirmationJobService = confirmationJobService(SAME_THREAD);
+
+        ConfirmationJobDTO job = confirmationJobService.getById(confirmationJobService.submit(clientPaymentsDTO).getJobId());
+
+        assertEquals(ConfirmationJobStatus.FAILED, job.getStatus());
+        assertEquals("Client not found for ID: " + clientId, job.getError());
+        assertNull(job.getPayments());
+        assertNotNull(job.getCompletedAt());
+    }
+
+    @DisplayName("Should fail the job without confirming it when admission control rejects it")
+    @Test
+    void shouldFailJobWhenNotAdmitted() {
+        doThrow(new TooManyRequestsAlertException("Too many confirmations in progress, try again later", 1))
+                .when(confirmationAdmissionControl).admit(any());
+        ConfirmationJobService confirmationJobService = confirmationJobService(SAME_THREAD);
+
+        ConfirmationJobDTO job = confirmationJobService.getById(confirmationJobService.submit(clientPaymentsDTO).getJobId());
+
+        assertEquals(ConfirmationJobStatus.FAILED, job.getStatus());
+        assertEquals("Too many confirmations in progress, try again later", job.getError());
+        verifyNoInteractions(confirmPaymentUseCase);
+    }
+
+    @DisplayName("Should reject jobs with 503 and forget them when the executor queue is full")
+    @Test
+    void shouldRejectWhenExecutorIsSaturated() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        when(confirmPaymentUseCase.confirm(any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return invocation.getArgument(0);
+        });
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        try {
+            ConfirmationJobService confirmationJobService = confirmationJobService(executor);
+            ConfirmationJobDTO running = confirmationJobService.submit(clientPaymentsDTO);
+            ConfirmationJobDTO queued = confirmationJobService.submit(clientPaymentsDTO);
+
+            ServiceUnavailableAlertException exception = assertThrows(ServiceUnavailableAlertException.class,
+                    () -> confirmationJobService.submit(clientPaymentsDTO));
+
+            assertTrue(exception.getRetryAfterSeconds() > 0);
+            assertEquals(2, jobCount(confirmationJobService));
+            release.countDown();
+            executor.getThreadPoolExecutor().shutdown();
+            assertTrue(executor.getThreadPoolExecutor().awaitTermination(5, TimeUnit.SECONDS));
+            assertEquals(ConfirmationJobStatus.COMPLETED, confirmationJobService.getById(running.getJobId()).getStatus());
+            assertEquals(ConfirmationJobStatus.COMPLETED, confirmationJobService.getById(queued.getJobId()).getStatus());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @DisplayName("Should throw NotFoundAlertException for an unknown job")
+    @Test
+    void shouldThrowWhenJobNotFound() {
+        ConfirmationJobService confirmationJobService = confirmationJobService(SAME_THREAD);
+        UUID jobId = UUID.randomUUID();
+
+        NotFoundAlertException exception = assertThrows(NotFoundAlertException.class, () -> confirmationJobService.getById(jobId));
+
+        assertEquals("Confirmation job not found for ID: " + jobId, exception.getMessage());
+    }
+
+    @DisplayName("Should evict finished jobs older than the time-to-live and keep unfinished ones")
+    @Test
+    void shouldEvictExpiredJobs() throws InterruptedException {
+        when(confirmPaymentUseCase.confirm(clientPaymentsDTO)).thenReturn(clientPaymentsDTO);
+        List<Runnable> pending = new ArrayList<>();
+        ConfirmationJobService confirmationJobService = confirmationJobService(pending::add);
+        UUID finishedJobId = confirmationJobService.submit(clientPaymentsDTO).getJobId();
+        UUID unfinishedJobId = confirmationJobService.submit(clientPaymentsDTO).getJobId();
+        pending.get(0).run();
+
+        confirmationJobService.evictExpiredJobs();
+        assertEquals(ConfirmationJobStatus.COMPLETED, confirmationJobService.getById(finishedJobId).getStatus());
+
+        ReflectionTestUtils.setField(confirmationJobService, "jobTtl", Duration.ZERO);
+        Thread.sleep(5);
+        confirmationJobService.evictExpiredJobs();
+
+        assertThrows(NotFoundAlertException.class, () -> confirmationJobService.getById(finishedJobId));
+        assertEquals(ConfirmationJobStatus.PENDING, confirmationJobService.getById(unfinishedJobId).getStatus());
+    }
+
+    private ConfirmationJobService confirmationJobService(TaskExecutor confirmationExecutor) {
+        ConfirmationJobService confirmationJobService = new ConfirmationJobService(confirmPaymentUseCase, confirmationExecutor, confirmationAdmissionControl);
+        ReflectionTestUtils.setField(confirmationJobService, "jobTtl", Duration.ofMinutes(15));
+        return confirmationJobService;
+    }
+
+    private static int jobCount(ConfirmationJobService confirmationJobService) {
+        return ((Map<?, ?>) ReflectionTestUtils.getField(confirmationJobService, "jobs")).size();
+    }
+
+}
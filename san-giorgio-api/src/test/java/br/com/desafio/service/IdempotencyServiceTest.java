@@ -0,0 +1,174 @@
+package br.com.desafio.service;
+
+import br.com.desafio.domain.IdempotencyRecord;
+import br.com.desafio.domain.Money;
+import br.com.desafio.domain.dto.ClientPaymentsDTO;
+import br.com.desafio.domain.dto.PaymentDTO;
+import br.com.desafio.domain.enumeration.PaymentStatus;
+import br.com.desafio.exception.BadRequestAlertException;
+import br.com.desafio.repository.IdempotencyRecordRepository;
+import br.com.desafio.service.metrics.PaymentMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    private static final String IDEMPOTENCY_KEY = "retry-key";
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    private IdempotencyService idempotencyService;
+    private SimpleMeterRegistry meterRegistry;
+    private UUID clientId;
+    private UUID paymentId;
+    private AtomicInteger confirmations;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        idempotencyService = new IdempotencyService(idempotencyRecordRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                new ObjectMapper(),
+                new PaymentMetrics(meterRegistry),
+                meterRegistry,
+                100, Duration.ofHours(1), Duration.ofSeconds(5));
+        clientId = UUID.randomUUID();
+        paymentId = UUID.randomUUID();
+        confirmations = new AtomicInteger();
+    }
+
+    @DisplayName("Should confirm once and replay the response for the same key from memory")
+    @Test
+    void shouldReplayResponseFromMemory() {
+        when(idempotencyRecordRepository.findById(IDEMPOTENCY_KEY)).thenReturn(Optional.empty());
+
+        ClientPaymentsDTO first = idempotencyService.execute(IDEMPOTENCY_KEY, request(), this::confirm);
+        ClientPaymentsDTO replay = idempotencyService.execute(IDEMPOTENCY_KEY, request(), this::confirm);
+
+        assertEquals(1, confirmations.get());
+        assertEquals(PaymentStatus.TOTAL, first.getPayments().get(0).getPaymentStatus());
+        assertEquals(PaymentStatus.TOTAL, replay.getPayments().get(0).getPaymentStatus());
+        verify(idempotencyRecordRepository, times(1)).saveAndFlush(any(IdempotencyRecord.class));
+        assertEquals(1.0, meterRegistry.get("payment.idempotency.requests").tag("outcome", "cache").counter().count());
+    }
+
+    @DisplayName("Should replay a response stored by another node without confirming again")
+    @Test
+    void shouldReplayResponseFromStore() {
+        when(idempotencyRecordRepository.findById("other-node-key")).thenReturn(Optional.empty());
+        idempotencyService.execute("other-node-key", request(), this::confirm);
+        ArgumentCaptor<IdempotencyRecord> stored = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(idempotencyRecordRepository).saveAndFlush(stored.capture());
+
+        IdempotencyRecord storedByOtherNode = stored.getValue().toBuilder()
+                .idempotencyKey(IDEMPOTENCY_KEY)
+                .createdAt(LocalDateTime.now())
+                .build();
+        when(idempotencyRecordRepository.findById(IDEMPOTENCY_KEY)).thenReturn(Optional.of(storedByOtherNode));
+
+        ClientPaymentsDTO replay = idempotencyService.execute(IDEMPOTENCY_KEY, request(), this::confirm);
+
+        assertEquals(1, confirmations.get());
+        assertEquals(PaymentStatus.TOTAL, replay.getPayments().get(0).getPaymentStatus());
+    }
+
+    @DisplayName("Should reject a key reused with a different request body")
+    @Test
+    void shouldRejectKeyReusedWithDifferentRequest() {
+        when(idempotencyRecordRepository.findById(IDEMPOTENCY_KEY)).thenReturn(Optional.empty());
+        idempotencyService.execute(IDEMPOTENCY_KEY, request(), this::confirm);
+
+        ClientPaymentsDTO differentRequest = request();
+        differentRequest.getPayments().get(0).setPaymentValue(Money.ofCents(1));
+
+        assertThrows(BadRequestAlertException.class, () -> idempotencyService.execute(IDEMPOTENCY_KEY, differentRequest, this::confirm));
+        assertEquals(1, confirmations.get());
+    }
+
+    @DisplayName("Should make concurrent requests with the same key wait for the first one")
+    @Test
+    void shouldWaitForConcurrentRequest() throws Exception {
+        when(idempotencyRecordRepository.findById(IDEMPOTENCY_KEY)).thenReturn(Optional.empty());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<ClientPaymentsDTO> slowConfirmation = () -> {
+            started.countDown();
+            await(release);
+            return confirm();
+        };
+
+        CompletableFuture<ClientPaymentsDTO> first = CompletableFuture.supplyAsync(() -> idempotencyService.execute(IDEMPOTENCY_KEY, request(), slowConfirmation));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<ClientPaymentsDTO> second = CompletableFuture.supplyAsync(() -> idempotencyService.execute(IDEMPOTENCY_KEY, request(), this::confirm));
+        release.countDown();
+
+        assertEquals(PaymentStatus.TOTAL, first.get(5, TimeUnit.SECONDS).getPayments().get(0).getPaymentStatus());
+        assertEquals(PaymentStatus.TOTAL, second.get(5, TimeUnit.SECONDS).getPayments().get(0).getPaymentStatus());
+        assertEquals(1, confirmations.get());
+    }
+
+    @DisplayName("Should answer with the stored response when another node wins the insert race")
+    @Test
+    void shouldReplayWinnerWhenInsertConflicts() {
+        IdempotencyRecord winner = IdempotencyRecord.builder()
+                .idempotencyKey(IDEMPOTENCY_KEY)
+                .requestHash("ignored")
+                .paymentStatuses(PaymentStatus.SURPLUS.name())
+                .createdAt(LocalDateTime.now())
+                .expiresAt(LocalDateTime.now().plusHours(1))
+                .build();
+        when(idempotencyRecordRepository.findById(IDEMPOTENCY_KEY)).thenReturn(Optional.empty()).thenReturn(Optional.of(winner));
+        when(idempotencyRecordRepository.saveAndFlush(any(IdempotencyRecord.class))).thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        ClientPaymentsDTO response = idempotencyService.execute(IDEMPOTENCY_KEY, request(), this::confirm);
+
+        assertEquals(PaymentStatus.SURPLUS, response.getPayments().get(0).getPaymentStatus());
+    }
+
+    private ClientPaymentsDTO request() {
+        return new ClientPaymentsDTO(clientId, List.of(new PaymentDTO(paymentId, Money.ofCents(10_000), null)));
+    }
+
+    private ClientPaymentsDTO confirm() {
+        confirmations.incrementAndGet();
+        ClientPaymentsDTO response = request();
+        response.getPayments().forEach(payment -> payment.setPaymentStatus(PaymentStatus.TOTAL));
+        return response;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,83 @@
+package br.com.desafio.service;
+
+import br.com.desafio.domain.Money;
+import br.com.desafio.domain.dto.ClientPaymentDTO;
+import br.com.desafio.domain.dto.ClientPaymentPageDTO;
+import br.com.desafio.domain.dto.PaymentCursor;
+import br.com.desafio.domain.enumeration.PaymentStatus;
+import br.com.desafio.exception.BadRequestAlertException;
+import br.com.desafio.repository.PaymentRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentListingServiceTest {
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private ClientService clientService;
+
+    private PaymentListingService paymentListingService;
+    private UUID clientId;
+
+    @BeforeEach
+    void setUp() {
+        paymentListingService = new PaymentListingService(paymentRepository, clientService, new ObjectMapper(), 1000, 500);
+        clientId = UUID.randomUUID();
+    }
+
+    @DisplayName("Should return the cursor of the last payment when another page follows and continue after it")
+    @Test
+    void shouldChainPagesWithCursor() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 10, 12, 30, 15, 123_456_000);
+        ClientPaymentDTO first = payment(createdAt);
+        ClientPaymentDTO second = payment(createdAt.plusSeconds(1));
+        ClientPaymentDTO third = payment(createdAt.plusSeconds(2));
+        when(paymentRepository.findPage(clientId, PaymentStatus.TOTAL, null, 3)).thenReturn(List.of(first, second, third));
+
+        ClientPaymentPageDTO page = paymentListingService.getPage(clientId, PaymentStatus.TOTAL, null, 2);
+
+        assertEquals(List.of(first, second), page.getPayments());
+        assertNotNull(page.getNextCursor());
+        assertEquals(PaymentCursor.after(second), PaymentCursor.decode(page.getNextCursor()));
+
+        when(paymentRepository.findPage(clientId, PaymentStatus.TOTAL, PaymentCursor.after(second), 3)).thenReturn(List.of(third));
+
+        ClientPaymentPageDTO lastPage = paymentListingService.getPage(clientId, PaymentStatus.TOTAL, page.getNextCursor(), 2);
+
+        assertEquals(List.of(third), lastPage.getPayments());
+        assertNull(lastPage.getNextCursor());
+        verify(clientService, times(2)).ensureExistsById(clientId);
+    }
+
+    @DisplayName("Should reject a limit out of range or a cursor it did not issue")
+    @Test
+    void shouldRejectInvalidLimitOrCursor() {
+        assertThrows(BadRequestAlertException.class, () -> paymentListingService.getPage(clientId, null, null, 0));
+        assertThrows(BadRequestAlertException.class, () -> paymentListingService.getPage(clientId, null, null, 1001));
+        assertThrows(BadRequestAlertException.class, () -> paymentListingService.getPage(clientId, null, "not-a-cursor", 10));
+
+        verify(paymentRepository, never()).findPage(any(), any(), any(), anyInt());
+    }
+
+    private static ClientPaymentDTO payment(LocalDateTime createdAt) {
+        return new ClientPaymentDTO(UUID.randomUUID(), Money.ofCents(1_000), PaymentStatus.TOTAL, createdAt);
+    }
+
+}
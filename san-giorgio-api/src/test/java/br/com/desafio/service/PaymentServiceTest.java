@@ -1,14 +1,19 @@
 package br.com.desafio.service;
 
-import br.com.desafio.domain.Client;
-import br.com.desafio.domain.Payment;
+import br.com.desafio.domain.Money;
 import br.com.desafio.domain.dto.ClientPaymentsDTO;
 import br.com.desafio.domain.dto.PaymentDTO;
-import br.com.desafio.domain.dto.PaymentQueueMessage;
+import br.com.desafio.domain.dto.PaymentSnapshot;
+import br.com.desafio.domain.dto.PaymentStatusUpdate;
 import br.com.desafio.domain.enumeration.PaymentStatus;
+import br.com.desafio.exception.BadRequestAlertException;
+import br.com.desafio.exception.ConflictAlertException;
 import br.com.desafio.exception.NotFoundAlertException;
 import br.com.desafio.repository.PaymentRepository;
-import br.com.desafio.service.messaging.MessageService;
+import br.com.desafio.service.messaging.PaymentOutboxService;
+import br.com.desafio.service.metrics.PaymentMetrics;
+import br.com.desafio.util.QueueConstants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -17,11 +22,12 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -31,7 +37,8 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class PaymentServiceTest {
 
-    private static final BigDecimal ORIGINAL_PAYMENT_VALUE = BigDecimal.valueOf(100);
+    private static final Money ORIGINAL_PAYMENT_VALUE = Money.ofCents(10_000);
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 15, 10, 30);
 
     @InjectMocks
     private PaymentService paymentService;
@@ -40,14 +47,17 @@ class PaymentServiceTest {
     private ClientService clientService;
 
     @Mock
-    private MessageService messageService;
+    private PaymentOutboxService paymentOutboxService;
 
     @Mock
     private PaymentRepository paymentRepository;
 
+    @Spy
+    private PaymentMetrics paymentMetrics = new PaymentMetrics(new SimpleMeterRegistry());
+
     private UUID clientId;
     private UUID paymentId;
-    private Payment payment;
+    private PaymentSnapshot payment;
     private ClientPaymentsDTO clientPaymentsDTO;
 
     @BeforeEach
@@ -55,12 +65,7 @@ class PaymentServiceTest {
         clientId = UUID.randomUUID();
         paymentId = UUID.randomUUID();
 
-        Client client = Client.builder().clientId(clientId).name("Test Client").build();
-        payment = Payment.builder()
-                .paymentId(paymentId)
-                .client(client)
-                .paymentValue(ORIGINAL_PAYMENT_VALUE)
-                .build();
+        payment = new PaymentSnapshot(paymentId, clientId, ORIGINAL_PAYMENT_VALUE, CREATED_AT, 3L);
 
         PaymentDTO paymentDTO = new PaymentDTO(paymentId, ORIGINAL_PAYMENT_VALUE, null);
         clientPaymentsDTO = new ClientPaymentsDTO(clientId, List.of(paymentDTO));
@@ -70,14 +75,17 @@ class PaymentServiceTest {
     @ParameterizedTest(name = "{index} => paymentValue={0}, expectedStatus={1}, expectedQueue={2}")
     @CsvSource({
             "100, TOTAL, total-payments",
+            "100.00, TOTAL, total-payments",
             "50, PARTIAL, partial-payments",
-            "150, SURPLUS, surplus-payments"
+            "99.99, PARTIAL, partial-payments",
+            "150, SURPLUS, surplus-payments",
+            "100.01, SURPLUS, surplus-payments"
     })
-    void shouldProcessPaymentsWithDifferentValues(BigDecimal paymentValue, PaymentStatus expectedStatus, String expectedQueue) {
-        when(paymentRepository.findById(paymentId)).thenReturn(Optional.of(payment));
+    void shouldProcessPaymentsWithDifferentValues(String paymentValue, PaymentStatus expectedStatus, String expectedQueue) {
+        when(paymentRepository.findSnapshotsByClientId(clientId, Set.of(paymentId))).thenReturn(List.of(payment));
+        when(paymentRepository.updateStatuses(anyCollection())).thenReturn(List.of());
         doNothing().when(clientService).ensureExistsById(clientId);
-        when(paymentRepository.save(any(Payment.class))).thenReturn(payment);
-        clientPaymentsDTO.getPayments().get(0).setPaymentValue(paymentValue);
+        clientPaymentsDTO.getPayments().get(0).setPaymentValue(Money.parse(paymentValue));
 
         ClientPaymentsDTO result = paymentService.confirm(clientPaymentsDTO);
 
@@ -86,8 +94,32 @@ class PaymentServiceTest {
         PaymentDTO paymentResult = result.getPayments().get(0);
         assertEquals(expectedStatus, paymentResult.getPaymentStatus());
 
-        verify(messageService, times(1)).sendMessageToQueue(eq(expectedQueue), any(PaymentQueueMessage.class));
-        verifyNoMoreInteractions(messageService);
+        verify(paymentRepository, times(1)).updateStatuses(argThat(updates -> updates.size() == 1
+                && updates.contains(new PaymentStatusUpdate(paymentId, CREATED_AT, 3L, expectedStatus))));
+        verify(paymentRepository, never()).findExistingIds(anyCollection());
+
+        assertEquals(expectedQueue, QueueConstants.queueNameFor(expectedStatus));
+        verify(paymentOutboxService, times(1)).enqueue(argThat(messages -> messages.size() == 1
+                && messages.get(0).paymentId().equals(paymentId)
+                && messages.get(0).paymentStatus() == expectedStatus));
+        verifyNoMoreInteractions(paymentOutboxService);
+    }
+
+    @DisplayName("Should reject missing, zero, negative or too large payment values before reading anything")
+    @ParameterizedTest(name = "{index} => paymentValue={0}")
+    @CsvSource(value = {
+            "NULL, Payment value is required",
+            "0, Payment value must be positive",
+            "-10.50, Payment value must be positive",
+            "1000000.00, Payment value must have up to 6 digits and 2 decimal places"
+    }, nullValues = "NULL")
+    void shouldRejectInvalidPaymentValues(String paymentValue, String expectedError) {
+        clientPaymentsDTO.getPayments().get(0).setPaymentValue(paymentValue == null ? null : Money.parse(paymentValue));
+
+        BadRequestAlertException exception = assertThrows(BadRequestAlertException.class, () -> paymentService.confirm(clientPaymentsDTO));
+
+        assertEquals(expectedError + ". Payment ID: " + paymentId, exception.getMessage());
+        verifyNoInteractions(clientService, paymentRepository, paymentOutboxService);
     }
 
     @DisplayName("Should throw exception when client is not found")
@@ -105,27 +137,58 @@ class PaymentServiceTest {
 
         assertEquals("Client not found for ID: " + invalidClientId, exception.getMessage());
         verify(clientService, times(1)).ensureExistsById(invalidClientId);
-        verifyNoInteractions(paymentRepository, messageService);
+        verifyNoInteractions(paymentRepository, paymentOutboxService);
     }
 
-    @DisplayName("Should throw exception when payment code is not found")
+    @DisplayName("Should throw exception listing every payment code that is not found")
     @Test
     void shouldThrowExceptionWhenPaymentCodeNotFound() {
         UUID invalidPaymentId = UUID.randomUUID();
-        when(paymentRepository.findById(invalidPaymentId)).thenReturn(Optional.empty());
+        when(paymentRepository.findSnapshotsByClientId(clientId, Set.of(paymentId, invalidPaymentId))).thenReturn(List.of(payment));
+        when(paymentRepository.findExistingIds(List.of(invalidPaymentId))).thenReturn(List.of());
         doNothing().when(clientService).ensureExistsById(clientId);
 
         PaymentDTO invalidPayment = new PaymentDTO();
         invalidPayment.setPaymentId(invalidPaymentId);
-        clientPaymentsDTO.setPayments(List.of(invalidPayment));
+        invalidPayment.setPaymentValue(ORIGINAL_PAYMENT_VALUE);
+        clientPaymentsDTO.setPayments(List.of(clientPaymentsDTO.getPayments().get(0), invalidPayment));
 
         NotFoundAlertException exception = assertThrows(NotFoundAlertException.class, () -> {
             paymentService.confirm(clientPaymentsDTO);
         });
 
-        assertEquals("Payment not found for ID: " + invalidPaymentId, exception.getMessage());
-        verify(paymentRepository, times(1)).findById(invalidPaymentId);
-        verifyNoInteractions(messageService);
+        assertEquals("Payments not found for IDs: " + List.of(invalidPaymentId), exception.getMessage());
+        verify(paymentRepository, times(1)).findSnapshotsByClientId(clientId, Set.of(paymentId, invalidPaymentId));
+        verify(paymentRepository, times(1)).findExistingIds(List.of(invalidPaymentId));
+        verifyNoMoreInteractions(paymentRepository);
+        verifyNoInteractions(paymentOutboxService);
+    }
+
+    @DisplayName("Should reject payments that exist but belong to another client")
+    @Test
+    void shouldThrowExceptionWhenPaymentBelongsToAnotherClient() {
+        when(paymentRepository.findSnapshotsByClientId(clientId, Set.of(paymentId))).thenReturn(List.of());
+        when(paymentRepository.findExistingIds(List.of(paymentId))).thenReturn(List.of(paymentId));
+        doNothing().when(clientService).ensureExistsById(clientId);
+
+        BadRequestAlertException exception = assertThrows(BadRequestAlertException.class, () -> paymentService.confirm(clientPaymentsDTO));
+
+        assertEquals("Payment with ID: " + paymentId + " does not belong to client with ID: " + clientId, exception.getMessage());
+        verify(paymentRepository, never()).updateStatuses(anyCollection());
+        verifyNoInteractions(paymentOutboxService);
+    }
+
+    @DisplayName("Should reject the confirmation when a payment version no longer matches")
+    @Test
+    void shouldThrowConflictWhenVersionDoesNotMatch() {
+        when(paymentRepository.findSnapshotsByClientId(clientId, Set.of(paymentId))).thenReturn(List.of(payment));
+        when(paymentRepository.updateStatuses(anyCollection())).thenReturn(List.of(paymentId));
+        doNothing().when(clientService).ensureExistsById(clientId);
+
+        ConflictAlertException exception = assertThrows(ConflictAlertException.class, () -> paymentService.confirm(clientPaymentsDTO));
+
+        assertTrue(exception.getMessage().contains(paymentId.toString()));
+        verifyNoInteractions(paymentOutboxService);
     }
 
 }
@@ -0,0 +1,98 @@
+package br.com.desafio.service.admission;
+
+import br.com.desafio.config.AdmissionControlConfig;
+import br.com.desafio.config.AdmissionControlProperties;
+import br.com.desafio.exception.NotFoundAlertException;
+import br.com.desafio.exception.ServiceUnavailableAlertException;
+import br.com.desafio.exception.TooManyRequestsAlertException;
+import br.com.desafio.service.admission.LatencyCircuitBreaker.State;
+import br.com.desafio.service.metrics.PaymentMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConfirmationAdmissionControlTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private LatencyCircuitBreaker repositoryCircuitBreaker;
+    private ConfirmationAdmissionControl confirmationAdmissionControl;
+
+    @BeforeEach
+    void setUp() {
+        AdmissionControlProperties properties = new AdmissionControlProperties();
+        properties.setMaxInFlight(1);
+        properties.setRetryAfter(Duration.ofSeconds(2));
+        properties.getDefaults().setMinimumCalls(3);
+        properties.getDefaults().setWindowSize(3);
+
+        meterRegistry = new SimpleMeterRegistry();
+        PaymentMetrics paymentMetrics = new PaymentMetrics(meterRegistry);
+        repositoryCircuitBreaker = new LatencyCircuitBreaker(AdmissionControlConfig.REPOSITORY_CIRCUIT_BREAKER, properties.forDependency(AdmissionControlConfig.REPOSITORY_CIRCUIT_BREAKER));
+        paymentMetrics.registerCircuitBreaker(repositoryCircuitBreaker);
+        confirmationAdmissionControl = new ConfirmationAdmissionControl(properties, repositoryCircuitBreaker, paymentMetrics);
+    }
+
+    @DisplayName("Should reject confirmations beyond the in-flight limit with the configured retry delay")
+    @Test
+    void shouldRejectBeyondInFlightLimit() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> confirmationAdmissionControl.admit(() -> {
+            started.countDown();
+            await(release);
+            return "first";
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        TooManyRequestsAlertException exception = assertThrows(TooManyRequestsAlertException.class,
+                () -> confirmationAdmissionControl.admit(() -> "second"));
+
+        assertEquals(2, exception.getRetryAfterSeconds());
+        assertEquals(1, meterRegistry.get("payment.admission.in_flight").gauge().value());
+        assertEquals(1, meterRegistry.get("payment.admission.rejected").tag("reason", "in_flight").counter().count());
+
+        release.countDown();
+        assertEquals("first", running.get(5, TimeUnit.SECONDS));
+        assertEquals("third", confirmationAdmissionControl.admit(() -> "third"));
+        assertEquals(0, meterRegistry.get("payment.admission.in_flight").gauge().value());
+    }
+
+    @DisplayName("Should open the repository breaker on data access failures but not on validation errors")
+    @Test
+    void shouldOpenCircuitBreakerOnDataAccessFailures() {
+        assertThrows(NotFoundAlertException.class, () -> confirmationAdmissionControl.admit(() -> {
+            throw new NotFoundAlertException("Client not found");
+        }));
+        assertThrows(QueryTimeoutException.class, () -> confirmationAdmissionControl.admit(() -> {
+            throw new QueryTimeoutException("Query timed out");
+        }));
+        assertEquals(State.CLOSED, repositoryCircuitBreaker.state());
+
+        assertThrows(QueryTimeoutException.class, () -> confirmationAdmissionControl.admit(() -> {
+            throw new QueryTimeoutException("Query timed out");
+        }));
+
+        assertEquals(State.OPEN, repositoryCircuitBreaker.state());
+        assertEquals(State.OPEN.ordinal(), meterRegistry.get("payment.circuit_breaker.state").tag("dependency", "repository").gauge().value());
+        assertThrows(ServiceUnavailableAlertException.class, () -> confirmationAdmissionControl.admit(() -> "rejected"));
+        assertEquals(1, meterRegistry.get("payment.admission.rejected").tag("reason", "repository").counter().count());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,106 @@
+package br.com.desafio.service.admission;
+
+import br.com.desafio.config.AdmissionControlProperties.CircuitBreakerSettings;
+import br.com.desafio.service.admission.LatencyCircuitBreaker.State;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyCircuitBreakerTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(200);
+
+    private AtomicLong now;
+    private LatencyCircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        CircuitBreakerSettings settings = new CircuitBreakerSettings();
+        settings.setSlowCallThreshold(Duration.ofMillis(100));
+        settings.setSlowCallRateThreshold(0.5);
+        settings.setWindowSize(4);
+        settings.setMinimumCalls(4);
+        settings.setOpenDuration(Duration.ofSeconds(3));
+        settings.setHalfOpenCalls(2);
+
+        now = new AtomicLong();
+        circuitBreaker = new LatencyCircuitBreaker("repository", settings, now::get);
+    }
+
+    @DisplayName("Should open once half of the recent calls are slow or failed and reject calls until the open duration elapses")
+    @Test
+    void shouldOpenOnSlowCalls() {
+        call(FAST, false);
+        call(SLOW, false);
+        call(FAST, false);
+        assertEquals(State.CLOSED, circuitBreaker.state());
+
+        call(FAST, true);
+
+        assertEquals(State.OPEN, circuitBreaker.state());
+        assertFalse(circuitBreaker.tryAcquire());
+        assertEquals(3, circuitBreaker.retryAfterSeconds());
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(2500));
+
+        assertFalse(circuitBreaker.tryAcquire());
+        assertEquals(1, circuitBreaker.retryAfterSeconds());
+    }
+
+    @DisplayName("Should only count the calls inside the window")
+    @Test
+    void shouldForgetCallsOutsideWindow() {
+        call(SLOW, false);
+        for (int i = 0; i < 10; i++) {
+            call(FAST, false);
+        }
+        call(SLOW, false);
+
+        assertEquals(State.CLOSED, circuitBreaker.state());
+    }
+
+    @DisplayName("Should close after the probe calls are fast and reopen on a slow probe")
+    @Test
+    void shouldProbeWhenHalfOpen() {
+        open();
+        now.addAndGet(TimeUnit.SECONDS.toNanos(3));
+
+        assertTrue(circuitBreaker.tryAcquire());
+        assertTrue(circuitBreaker.tryAcquire());
+        assertFalse(circuitBreaker.tryAcquire());
+        assertEquals(State.HALF_OPEN, circuitBreaker.state());
+
+        circuitBreaker.record(FAST, false);
+        circuitBreaker.record(SLOW, false);
+
+        assertEquals(State.OPEN, circuitBreaker.state());
+        now.addAndGet(TimeUnit.SECONDS.toNanos(3));
+
+        call(FAST, false);
+        call(FAST, false);
+
+        assertEquals(State.CLOSED, circuitBreaker.state());
+        call(SLOW, false);
+        assertEquals(State.CLOSED, circuitBreaker.state());
+    }
+
+    private void open() {
+        for (int i = 0; i < 4; i++) {
+            call(SLOW, false);
+        }
+        assertEquals(State.OPEN, circuitBreaker.state());
+    }
+
+    private void call(long durationNanos, boolean failed) {
+        assertTrue(circuitBreaker.tryAcquire());
+        circuitBreaker.record(durationNanos, failed);
+    }
+
+}
@@ -0,0 +1,118 @@
+package br.com.desafio.service.messaging;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static br.com.desafio.util.ApiPaths.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Runs the application with its default messaging settings, SQS replaced by the in-memory stand-ins, and checks
+ * that a confirmed payment reaches the client payment summary through the outbox relay and the batch poller.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:client-payment-summary;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "payment.partitions.maintenance.enabled=false",
+        "payment.outbox.relay.fixed-delay=50"
+})
+@AutoConfigureMockMvc
+class ClientPaymentSummaryIntegrationTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 15, 10, 30);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID clientId;
+    private UUID paymentId;
+
+    @BeforeEach
+    void setUp() {
+        clientId = UUID.randomUUID();
+        paymentId = UUID.randomUUID();
+        Timestamp createdAt = Timestamp.valueOf(CREATED_AT);
+        jdbcTemplate.update("INSERT INTO clients (client_id, name, version) VALUES (?, ?, 0)", clientId, "Client");
+        jdbcTemplate.update("INSERT INTO payments (payment_id, client_id, payment_value, created_at, version) VALUES (?, ?, 100.00, ?, 0)",
+                paymentId, clientId, createdAt);
+        jdbcTemplate.update("INSERT INTO payment_keys (payment_id, created_at) VALUES (?, ?)", paymentId, createdAt);
+    }
+
+    @DisplayName("Should count a confirmed payment in the client payment summary")
+    @Test
+    void shouldUpdateSummaryAfterConfirmation() throws Exception {
+        mockMvc.perform(post(API_CONTEXT_PATH + RESOURCE_PAYMENTS)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"client_id": "%s", "payments": [{"payment_id": "%s", "payment_value": 100.00}]}
+                                """.formatted(clientId, paymentId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.payments[0].paymentStatus").value("TOTAL"));
+
+        awaitSummary();
+
+        mockMvc.perform(get(API_CONTEXT_PATH + RESOURCE_CLIENT_SUMMARY, clientId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total_count").value(1))
+                .andExpect(jsonPath("$.total_amount").value(100.0))
+                .andExpect(jsonPath("$.partial_count").value(0))
+                .andExpect(jsonPath("$.surplus_count").value(0));
+    }
+
+    /**
+     * Waits for the relay and the poller, which run in the background, to apply the payment's message.
+     */
+    private void awaitSummary() throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (jdbcTemplate.queryForObject("SELECT count(*) FROM client_payment_summary_entries WHERE payment_id = ?", Integer.class, paymentId) == 0
+                && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+    }
+
+    @TestConfiguration
+    static class InMemorySqsConfiguration {
+
+        @Bean
+        @Primary
+        InMemoryAmazonSQSAsync inMemoryAmazonSQSAsync() {
+            return new InMemoryAmazonSQSAsync();
+        }
+
+        /**
+         * Publishes into the queues the batch poller receives from.
+         */
+        @Bean
+        @Primary
+        InMemorySqsAsyncClient inMemorySqsAsyncClient(InMemoryAmazonSQSAsync inMemoryAmazonSQSAsync) {
+            InMemorySqsAsyncClient sqsAsyncClient = new InMemorySqsAsyncClient();
+            sqsAsyncClient.deliverTo(inMemoryAmazonSQSAsync);
+            return sqsAsyncClient;
+        }
+    }
+
+}
@@ -0,0 +1,129 @@
+package br.com.desafio.service.messaging;
+
+import com.amazonaws.services.sqs.AbstractAmazonSQSAsync;
+import com.amazonaws.services.sqs.model.DeleteMessageBatchRequest;
+import com.amazonaws.services.sqs.model.DeleteMessageBatchRequestEntry;
+import com.amazonaws.services.sqs.model.DeleteMessageBatchResult;
+import com.amazonaws.services.sqs.model.DeleteMessageBatchResultEntry;
+import com.amazonaws.services.sqs.model.GetQueueUrlRequest;
+import com.amazonaws.services.sqs.model.GetQueueUrlResult;
+import com.amazonaws.services.sqs.model.Message;
+import com.amazonaws.services.sqs.model.MessageAttributeValue;
+import com.amazonaws.services.sqs.model.ReceiveMessageRequest;
+import com.amazonaws.services.sqs.model.ReceiveMessageResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory stand-in for the SQS client the batch poller receives with.
+ * <p>
+ * Messages added with {@link #enqueue} can be received and deleted: a received message stays hidden for the
+ * visibility timeout of the request and is received again afterwards until it is deleted.
+ * </p>
+ */
+public class InMemoryAmazonSQSAsync extends AbstractAmazonSQSAsync {
+
+    private static final String QUEUE_URL_PREFIX = "http://localhost:4566/000000000000/";
+    private static final long EMPTY_RECEIVE_WAIT_MILLIS = 10;
+
+    private final Map<String, List<ReceivableMessage>> receivableByQueueUrl = new ConcurrentHashMap<>();
+    private final List<String> deletedMessageIds = new CopyOnWriteArrayList<>();
+    private final AtomicInteger receiveCount = new AtomicInteger();
+
+    /**
+     * Adds a message that ReceiveMessage returns from the given queue.
+     *
+     * @return the ID of the message
+     */
+    public String enqueue(String queueName, String body, Map<String, MessageAttributeValue> attributes) {
+        String messageId = UUID.randomUUID().toString();
+        Message message = new Message()
+                .withMessageId(messageId)
+                .withReceiptHandle("receipt-" + messageId)
+                .withBody(body)
+                .withMessageAttributes(attributes);
+        receivableByQueueUrl.computeIfAbsent(QUEUE_URL_PREFIX + queueName, url -> new CopyOnWriteArrayList<>())
+                .add(new ReceivableMessage(message));
+        return messageId;
+    }
+
+    public List<String> deletedMessageIds() {
+        return deletedMessageIds;
+    }
+
+    /**
+     * Number of times messages were received, counting every redelivery.
+     */
+    public int receiveCount() {
+        return receiveCount.get();
+    }
+
+    @Override
+    public ReceiveMessageResult receiveMessage(ReceiveMessageRequest request) {
+        long now = System.nanoTime();
+        List<Message> received = new ArrayList<>();
+        for (ReceivableMessage receivable : receivableByQueueUrl.getOrDefault(request.getQueueUrl(), List.of())) {
+            if (received.size() == request.getMaxNumberOfMessages()) {
+                break;
+            }
+            if (receivable.visibleAt <= now) {
+                receivable.visibleAt = now + TimeUnit.SECONDS.toNanos(request.getVisibilityTimeout());
+                received.add(receivable.message);
+            }
+        }
+        receiveCount.addAndGet(received.size());
+
+        if (received.isEmpty()) {
+            try {
+                Thread.sleep(EMPTY_RECEIVE_WAIT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return new ReceiveMessageResult().withMessages(received);
+    }
+
+    @Override
+    public DeleteMessageBatchResult deleteMessageBatch(DeleteMessageBatchRequest request) {
+        List<ReceivableMessage> queue = receivableByQueueUrl.getOrDefault(request.getQueueUrl(), List.of());
+        List<DeleteMessageBatchResultEntry> successful = new ArrayList<>();
+        for (DeleteMessageBatchRequestEntry entry : request.getEntries()) {
+            queue.stream()
+                    .filter(receivable -> receivable.message.getReceiptHandle().equals(entry.getReceiptHandle()))
+                    .findFirst()
+                    .ifPresent(receivable -> {
+                        queue.remove(receivable);
+                        deletedMessageIds.add(receivable.message.getMessageId());
+                    });
+            successful.add(new DeleteMessageBatchResultEntry().withId(entry.getId()));
+        }
+        return new DeleteMessageBatchResult().withSuccessful(successful);
+    }
+
+    @Override
+    public GetQueueUrlResult getQueueUrl(String queueName) {
+        return getQueueUrl(new GetQueueUrlRequest(queueName));
+    }
+
+    @Override
+    public GetQueueUrlResult getQueueUrl(GetQueueUrlRequest request) {
+        return new GetQueueUrlResult().withQueueUrl(QUEUE_URL_PREFIX + request.getQueueName());
+    }
+
+    private static final class ReceivableMessage {
+
+        private final Message message;
+        private volatile long visibleAt = Long.MIN_VALUE;
+
+        private ReceivableMessage(Message message) {
+            this.message = message;
+        }
+    }
+}
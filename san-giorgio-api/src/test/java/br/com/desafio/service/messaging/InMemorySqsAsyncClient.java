@@ -0,0 +1,180 @@
+package br.com.desafio.service.messaging;
+
+import com.amazonaws.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.CreateQueueRequest;
+import software.amazon.awssdk.services.sqs.model.CreateQueueResponse;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesResponse;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlResponse;
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
+import software.amazon.awssdk.services.sqs.model.QueueDoesNotExistException;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
+import software.amazon.awssdk.services.sqs.model.SetQueueAttributesRequest;
+import software.amazon.awssdk.services.sqs.model.SetQueueAttributesResponse;
+import software.amazon.awssdk.services.sqs.model.SqsException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory stand-in for the SDK v2 asynchronous SQS client, the counterpart of {@link InMemoryAmazonSQSAsync}.
+ * <p>
+ * Responses can be held back with {@link #holdResponses()} to observe how many calls are in flight at once,
+ * and released with {@link #releaseResponses()}. With {@link #deliverTo} every stored message is also made
+ * receivable from the given SDK v1 stand-in, so a publisher and a consumer can be wired end to end.
+ * </p>
+ */
+class InMemorySqsAsyncClient implements SqsAsyncClient {
+
+    private static final String QUEUE_URL_PREFIX = "http://localhost:4566/000000000000/";
+    private static final String QUEUE_ARN_PREFIX = "arn:aws:sqs:us-east-1:000000000000:";
+
+    final Map<String, List<String>> messagesByQueueUrl = new ConcurrentHashMap<>();
+    final List<SendMessageBatchRequest> batchRequests = new CopyOnWriteArrayList<>();
+    final List<CreateQueueRequest> createQueueRequests = new CopyOnWriteArrayList<>();
+    final List<GetQueueUrlRequest> getQueueUrlRequests = new CopyOnWriteArrayList<>();
+    final List<SetQueueAttributesRequest> setQueueAttributesRequests = new CopyOnWriteArrayList<>();
+
+    private final Set<String> createdQueues = ConcurrentHashMap.newKeySet();
+
+    private final List<Integer> transientFailuresPerCall = new CopyOnWriteArrayList<>();
+    private final List<Runnable> heldResponses = new CopyOnWriteArrayList<>();
+    private final AtomicInteger failingQueueCreations = new AtomicInteger();
+    private volatile boolean holdResponses;
+    private volatile InMemoryAmazonSQSAsync consumer;
+
+    /**
+     * Makes the next SendMessageBatch calls fail the given number of entries (the first ones of each call).
+     */
+    void failNextBatches(Integer... failedEntriesPerCall) {
+        transientFailuresPerCall.addAll(List.of(failedEntriesPerCall));
+    }
+
+    void failNextQueueCreations(int count) {
+        failingQueueCreations.set(count);
+    }
+
+    void deliverTo(InMemoryAmazonSQSAsync consumer) {
+        this.consumer = consumer;
+    }
+
+    void holdResponses() {
+        holdResponses = true;
+    }
+
+    /**
+     * Completes the held responses, including the ones of calls started while releasing, and stops holding.
+     */
+    void releaseResponses() {
+        holdResponses = false;
+        while (!heldResponses.isEmpty()) {
+            heldResponses.remove(0).run();
+        }
+    }
+
+    List<String> messages(String queueName) {
+        return messagesByQueueUrl.getOrDefault(QUEUE_URL_PREFIX + queueName, List.of());
+    }
+
+    @Override
+    public CompletableFuture<CreateQueueResponse> createQueue(CreateQueueRequest request) {
+        createQueueRequests.add(request);
+        if (failingQueueCreations.getAndUpdate(count -> Math.max(0, count - 1)) > 0) {
+            return CompletableFuture.failedFuture(SqsException.builder().message("Service unavailable").statusCode(503).build());
+        }
+        createdQueues.add(request.queueName());
+        return CompletableFuture.completedFuture(CreateQueueResponse.builder().queueUrl(QUEUE_URL_PREFIX + request.queueName()).build());
+    }
+
+    @Override
+    public CompletableFuture<GetQueueUrlResponse> getQueueUrl(GetQueueUrlRequest request) {
+        getQueueUrlRequests.add(request);
+        if (!createdQueues.contains(request.queueName())) {
+            return CompletableFuture.failedFuture(QueueDoesNotExistException.builder().message("Queue does not exist").statusCode(400).build());
+        }
+        return CompletableFuture.completedFuture(GetQueueUrlResponse.builder().queueUrl(QUEUE_URL_PREFIX + request.queueName()).build());
+    }
+
+    @Override
+    public CompletableFuture<GetQueueAttributesResponse> getQueueAttributes(GetQueueAttributesRequest request) {
+        String queueName = request.queueUrl().substring(QUEUE_URL_PREFIX.length());
+        return CompletableFuture.completedFuture(GetQueueAttributesResponse.builder()
+                .attributes(Map.of(QueueAttributeName.QUEUE_ARN, QUEUE_ARN_PREFIX + queueName))
+                .build());
+    }
+
+    @Override
+    public CompletableFuture<SetQueueAttributesResponse> setQueueAttributes(SetQueueAttributesRequest request) {
+        setQueueAttributesRequests.add(request);
+        return CompletableFuture.completedFuture(SetQueueAttributesResponse.builder().build());
+    }
+
+    @Override
+    public CompletableFuture<SendMessageBatchResponse> sendMessageBatch(SendMessageBatchRequest request) {
+        if (request.entries().size() > PaymentMessageBatchEntries.MAX_BATCH_SIZE) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Too many entries in batch: " + request.entries().size()));
+        }
+        batchRequests.add(request);
+
+        CompletableFuture<SendMessageBatchResponse> response = new CompletableFuture<>();
+        Runnable respond = () -> response.complete(store(request));
+        if (holdResponses) {
+            heldResponses.add(respond);
+        } else {
+            respond.run();
+        }
+        return response;
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+        // nothing to release
+    }
+
+    private SendMessageBatchResponse store(SendMessageBatchRequest request) {
+        int failures = transientFailuresPerCall.isEmpty() ? 0 : transientFailuresPerCall.remove(0);
+        List<BatchResultErrorEntry> failed = new ArrayList<>();
+        List<SendMessageBatchResultEntry> successful = new ArrayList<>();
+        List<SendMessageBatchRequestEntry> entries = request.entries();
+        for (int i = 0; i < entries.size(); i++) {
+            SendMessageBatchRequestEntry entry = entries.get(i);
+            if (i < failures) {
+                failed.add(BatchResultErrorEntry.builder().id(entry.id()).code("ServiceUnavailable").senderFault(false).build());
+            } else {
+                messagesByQueueUrl.computeIfAbsent(request.queueUrl(), url -> new CopyOnWriteArrayList<>()).add(entry.messageBody());
+                if (consumer != null) {
+                    consumer.enqueue(request.queueUrl().substring(QUEUE_URL_PREFIX.length()), entry.messageBody(), v1Attributes(entry));
+                }
+                successful.add(SendMessageBatchResultEntry.builder().id(entry.id()).build());
+            }
+        }
+        return SendMessageBatchResponse.builder().successful(successful).failed(failed).build();
+    }
+
+    private static Map<String, MessageAttributeValue> v1Attributes(SendMessageBatchRequestEntry entry) {
+        Map<String, MessageAttributeValue> attributes = new HashMap<>();
+        entry.messageAttributes().forEach((name, value) -> attributes.put(name, new MessageAttributeValue()
+                .withDataType(value.dataType())
+                .withStringValue(value.stringValue())));
+        return attributes;
+    }
+
+}
@@ -0,0 +1,146 @@
+package br.com.desafio.service.messaging;
+
+import br.com.desafio.config.ExecutionThreads;
+import br.com.desafio.domain.Money;
+import br.com.desafio.domain.dto.PaymentQueueMessage;
+import br.com.desafio.domain.enumeration.PaymentStatus;
+import br.com.desafio.exception.BadRequestAlertException;
+import br.com.desafio.listener.PaymentStatusListener;
+import br.com.desafio.service.metrics.PaymentMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static br.com.desafio.util.QueueConstants.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InProcessMessageBrokerTest {
+
+    @Mock
+    private PaymentStatusListener paymentStatusListener;
+
+    private InProcessMessageBroker inProcessMessageBroker;
+    private List<PaymentQueueMessage> partialPayments;
+    private List<PaymentQueueMessage> totalPayments;
+
+    @BeforeEach
+    void setUp() {
+        partialPayments = new CopyOnWriteArrayList<>();
+        totalPayments = new CopyOnWriteArrayList<>();
+        lenient().doAnswer(invocation -> partialPayments.addAll(invocation.getArgument(0))).when(paymentStatusListener).handlePartialPayments(anyList());
+        lenient().doAnswer(invocation -> totalPayments.addAll(invocation.getArgument(0))).when(paymentStatusListener).handleTotalPayments(anyList());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (inProcessMessageBroker.isRunning()) {
+            inProcessMessageBroker.stop();
+        }
+    }
+
+    @DisplayName("Should deliver every message to the batch method of its queue in publish order")
+    @Test
+    void shouldDeliverToListenerInOrder() {
+        inProcessMessageBroker = broker(64, Duration.ofSeconds(5));
+        inProcessMessageBroker.start();
+        List<PaymentQueueMessage> partial = messages(PaymentStatus.PARTIAL, 250);
+        List<PaymentQueueMessage> total = messages(PaymentStatus.TOTAL, 5);
+        List<PaymentQueueMessage> published = new ArrayList<>(partial);
+        published.addAll(total);
+
+        inProcessMessageBroker.publishAndWait(published);
+        inProcessMessageBroker.stop();
+
+        assertEquals(partial, partialPayments);
+        assertEquals(total, totalPayments);
+        verify(paymentStatusListener, never()).handleSurplusPayments(anyList());
+    }
+
+    @DisplayName("Should fail the publish when a queue stays full")
+    @Test
+    void shouldFailWhenQueueIsFull() {
+        inProcessMessageBroker = broker(4, Duration.ofMillis(10));
+
+        assertThrows(BadRequestAlertException.class, () -> inProcessMessageBroker.publishAndWait(messages(PaymentStatus.PARTIAL, 6)));
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> inProcessMessageBroker.publish(messages(PaymentStatus.PARTIAL, 1)).join());
+
+        assertInstanceOf(BadRequestAlertException.class, exception.getCause());
+        verifyNoInteractions(paymentStatusListener);
+    }
+
+    @DisplayName("Should hand a failed batch to the listener again and dead-letter it once every attempt failed")
+    @Test
+    void shouldRetryAndDeadLetterFailedBatches() {
+        List<PaymentQueueMessage> partial = messages(PaymentStatus.PARTIAL, 5);
+        doThrow(new IllegalStateException("Database unavailable"))
+                .doThrow(new IllegalStateException("Database unavailable"))
+                .doAnswer(invocation -> partialPayments.addAll(invocation.getArgument(0)))
+                .when(paymentStatusListener).handlePartialPayments(anyList());
+        doThrow(new IllegalStateException("Database unavailable")).when(paymentStatusListener).handleTotalPayments(anyList());
+        inProcessMessageBroker = broker(64, Duration.ofSeconds(5));
+        inProcessMessageBroker.start();
+
+        inProcessMessageBroker.publishAndWait(partial);
+        inProcessMessageBroker.publishAndWait(messages(PaymentStatus.TOTAL, 2));
+        inProcessMessageBroker.stop();
+
+        assertEquals(partial, partialPayments);
+        verify(paymentStatusListener, times(3)).handlePartialPayments(anyList());
+        verify(paymentStatusListener, times(3)).handleTotalPayments(anyList());
+        assertEquals(0, inProcessMessageBroker.deadLetterCount(PARTIAL_PAYMENTS_QUEUE));
+        assertEquals(2, inProcessMessageBroker.deadLetterCount(TOTAL_PAYMENTS_QUEUE));
+    }
+
+    @DisplayName("Should put dead-lettered messages back on their queue when redriven")
+    @Test
+    void shouldRedriveDeadLetters() throws Exception {
+        List<PaymentQueueMessage> total = messages(PaymentStatus.TOTAL, 2);
+        doThrow(new IllegalStateException("Database unavailable")).when(paymentStatusListener).handleTotalPayments(anyList());
+        inProcessMessageBroker = broker(64, Duration.ofSeconds(5));
+        inProcessMessageBroker.start();
+        inProcessMessageBroker.publishAndWait(total);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (inProcessMessageBroker.deadLetterCount(TOTAL_PAYMENTS_QUEUE) < total.size() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        doAnswer(invocation -> totalPayments.addAll(invocation.getArgument(0))).when(paymentStatusListener).handleTotalPayments(anyList());
+
+        assertEquals(total.size(), inProcessMessageBroker.redriveDeadLetters());
+        inProcessMessageBroker.stop();
+
+        assertEquals(total, totalPayments);
+        assertEquals(0, inProcessMessageBroker.deadLetterCount(TOTAL_PAYMENTS_QUEUE));
+    }
+
+    private InProcessMessageBroker broker(int capacity, Duration publishTimeout) {
+        return new InProcessMessageBroker(paymentStatusListener, new PaymentMetrics(new SimpleMeterRegistry()), new ExecutionThreads(new MockEnvironment()),
+                capacity, 1, 100, publishTimeout, 3, Duration.ofMillis(1));
+    }
+
+    private static List<PaymentQueueMessage> messages(PaymentStatus status, int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new PaymentQueueMessage(UUID.randomUUID(), UUID.randomUUID(), Money.ofCents(100 + i), status, 0L))
+                .toList();
+    }
+
+}
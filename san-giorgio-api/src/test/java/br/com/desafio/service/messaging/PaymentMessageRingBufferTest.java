@@ -0,0 +1,71 @@
+package br.com.desafio.service.messaging;
+
+import br.com.desafio.domain.Money;
+import br.com.desafio.domain.dto.PaymentQueueMessage;
+import br.com.desafio.domain.enumeration.PaymentStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaymentMessageRingBufferTest {
+
+    @DisplayName("Should keep the publish order across wrap-arounds and take messages in batches")
+    @Test
+    void shouldKeepOrderAcrossWrapArounds() throws InterruptedException {
+        PaymentMessageRingBuffer ringBuffer = new PaymentMessageRingBuffer(6);
+        List<PaymentQueueMessage> messages = messages(20);
+        List<PaymentQueueMessage> taken = new ArrayList<>();
+
+        assertEquals(8, ringBuffer.capacity());
+        for (int start = 0; start < messages.size(); start += 5) {
+            assertEquals(5, ringBuffer.put(messages.subList(start, start + 5), 0, TimeUnit.MILLISECONDS));
+            assertEquals(3, ringBuffer.take(taken, 3, 0, TimeUnit.MILLISECONDS));
+            assertEquals(2, ringBuffer.take(taken, 3, 0, TimeUnit.MILLISECONDS));
+        }
+
+        assertEquals(messages, taken);
+        assertEquals(0, ringBuffer.size());
+    }
+
+    @DisplayName("Should accept only the free slots when full and return nothing when empty once the timeout elapses")
+    @Test
+    void shouldTimeOutWhenFullOrEmpty() throws InterruptedException {
+        PaymentMessageRingBuffer ringBuffer = new PaymentMessageRingBuffer(4);
+        List<PaymentQueueMessage> taken = new ArrayList<>();
+
+        assertEquals(4, ringBuffer.put(messages(6), 10, TimeUnit.MILLISECONDS));
+        assertEquals(4, ringBuffer.size());
+        assertEquals(4, ringBuffer.take(taken, 10, 10, TimeUnit.MILLISECONDS));
+        assertEquals(0, ringBuffer.take(taken, 10, 10, TimeUnit.MILLISECONDS));
+    }
+
+    @DisplayName("Should reject new messages once closed and still hand out the ones already appended")
+    @Test
+    void shouldRejectMessagesWhenClosed() throws InterruptedException {
+        PaymentMessageRingBuffer ringBuffer = new PaymentMessageRingBuffer(4);
+        List<PaymentQueueMessage> messages = messages(2);
+        List<PaymentQueueMessage> taken = new ArrayList<>();
+        ringBuffer.put(messages, 0, TimeUnit.MILLISECONDS);
+
+        ringBuffer.close();
+
+        assertEquals(0, ringBuffer.put(messages(1), 1, TimeUnit.SECONDS));
+        assertEquals(2, ringBuffer.take(taken, 10, 0, TimeUnit.MILLISECONDS));
+        assertEquals(messages, taken);
+    }
+
+    private static List<PaymentQueueMessage> messages(int count) {
+        UUID clientId = UUID.randomUUID();
+        return IntStream.range(0, count)
+                .mapToObj(i -> new PaymentQueueMessage(clientId, UUID.randomUUID(), Money.ofCents(100 + i), PaymentStatus.PARTIAL, 0L))
+                .toList();
+    }
+
+}
@@ -0,0 +1,64 @@
+package br.com.desafio.service.messaging;
+
+import br.com.desafio.exception.BadRequestAlertException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentOutboxRelayTest {
+
+    private static final int BATCH_SIZE = 10;
+
+    @InjectMocks
+    private PaymentOutboxRelay paymentOutboxRelay;
+
+    @Mock
+    private PaymentOutboxService paymentOutboxService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(paymentOutboxRelay, "batchSize", BATCH_SIZE);
+    }
+
+    @DisplayName("Should keep relaying while full batches are found")
+    @Test
+    void shouldDrainBacklog() {
+        when(paymentOutboxService.relayNextBatch(BATCH_SIZE)).thenReturn(BATCH_SIZE, BATCH_SIZE, 3);
+
+        paymentOutboxRelay.relay();
+
+        verify(paymentOutboxService, times(3)).relayNextBatch(BATCH_SIZE);
+    }
+
+    @DisplayName("Should stop at an empty outbox or an open circuit breaker")
+    @Test
+    void shouldStopWhenNothingIsRelayed() {
+        when(paymentOutboxService.relayNextBatch(BATCH_SIZE)).thenReturn(0);
+
+        paymentOutboxRelay.relay();
+
+        verify(paymentOutboxService).relayNextBatch(BATCH_SIZE);
+    }
+
+    @DisplayName("Should stop and leave the failed batch for the next run when relaying fails")
+    @Test
+    void shouldSwallowFailures() {
+        when(paymentOutboxService.relayNextBatch(BATCH_SIZE))
+                .thenReturn(BATCH_SIZE)
+                .thenThrow(new BadRequestAlertException("Unexpected error while sending payment message to processing queue"));
+
+        assertDoesNotThrow(() -> paymentOutboxRelay.relay());
+
+        verify(paymentOutboxService, times(2)).relayNextBatch(BATCH_SIZE);
+    }
+
+}
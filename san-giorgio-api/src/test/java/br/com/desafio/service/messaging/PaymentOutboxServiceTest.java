@@ -0,0 +1,141 @@
+package br.com.desafio.service.messaging;
+
+import br.com.desafio.domain.Money;
+import br.com.desafio.domain.PaymentOutboxMessage;
+import br.com.desafio.domain.dto.PaymentQueueMessage;
+import br.com.desafio.domain.enumeration.PaymentStatus;
+import br.com.desafio.exception.BadRequestAlertException;
+import br.com.desafio.repository.PaymentOutboxRepository;
+import br.com.desafio.service.admission.LatencyCircuitBreaker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static br.com.desafio.util.QueueConstants.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentOutboxServiceTest {
+
+    private static final int BATCH_SIZE = 100;
+
+    @Mock
+    private PaymentOutboxRepository paymentOutboxRepository;
+
+    @Mock
+    private PaymentMessagePublisher paymentMessagePublisher;
+
+    @Mock
+    private LatencyCircuitBreaker messagingCircuitBreaker;
+
+    private PaymentOutboxService paymentOutboxService;
+
+    private UUID clientId;
+
+    @BeforeEach
+    void setUp() {
+        paymentOutboxService = new PaymentOutboxService(paymentOutboxRepository, paymentMessagePublisher, messagingCircuitBreaker);
+        clientId = UUID.randomUUID();
+    }
+
+    @DisplayName("Should store each message in the outbox with the queue of its status")
+    @Test
+    void shouldEnqueueMessages() {
+        PaymentQueueMessage partial = new PaymentQueueMessage(clientId, UUID.randomUUID(), Money.ofCents(5_000), PaymentStatus.PARTIAL, 1);
+        PaymentQueueMessage surplus = new PaymentQueueMessage(clientId, UUID.randomUUID(), Money.ofCents(20_000), PaymentStatus.SURPLUS, 4);
+
+        paymentOutboxService.enqueue(List.of(partial, surplus));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PaymentOutboxMessage>> saved = ArgumentCaptor.forClass(List.class);
+        verify(paymentOutboxRepository).saveAll(saved.capture());
+        assertEquals(2, saved.getValue().size());
+
+        PaymentOutboxMessage partialMessage = saved.getValue().get(0);
+        assertEquals(PARTIAL_PAYMENTS_QUEUE, partialMessage.getQueueName());
+        assertEquals(partial.paymentId(), partialMessage.getPaymentId());
+        assertEquals(clientId, partialMessage.getClientId());
+        assertEquals(Money.ofCents(5_000), partialMessage.getPaymentValue());
+        assertEquals(1, partialMessage.getPaymentVersion());
+        assertEquals(SURPLUS_PAYMENTS_QUEUE, saved.getValue().get(1).getQueueName());
+        assertEquals(4, saved.getValue().get(1).getPaymentVersion());
+        verifyNoInteractions(paymentMessagePublisher);
+    }
+
+    @DisplayName("Should publish the locked batch and delete it from the outbox")
+    @Test
+    void shouldRelayNextBatch() {
+        PaymentOutboxMessage outboxMessage = outboxMessage(PaymentStatus.TOTAL, 2);
+        List<PaymentOutboxMessage> batch = List.of(outboxMessage);
+        when(paymentOutboxRepository.lockNextBatch(BATCH_SIZE)).thenReturn(batch);
+        when(messagingCircuitBreaker.tryAcquire()).thenReturn(true);
+
+        int relayed = paymentOutboxService.relayNextBatch(BATCH_SIZE);
+
+        assertEquals(1, relayed);
+        verify(paymentMessagePublisher).publishAndWait(List.of(new PaymentQueueMessage(clientId, outboxMessage.getPaymentId(),
+                outboxMessage.getPaymentValue(), PaymentStatus.TOTAL, 2)));
+        verify(messagingCircuitBreaker).record(anyLong(), eq(false));
+        verify(paymentOutboxRepository).deleteAllInBatch(batch);
+    }
+
+    @DisplayName("Should not acquire the circuit breaker when the outbox is empty")
+    @Test
+    void shouldSkipEmptyOutbox() {
+        when(paymentOutboxRepository.lockNextBatch(BATCH_SIZE)).thenReturn(List.of());
+
+        assertEquals(0, paymentOutboxService.relayNextBatch(BATCH_SIZE));
+
+        verifyNoInteractions(messagingCircuitBreaker, paymentMessagePublisher);
+        verify(paymentOutboxRepository, never()).deleteAllInBatch(any());
+    }
+
+    @DisplayName("Should leave the messages in the outbox while the messaging circuit breaker is open")
+    @Test
+    void shouldNotPublishWhileCircuitBreakerIsOpen() {
+        when(paymentOutboxRepository.lockNextBatch(BATCH_SIZE)).thenReturn(List.of(outboxMessage(PaymentStatus.PARTIAL, 1)));
+        when(messagingCircuitBreaker.tryAcquire()).thenReturn(false);
+
+        assertEquals(0, paymentOutboxService.relayNextBatch(BATCH_SIZE));
+
+        verifyNoInteractions(paymentMessagePublisher);
+        verify(messagingCircuitBreaker, never()).record(anyLong(), anyBoolean());
+        verify(paymentOutboxRepository, never()).deleteAllInBatch(any());
+    }
+
+    @DisplayName("Should record the failure and keep the messages when publishing fails")
+    @Test
+    void shouldKeepMessagesWhenPublishFails() {
+        when(paymentOutboxRepository.lockNextBatch(BATCH_SIZE)).thenReturn(List.of(outboxMessage(PaymentStatus.TOTAL, 1)));
+        when(messagingCircuitBreaker.tryAcquire()).thenReturn(true);
+        doThrow(new BadRequestAlertException("Unexpected error while sending payment message to processing queue"))
+                .when(paymentMessagePublisher).publishAndWait(anyList());
+
+        assertThrows(BadRequestAlertException.class, () -> paymentOutboxService.relayNextBatch(BATCH_SIZE));
+
+        verify(messagingCircuitBreaker).record(anyLong(), eq(true));
+        verify(paymentOutboxRepository, never()).deleteAllInBatch(any());
+    }
+
+    private PaymentOutboxMessage outboxMessage(PaymentStatus paymentStatus, long paymentVersion) {
+        return PaymentOutboxMessage.builder()
+                .outboxId(UUID.randomUUID())
+                .queueName(queueNameFor(paymentStatus))
+                .clientId(clientId)
+                .paymentId(UUID.randomUUID())
+                .paymentValue(Money.ofCents(10_000))
+                .paymentStatus(paymentStatus)
+                .paymentVersion(paymentVersion)
+                .build();
+    }
+
+}
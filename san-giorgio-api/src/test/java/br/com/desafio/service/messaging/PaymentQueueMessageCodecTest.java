@@ -0,0 +1,73 @@
+package br.com.desafio.service.messaging;
+
+import br.com.desafio.domain.Money;
+import br.com.desafio.domain.dto.PaymentQueueMessage;
+import br.com.desafio.domain.enumeration.PaymentStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaymentQueueMessageCodecTest {
+
+    @DisplayName("Should decode every status back to the encoded message")
+    @ParameterizedTest
+    @EnumSource(PaymentStatus.class)
+    void shouldRoundTrip(PaymentStatus status) {
+        PaymentQueueMessage message = new PaymentQueueMessage(UUID.randomUUID(), UUID.randomUUID(), Money.ofCents(-123_456_789L), status, Long.MAX_VALUE);
+
+        String encoded = PaymentQueueMessageCodec.encode(message);
+
+        assertEquals(68, encoded.length());
+        assertEquals(message, PaymentQueueMessageCodec.decode(encoded));
+    }
+
+    @DisplayName("Should reject messages with an unknown version")
+    @Test
+    void shouldRejectUnknownVersion() {
+        byte[] bytes = Base64.getDecoder().decode(PaymentQueueMessageCodec.encode(message()));
+        bytes[0] = 3;
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> PaymentQueueMessageCodec.decode(Base64.getEncoder().encodeToString(bytes)));
+
+        assertEquals("Unsupported payment message version: 3", exception.getMessage());
+    }
+
+    @DisplayName("Should decode version 1 messages with payment version 0")
+    @Test
+    void shouldDecodeVersionOneMessages() {
+        PaymentQueueMessage message = message();
+        byte[] bytes = Base64.getDecoder().decode(PaymentQueueMessageCodec.encode(message));
+        byte[] versionOne = new byte[bytes.length - 8];
+        System.arraycopy(bytes, 0, versionOne, 0, versionOne.length);
+        versionOne[0] = 1;
+
+        PaymentQueueMessage decoded = PaymentQueueMessageCodec.decode(Base64.getEncoder().encodeToString(versionOne));
+
+        assertEquals(new PaymentQueueMessage(message.clientId(), message.paymentId(), message.paymentValue(), message.paymentStatus(), 0L), decoded);
+    }
+
+    @DisplayName("Should reject truncated messages and unknown status codes")
+    @Test
+    void shouldRejectMalformedMessages() {
+        byte[] bytes = Base64.getDecoder().decode(PaymentQueueMessageCodec.encode(message()));
+        byte[] truncated = new byte[bytes.length - 1];
+        System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+        bytes[bytes.length - 9] = 9;
+
+        assertThrows(IllegalArgumentException.class, () -> PaymentQueueMessageCodec.decode(Base64.getEncoder().encodeToString(truncated)));
+        assertThrows(IllegalArgumentException.class, () -> PaymentQueueMessageCodec.decode(Base64.getEncoder().encodeToString(bytes)));
+        assertThrows(IllegalArgumentException.class, () -> PaymentQueueMessageCodec.decode("{\"client_id\":null}"));
+    }
+
+    private static PaymentQueueMessage message() {
+        return new PaymentQueueMessage(UUID.randomUUID(), UUID.randomUUID(), Money.ofCents(10_050), PaymentStatus.SURPLUS, 7L);
+    }
+
+}
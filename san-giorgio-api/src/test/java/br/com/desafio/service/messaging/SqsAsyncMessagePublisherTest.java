@@ -0,0 +1,140 @@
+package br.com.desafio.service.messaging;
+
+import br.com.desafio.domain.Money;
+import br.com.desafio.domain.dto.PaymentQueueMessage;
+import br.com.desafio.domain.enumeration.PaymentStatus;
+import br.com.desafio.exception.BadRequestAlertException;
+import br.com.desafio.service.metrics.PaymentMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static br.com.desafio.util.QueueConstants.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqsAsyncMessagePublisherTest {
+
+    private static final Duration PUBLISH_TIMEOUT = Duration.ofSeconds(5);
+
+    private InMemorySqsAsyncClient sqsAsyncClient;
+    private SqsAsyncMessagePublisher sqsAsyncMessagePublisher;
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        sqsAsyncClient = new InMemorySqsAsyncClient();
+        objectMapper = new ObjectMapper();
+        SqsQueueProvisioner sqsQueueProvisioner = new SqsQueueProvisioner(sqsAsyncClient);
+        sqsQueueProvisioner.provisionQueues();
+        sqsAsyncMessagePublisher = publisher(sqsQueueProvisioner, false, PUBLISH_TIMEOUT);
+    }
+
+    @DisplayName("Should start every batch before any of them completes")
+    @Test
+    void shouldStartAllBatchesBeforeWaiting() throws Exception {
+        List<PaymentQueueMessage> messages = new ArrayList<>();
+        messages.addAll(messages(PaymentStatus.PARTIAL, 25));
+        messages.addAll(messages(PaymentStatus.TOTAL, 3));
+        messages.addAll(messages(PaymentStatus.SURPLUS, 10));
+        sqsAsyncClient.holdResponses();
+
+        CompletableFuture<Void> publication = sqsAsyncMessagePublisher.publish(messages);
+
+        assertEquals(3 + 1 + 1, sqsAsyncClient.batchRequests.size());
+        assertFalse(publication.isDone());
+
+        sqsAsyncClient.releaseResponses();
+
+        assertNull(publication.get());
+        assertEquals(25, sqsAsyncClient.messages(PARTIAL_PAYMENTS_QUEUE).size());
+        assertEquals(3, sqsAsyncClient.messages(TOTAL_PAYMENTS_QUEUE).size());
+        assertEquals(10, sqsAsyncClient.messages(SURPLUS_PAYMENTS_QUEUE).size());
+        assertEquals(messages.get(25), objectMapper.readValue(sqsAsyncClient.messages(TOTAL_PAYMENTS_QUEUE).get(0), PaymentQueueMessage.class));
+    }
+
+    @DisplayName("Should retry only the entries that failed and give up after every attempt")
+    @Test
+    void shouldRetryFailedEntries() {
+        sqsAsyncClient.failNextBatches(3);
+
+        sqsAsyncMessagePublisher.publishAndWait(messages(PaymentStatus.TOTAL, 10));
+
+        assertEquals(2, sqsAsyncClient.batchRequests.size());
+        assertEquals(3, sqsAsyncClient.batchRequests.get(1).entries().size());
+        assertEquals(10, sqsAsyncClient.messages(TOTAL_PAYMENTS_QUEUE).size());
+
+        sqsAsyncClient.failNextBatches(1, 1, 1);
+
+        assertThrows(BadRequestAlertException.class, () -> sqsAsyncMessagePublisher.publishAndWait(messages(PaymentStatus.SURPLUS, 2)));
+        assertEquals(2 + PaymentMessageBatchEntries.MAX_SEND_ATTEMPTS, sqsAsyncClient.batchRequests.size());
+        assertEquals(1, sqsAsyncClient.messages(SURPLUS_PAYMENTS_QUEUE).size());
+    }
+
+    @DisplayName("Should send the batches of a FIFO queue one after another")
+    @Test
+    void shouldChainBatchesOnFifoQueues() {
+        SqsQueueProvisioner sqsQueueProvisioner = new SqsQueueProvisioner(sqsAsyncClient);
+        ReflectionTestUtils.setField(sqsQueueProvisioner, "fifo", true);
+        sqsQueueProvisioner.provisionQueues();
+        sqsAsyncMessagePublisher = publisher(sqsQueueProvisioner, true, PUBLISH_TIMEOUT);
+        List<PaymentQueueMessage> messages = messages(PaymentStatus.PARTIAL, 25);
+        sqsAsyncClient.holdResponses();
+
+        CompletableFuture<Void> publication = sqsAsyncMessagePublisher.publish(messages);
+
+        assertEquals(1, sqsAsyncClient.batchRequests.size());
+
+        sqsAsyncClient.releaseResponses();
+
+        assertTrue(publication.isDone());
+        assertEquals(3, sqsAsyncClient.batchRequests.size());
+        List<String> published = sqsAsyncClient.messages(PARTIAL_PAYMENTS_QUEUE + FIFO_SUFFIX);
+        assertEquals(messages.stream().map(this::json).toList(), published);
+        sqsAsyncClient.batchRequests.forEach(request -> request.entries().forEach(entry ->
+                assertEquals(messages.get(0).clientId().toString(), entry.messageGroupId())));
+    }
+
+    @DisplayName("Should stop waiting for the batches after the publish timeout")
+    @Test
+    void shouldGiveUpWaitingAfterPublishTimeout() {
+        SqsQueueProvisioner sqsQueueProvisioner = new SqsQueueProvisioner(sqsAsyncClient);
+        sqsQueueProvisioner.provisionQueues();
+        sqsAsyncMessagePublisher = publisher(sqsQueueProvisioner, false, Duration.ofMillis(50));
+        sqsAsyncClient.holdResponses();
+
+        assertThrows(BadRequestAlertException.class, () -> sqsAsyncMessagePublisher.publishAndWait(messages(PaymentStatus.TOTAL, 3)));
+
+        assertEquals(1, sqsAsyncClient.batchRequests.size());
+        sqsAsyncClient.releaseResponses();
+    }
+
+    private SqsAsyncMessagePublisher publisher(SqsQueueProvisioner sqsQueueProvisioner, boolean fifo, Duration publishTimeout) {
+        return new SqsAsyncMessagePublisher(sqsAsyncClient, sqsQueueProvisioner, new PaymentMessageBatchEntries(objectMapper, fifo, false),
+                new PaymentMetrics(new SimpleMeterRegistry()), publishTimeout);
+    }
+
+    private String json(PaymentQueueMessage paymentQueueMessage) {
+        try {
+            return objectMapper.writeValueAsString(paymentQueueMessage);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private List<PaymentQueueMessage> messages(PaymentStatus status, int count) {
+        UUID clientId = UUID.randomUUID();
+        return IntStream.range(0, count)
+                .mapToObj(i -> new PaymentQueueMessage(clientId, UUID.randomUUID(), Money.ofCents(100 + i), status, 0L))
+                .toList();
+    }
+}
@@ -0,0 +1,106 @@
+package br.com.desafio.service.messaging;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import software.amazon.awssdk.services.sqs.model.CreateQueueRequest;
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
+import software.amazon.awssdk.services.sqs.model.SetQueueAttributesRequest;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static br.com.desafio.util.QueueConstants.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqsQueueProvisionerTest {
+
+    private InMemorySqsAsyncClient sqsAsyncClient;
+    private SqsQueueProvisioner sqsQueueProvisioner;
+
+    @BeforeEach
+    void setUp() {
+        sqsAsyncClient = new InMemorySqsAsyncClient();
+        sqsQueueProvisioner = new SqsQueueProvisioner(sqsAsyncClient);
+    }
+
+    @DisplayName("Should create every FIFO queue with per-group limits and reuse the resolved URLs")
+    @Test
+    void shouldProvisionQueuesOnce() {
+        ReflectionTestUtils.setField(sqsQueueProvisioner, "fifo", true);
+
+        sqsQueueProvisioner.provisionQueues();
+        String queueUrl = sqsQueueProvisioner.queueUrl(TOTAL_PAYMENTS_QUEUE).join();
+
+        assertEquals(6, sqsAsyncClient.createQueueRequests.size());
+        assertTrue(sqsAsyncClient.getQueueUrlRequests.isEmpty());
+        assertTrue(queueUrl.endsWith("/" + TOTAL_PAYMENTS_QUEUE + FIFO_SUFFIX));
+        CreateQueueRequest request = sqsAsyncClient.createQueueRequests.get(1);
+        assertEquals(PARTIAL_PAYMENTS_QUEUE + FIFO_SUFFIX, request.queueName());
+        assertEquals("true", request.attributes().get(QueueAttributeName.FIFO_QUEUE));
+        assertEquals("perMessageGroupId", request.attributes().get(QueueAttributeName.FIFO_THROUGHPUT_LIMIT));
+    }
+
+    @DisplayName("Should send messages received too many times to a dead-letter queue")
+    @Test
+    void shouldSetRedrivePolicy() {
+        ReflectionTestUtils.setField(sqsQueueProvisioner, "fifo", true);
+        ReflectionTestUtils.setField(sqsQueueProvisioner, "maxReceiveCount", 3);
+
+        sqsQueueProvisioner.provisionQueues();
+
+        CreateQueueRequest deadLetterQueue = sqsAsyncClient.createQueueRequests.get(0);
+        assertEquals(PARTIAL_PAYMENTS_QUEUE + SqsQueueProvisioner.DEAD_LETTER_QUEUE_SUFFIX + FIFO_SUFFIX, deadLetterQueue.queueName());
+        assertEquals("true", deadLetterQueue.attributes().get(QueueAttributeName.FIFO_QUEUE));
+        assertEquals(3, sqsAsyncClient.setQueueAttributesRequests.size());
+        SetQueueAttributesRequest redrive = sqsAsyncClient.setQueueAttributesRequests.get(0);
+        assertTrue(redrive.queueUrl().endsWith("/" + PARTIAL_PAYMENTS_QUEUE + FIFO_SUFFIX));
+        assertEquals("{\"deadLetterTargetArn\":\"arn:aws:sqs:us-east-1:000000000000:" + deadLetterQueue.queueName() + "\",\"maxReceiveCount\":\"3\"}",
+                redrive.attributes().get(QueueAttributeName.REDRIVE_POLICY));
+    }
+
+    @DisplayName("Should resolve URLs with GetQueueUrl and never create queues on the publish path")
+    @Test
+    void shouldResolveUrlsWithoutCreatingQueues() {
+        assertThrows(CompletionException.class, () -> sqsQueueProvisioner.queueUrl(PARTIAL_PAYMENTS_QUEUE).join());
+        assertTrue(sqsAsyncClient.createQueueRequests.isEmpty());
+
+        sqsAsyncClient.createQueue(request -> request.queueName(PARTIAL_PAYMENTS_QUEUE)).join();
+        String queueUrl = sqsQueueProvisioner.queueUrl(PARTIAL_PAYMENTS_QUEUE).join();
+        sqsQueueProvisioner.queueUrl(PARTIAL_PAYMENTS_QUEUE).join();
+
+        assertTrue(queueUrl.endsWith("/" + PARTIAL_PAYMENTS_QUEUE));
+        assertEquals(2, sqsAsyncClient.getQueueUrlRequests.size());
+        assertEquals(1, sqsAsyncClient.createQueueRequests.size());
+    }
+
+    @DisplayName("Should create the queue again after the retry delay when provisioning failed")
+    @Test
+    void shouldRetryFailedProvisioning() throws Exception {
+        ReflectionTestUtils.setField(sqsQueueProvisioner, "provisioningRetryDelay", Duration.ofMillis(10));
+        sqsAsyncClient.failNextQueueCreations(1);
+
+        sqsQueueProvisioner.provisionQueues();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        Map<String, CompletableFuture<String>> queueUrls = queueUrls();
+        while (!queueUrls.containsKey(PARTIAL_PAYMENTS_QUEUE) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(7, sqsAsyncClient.createQueueRequests.size());
+        assertEquals(PARTIAL_PAYMENTS_QUEUE + SqsQueueProvisioner.DEAD_LETTER_QUEUE_SUFFIX, sqsAsyncClient.createQueueRequests.get(0).queueName());
+        assertEquals(PARTIAL_PAYMENTS_QUEUE, sqsAsyncClient.createQueueRequests.get(6).queueName());
+        assertTrue(sqsQueueProvisioner.queueUrl(PARTIAL_PAYMENTS_QUEUE).join().endsWith("/" + PARTIAL_PAYMENTS_QUEUE));
+        assertTrue(sqsAsyncClient.getQueueUrlRequests.isEmpty());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, CompletableFuture<String>> queueUrls() {
+        return (Map<String, CompletableFuture<String>>) ReflectionTestUtils.getField(sqsQueueProvisioner, "queueUrls");
+    }
+
+}
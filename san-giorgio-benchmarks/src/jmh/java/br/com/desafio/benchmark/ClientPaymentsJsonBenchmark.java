@@ -0,0 +1,66 @@
+package br.com.desafio.benchmark;
+
+import br.com.desafio.domain.Money;
+import br.com.desafio.domain.dto.ClientPaymentsDTO;
+import br.com.desafio.domain.dto.PaymentDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson (de)serialization of the {@code POST /api/v1/payments} request body.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ClientPaymentsJsonBenchmark {
+
+    @Param({"1", "100", "10000"})
+    public int batchSize;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private ClientPaymentsDTO clientPayments;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        writer = objectMapper.writerFor(ClientPaymentsDTO.class);
+        reader = objectMapper.readerFor(ClientPaymentsDTO.class);
+
+        Random random = new Random(42);
+        List<PaymentDTO> payments = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            payments.add(new PaymentDTO(UUID.randomUUID(), Money.ofCents(1_000 + random.nextInt(100_000)), null));
+        }
+        clientPayments = new ClientPaymentsDTO(UUID.randomUUID(), payments);
+        json = writer.writeValueAsBytes(clientPayments);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return writer.writeValueAsBytes(clientPayments);
+    }
+
+    @Benchmark
+    public ClientPaymentsDTO deserialize() throws IOException {
+        return reader.readValue(json);
+    }
+
+}
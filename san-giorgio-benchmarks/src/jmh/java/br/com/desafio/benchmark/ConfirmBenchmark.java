@@ -0,0 +1,111 @@
+package br.com.desafio.benchmark;
+
+import br.com.desafio.config.AdmissionControlConfig;
+import br.com.desafio.config.AdmissionControlProperties;
+import br.com.desafio.domain.Client;
+import br.com.desafio.domain.Money;
+import br.com.desafio.domain.Payment;
+import br.com.desafio.domain.PaymentOutboxMessage;
+import br.com.desafio.domain.dto.ClientPaymentsDTO;
+import br.com.desafio.domain.dto.PaymentDTO;
+import br.com.desafio.service.ClientExistenceCache;
+import br.com.desafio.service.ClientService;
+import br.com.desafio.service.PaymentService;
+import br.com.desafio.service.admission.LatencyCircuitBreaker;
+import br.com.desafio.service.messaging.PaymentMessageBatchEntries;
+import br.com.desafio.service.messaging.PaymentOutboxService;
+import br.com.desafio.service.messaging.SqsAsyncMessagePublisher;
+import br.com.desafio.service.messaging.SqsQueueProvisioner;
+import br.com.desafio.service.metrics.PaymentMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full {@link PaymentService#confirm} with in-memory repositories and SQS, so only the application's own
+ * work is measured: lookups, ownership checks, status classification, outbox writes and, for
+ * {@link #confirmAndRelay()}, the batched publishing done by the outbox relay.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ConfirmBenchmark {
+
+    @Param({"1", "100", "10000"})
+    public int batchSize;
+
+    private PaymentService paymentService;
+    private PaymentOutboxService paymentOutboxService;
+    private List<PaymentOutboxMessage> outbox;
+    private UUID clientId;
+    private List<PaymentDTO> payments;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        clientId = UUID.randomUUID();
+        Client client = Client.builder().clientId(clientId).name("Benchmark Client").build();
+
+        Map<UUID, Payment> storedPayments = new HashMap<>(batchSize * 2);
+        payments = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            UUID paymentId = UUID.randomUUID();
+            long originalCents = 1_000 + random.nextInt(100_000);
+            Money originalValue = Money.ofCents(originalCents);
+            storedPayments.put(paymentId, Payment.builder().paymentId(paymentId).client(client).paymentValue(originalValue).build());
+
+            Money paidValue = switch (i % 3) {
+                case 0 -> Money.ofCents(originalCents - 100);
+                case 1 -> originalValue;
+                default -> Money.ofCents(originalCents + 100);
+            };
+            payments.add(new PaymentDTO(paymentId, paidValue, null));
+        }
+
+        ClientService clientService = new ClientService(
+                InMemoryStandIns.clientRepository(Set.of(clientId)),
+                new ClientExistenceCache(10_000, Duration.ofMinutes(10), Duration.ofSeconds(30), new SimpleMeterRegistry()));
+
+        PaymentMetrics paymentMetrics = new PaymentMetrics(new SimpleMeterRegistry());
+        InMemoryStandIns.DiscardingSqsAsyncClient sqsAsyncClient = new InMemoryStandIns.DiscardingSqsAsyncClient();
+        SqsAsyncMessagePublisher sqsAsyncMessagePublisher = new SqsAsyncMessagePublisher(sqsAsyncClient, new SqsQueueProvisioner(sqsAsyncClient),
+                new PaymentMessageBatchEntries(new ObjectMapper(), false, false), paymentMetrics, Duration.ofSeconds(10));
+
+        outbox = new ArrayList<>();
+        LatencyCircuitBreaker messagingCircuitBreaker = new LatencyCircuitBreaker(AdmissionControlConfig.MESSAGING_CIRCUIT_BREAKER, new AdmissionControlProperties.CircuitBreakerSettings());
+        paymentOutboxService = new PaymentOutboxService(InMemoryStandIns.paymentOutboxRepository(outbox), sqsAsyncMessagePublisher, messagingCircuitBreaker);
+        paymentService = new PaymentService(InMemoryStandIns.paymentRepository(storedPayments), clientService, paymentOutboxService, paymentMetrics);
+    }
+
+    @Benchmark
+    public ClientPaymentsDTO confirm() {
+        ClientPaymentsDTO result = paymentService.confirm(new ClientPaymentsDTO(clientId, payments));
+        outbox.clear();
+        return result;
+    }
+
+    @Benchmark
+    public int confirmAndRelay() {
+        paymentService.confirm(new ClientPaymentsDTO(clientId, payments));
+        return paymentOutboxService.relayNextBatch(Integer.MAX_VALUE);
+    }
+
+}
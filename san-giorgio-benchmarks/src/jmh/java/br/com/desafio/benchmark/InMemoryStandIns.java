@@ -0,0 +1,136 @@
+package br.com.desafio.benchmark;
+
+import br.com.desafio.domain.Payment;
+import br.com.desafio.domain.PaymentOutboxMessage;
+import br.com.desafio.domain.dto.PaymentSnapshot;
+import br.com.desafio.domain.dto.PaymentStatusUpdate;
+import br.com.desafio.repository.ClientRepository;
+import br.com.desafio.repository.PaymentOutboxRepository;
+import br.com.desafio.repository.PaymentRepository;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.CreateQueueRequest;
+import software.amazon.awssdk.services.sqs.model.CreateQueueResponse;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+
+/**
+ * In-memory stand-ins for the repositories and SQS client used on the confirmation path.
+ * <p>
+ * Repositories are dynamic proxies that implement only the methods the confirmation path calls,
+ * so a benchmark fails loudly instead of silently measuring a different code path.
+ * </p>
+ */
+final class InMemoryStandIns {
+
+    private InMemoryStandIns() {}
+
+    static PaymentRepository paymentRepository(Map<UUID, Payment> payments) {
+        return repository(PaymentRepository.class, (method, args) -> switch (method.getName()) {
+            case "findSnapshotsByClientId" -> {
+                List<PaymentSnapshot> found = new ArrayList<>();
+                for (Object paymentId : (Collection<?>) args[1]) {
+                    Payment payment = payments.get(paymentId);
+                    if (payment != null && payment.getClient().getClientId().equals(args[0])) {
+                        found.add(new PaymentSnapshot(payment.getPaymentId(), payment.getClient().getClientId(), payment.getPaymentValue(), payment.getCreatedAt(), payment.getVersion()));
+                    }
+                }
+                yield found;
+            }
+            case "findExistingIds" -> ((Collection<?>) args[0]).stream().filter(payments::containsKey).toList();
+            case "updateStatuses" -> {
+                for (Object update : (Collection<?>) args[0]) {
+                    PaymentStatusUpdate statusUpdate = (PaymentStatusUpdate) update;
+                    payments.get(statusUpdate.paymentId()).setPaymentStatus(statusUpdate.paymentStatus());
+                }
+                yield List.of();
+            }
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    static ClientRepository clientRepository(Set<UUID> clientIds) {
+        return repository(ClientRepository.class, (method, args) -> switch (method.getName()) {
+            case "existsById" -> clientIds.contains(args[0]);
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    static PaymentOutboxRepository paymentOutboxRepository(List<PaymentOutboxMessage> outbox) {
+        return repository(PaymentOutboxRepository.class, (method, args) -> switch (method.getName()) {
+            case "saveAll" -> {
+                for (Object message : (Iterable<?>) args[0]) {
+                    outbox.add((PaymentOutboxMessage) message);
+                }
+                yield args[0];
+            }
+            case "lockNextBatch" -> new ArrayList<>(outbox.subList(0, Math.min((Integer) args[0], outbox.size())));
+            case "deleteAllInBatch" -> {
+                outbox.subList(0, ((List<?>) args[0]).size()).clear();
+                yield null;
+            }
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T repository(Class<T> type, BiFunction<Method, Object[], Object> handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> switch (method.getName()) {
+            case "toString" -> "InMemory" + type.getSimpleName();
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            default -> handler.apply(method, args);
+        });
+    }
+
+    /**
+     * SQS stand-in that accepts every batch and discards the messages.
+     */
+    static final class DiscardingSqsAsyncClient implements SqsAsyncClient {
+
+        @Override
+        public CompletableFuture<CreateQueueResponse> createQueue(CreateQueueRequest request) {
+            return CompletableFuture.completedFuture(CreateQueueResponse.builder()
+                    .queueUrl("http://localhost:4566/000000000000/" + request.queueName())
+                    .build());
+        }
+
+        @Override
+        public CompletableFuture<GetQueueUrlResponse> getQueueUrl(GetQueueUrlRequest request) {
+            return CompletableFuture.completedFuture(GetQueueUrlResponse.builder()
+                    .queueUrl("http://localhost:4566/000000000000/" + request.queueName())
+                    .build());
+        }
+
+        @Override
+        public CompletableFuture<SendMessageBatchResponse> sendMessageBatch(SendMessageBatchRequest request) {
+            List<SendMessageBatchResultEntry> successful = new ArrayList<>(request.entries().size());
+            request.entries().forEach(entry -> successful.add(SendMessageBatchResultEntry.builder().id(entry.id()).build()));
+            return CompletableFuture.completedFuture(SendMessageBatchResponse.builder().successful(successful).build());
+        }
+
+        @Override
+        public String serviceName() {
+            return SERVICE_NAME;
+        }
+
+        @Override
+        public void close() {
+            // nothing to release
+        }
+    }
+
+}
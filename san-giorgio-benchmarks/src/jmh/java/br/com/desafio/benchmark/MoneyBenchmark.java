@@ -0,0 +1,109 @@
+package br.com.desafio.benchmark;
+
+import br.com.desafio.domain.Money;
+import br.com.desafio.domain.enumeration.PaymentStatus;
+import br.com.desafio.service.PaymentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Money} against the {@link BigDecimal} amounts it replaced: status classification and Jackson
+ * (de)serialization of {@value #SIZE} payment values.
+ * <p>
+ * The {@code bigDecimal*} benchmarks reproduce the previous path; run with {@code -prof gc} to compare allocation.
+ * {@link BigDecimal} caches its string form, so after the first invocation {@code bigDecimalSerialize} writes cached
+ * strings and is optimistic for the previous path, where every amount is serialized once.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MoneyBenchmark {
+
+    private static final int SIZE = 1024;
+
+    private final BigDecimal[] originalDecimals = new BigDecimal[SIZE];
+    private final BigDecimal[] paidDecimals = new BigDecimal[SIZE];
+    private final Money[] originalAmounts = new Money[SIZE];
+    private final Money[] paidAmounts = new Money[SIZE];
+
+    private ObjectReader bigDecimalReader;
+    private ObjectWriter bigDecimalWriter;
+    private ObjectReader moneyReader;
+    private ObjectWriter moneyWriter;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        Random random = new Random(42);
+        for (int i = 0; i < SIZE; i++) {
+            long originalCents = 1_000 + random.nextInt(100_000);
+            long paidCents = originalCents + (random.nextInt(3) - 1) * 100L;
+            originalDecimals[i] = BigDecimal.valueOf(originalCents, 2);
+            paidDecimals[i] = BigDecimal.valueOf(paidCents, 2);
+            originalAmounts[i] = Money.ofCents(originalCents);
+            paidAmounts[i] = Money.ofCents(paidCents);
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        bigDecimalReader = objectMapper.readerFor(BigDecimal[].class);
+        bigDecimalWriter = objectMapper.writerFor(BigDecimal[].class);
+        moneyReader = objectMapper.readerFor(Money[].class);
+        moneyWriter = objectMapper.writerFor(Money[].class);
+        json = moneyWriter.writeValueAsBytes(paidAmounts);
+    }
+
+    @Benchmark
+    public int bigDecimalStatus() {
+        int surplus = 0;
+        for (int i = 0; i < SIZE; i++) {
+            int comparison = paidDecimals[i].compareTo(originalDecimals[i]);
+            PaymentStatus status = comparison < 0 ? PaymentStatus.PARTIAL : comparison == 0 ? PaymentStatus.TOTAL : PaymentStatus.SURPLUS;
+            surplus += status == PaymentStatus.SURPLUS ? 1 : 0;
+        }
+        return surplus;
+    }
+
+    @Benchmark
+    public int moneyStatus() {
+        int surplus = 0;
+        for (int i = 0; i < SIZE; i++) {
+            surplus += PaymentService.determinePaymentStatus(originalAmounts[i], paidAmounts[i]) == PaymentStatus.SURPLUS ? 1 : 0;
+        }
+        return surplus;
+    }
+
+    @Benchmark
+    public BigDecimal[] bigDecimalDeserialize() throws IOException {
+        return bigDecimalReader.readValue(json);
+    }
+
+    @Benchmark
+    public Money[] moneyDeserialize() throws IOException {
+        return moneyReader.readValue(json);
+    }
+
+    @Benchmark
+    public byte[] bigDecimalSerialize() throws IOException {
+        return bigDecimalWriter.writeValueAsBytes(paidDecimals);
+    }
+
+    @Benchmark
+    public byte[] moneySerialize() throws IOException {
+        return moneyWriter.writeValueAsBytes(paidAmounts);
+    }
+
+}
@@ -0,0 +1,46 @@
+package br.com.desafio.benchmark;
+
+import br.com.desafio.domain.Money;
+import br.com.desafio.domain.dto.PaymentQueueMessage;
+import br.com.desafio.domain.enumeration.PaymentStatus;
+import br.com.desafio.service.messaging.PaymentQueueMessageCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binary (de)serialization of the message published to the payment status queues, to compare with
+ * {@link PaymentQueueMessageJsonBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PaymentQueueMessageCodecBenchmark {
+
+    private PaymentQueueMessage message;
+    private String encoded;
+
+    @Setup
+    public void setUp() {
+        message = new PaymentQueueMessage(UUID.randomUUID(), UUID.randomUUID(), Money.ofCents(123456), PaymentStatus.PARTIAL, 3L);
+        encoded = PaymentQueueMessageCodec.encode(message);
+    }
+
+    @Benchmark
+    public String encode() {
+        return PaymentQueueMessageCodec.encode(message);
+    }
+
+    @Benchmark
+    public PaymentQueueMessage decode() {
+        return PaymentQueueMessageCodec.decode(encoded);
+    }
+
+}
@@ -0,0 +1,54 @@
+package br.com.desafio.benchmark;
+
+import br.com.desafio.domain.Money;
+import br.com.desafio.domain.dto.PaymentQueueMessage;
+import br.com.desafio.domain.enumeration.PaymentStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson (de)serialization of the message published to the payment status queues.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PaymentQueueMessageJsonBenchmark {
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private PaymentQueueMessage message;
+    private String json;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        writer = objectMapper.writerFor(PaymentQueueMessage.class);
+        reader = objectMapper.readerFor(PaymentQueueMessage.class);
+
+        message = new PaymentQueueMessage(UUID.randomUUID(), UUID.randomUUID(), Money.ofCents(123456), PaymentStatus.PARTIAL, 3L);
+        json = writer.writeValueAsString(message);
+    }
+
+    @Benchmark
+    public String serialize() throws IOException {
+        return writer.writeValueAsString(message);
+    }
+
+    @Benchmark
+    public PaymentQueueMessage deserialize() throws IOException {
+        return reader.readValue(json);
+    }
+
+}
@@ -0,0 +1,47 @@
+package br.com.desafio.benchmark;
+
+import br.com.desafio.domain.Money;
+import br.com.desafio.domain.enumeration.PaymentStatus;
+import br.com.desafio.service.PaymentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PaymentService#determinePaymentStatus} over a fixed mix of partial, total and surplus amounts.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PaymentStatusBenchmark {
+
+    private static final int SIZE = 1024;
+
+    private final Money[] originalAmounts = new Money[SIZE];
+    private final Money[] paidAmounts = new Money[SIZE];
+    private int index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < SIZE; i++) {
+            long originalCents = 1_000 + random.nextInt(100_000);
+            originalAmounts[i] = Money.ofCents(originalCents);
+            paidAmounts[i] = Money.ofCents(originalCents + (random.nextInt(3) - 1) * 100L);
+        }
+    }
+
+    @Benchmark
+    public PaymentStatus determinePaymentStatus() {
+        int i = index++ & (SIZE - 1);
+        return PaymentService.determinePaymentStatus(originalAmounts[i], paidAmounts[i]);
+    }
+
+}